@@ -0,0 +1,72 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Code lookups and the {@code filterBy*} scans in {@link CourseService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CourseServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private CourseService service;
+    private String[] codes;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom random = new SplittableRandom(Datasets.SEED);
+    }
+
+    @Setup
+    public void setUp() {
+        List<Course> courses = Datasets.courses("BC", size);
+        service = new CourseService();
+        service.loadCourses(courses);
+        codes = courses.stream().map(c -> c.getCourseCode().getCode()).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Optional<Course> findCourseByCode(Cursor cursor) {
+        return service.findCourseByCode(codes[cursor.random.nextInt(codes.length)]);
+    }
+
+    @Benchmark
+    public List<Course> filterByInstructor(Cursor cursor) {
+        return service.filterByInstructor(Datasets.instructor(cursor.random.nextInt(size)));
+    }
+
+    @Benchmark
+    public List<Course> filterByDepartment(Cursor cursor) {
+        return service.filterByDepartment(Datasets.department(cursor.random.nextInt(size)));
+    }
+
+    @Benchmark
+    public List<Course> filterBySemester(Cursor cursor) {
+        return service.filterBySemester(Semester.values()[cursor.random.nextInt(3)]);
+    }
+}
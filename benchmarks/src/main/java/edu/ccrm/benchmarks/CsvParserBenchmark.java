@@ -0,0 +1,58 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.io.CsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line parsing in {@link CsvParser}. One operation parses {@code size} lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvParserBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private String[] studentLines;
+    private String[] courseLines;
+
+    @Setup
+    public void setUp() {
+        List<Student> students = Datasets.students(size);
+        studentLines = students.stream().map(CsvParser::studentToCsv).toArray(String[]::new);
+        courseLines = Datasets.courses("BP", size).stream().map(CsvParser::courseToCsv).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void parseStudent(Blackhole blackhole) {
+        for (String line : studentLines) {
+            blackhole.consume(CsvParser.parseStudent(line));
+        }
+    }
+
+    @Benchmark
+    public void parseCourse(Blackhole blackhole) {
+        for (String line : courseLines) {
+            blackhole.consume(CsvParser.parseCourse(line));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds deterministic students and courses for the benchmarks, so every run measures the same data.
+ */
+final class Datasets {
+
+    static final long SEED = 42;
+
+    private static final int INSTRUCTORS = 500;
+    private static final int DEPARTMENTS = 50;
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    private Datasets() {
+    }
+
+    static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(new Student("Student " + i, "student" + i + "@example.edu"));
+        }
+        return students;
+    }
+
+    /**
+     * Courses named {@code <prefix>0}, {@code <prefix>1}, ... with instructors, departments
+     * and semesters spread evenly.
+     */
+    static List<Course> courses(String prefix, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(new Course.Builder(prefix + i, "Course " + i)
+                    .credits(2 + random.nextInt(4))
+                    .instructor(instructor(i))
+                    .semester(SEMESTERS[i % SEMESTERS.length])
+                    .department(department(i))
+                    .build());
+        }
+        return courses;
+    }
+
+    /**
+     * Gives every student {@code perStudent} graded enrollments in randomly chosen courses.
+     */
+    static void enrollWithGrades(List<Student> students, List<Course> courses, int perStudent) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 1, 15, 9, 0);
+        for (Student student : students) {
+            for (int e = 0; e < perStudent; e++) {
+                CourseCode code = courses.get(random.nextInt(courses.size())).getCourseCode();
+                student.loadEnrollment(new Enrollment(student.getRegNo(), code,
+                        GRADES[random.nextInt(GRADES.length)], enrolledAt));
+            }
+        }
+    }
+
+    static String[] regNos(List<Student> students) {
+        return students.stream().map(Student::getRegNo).toArray(String[]::new);
+    }
+
+    static String instructor(int i) {
+        return "Instructor " + (i % INSTRUCTORS);
+    }
+
+    static String department(int i) {
+        return "Department " + (i % DEPARTMENTS);
+    }
+}
@@ -0,0 +1,124 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.EnrollmentColumns;
+import edu.ccrm.domain.Grade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The student's column-backed enrollments ({@link EnrollmentColumns}) against the previous model,
+ * one {@link Enrollment} object per course in a per-student {@code ArrayList}.
+ * Every student has {@value #ENROLLMENTS_PER_STUDENT} graded enrollments.
+ *
+ * The rows are generated once in setup, so the {@code build*} benchmarks only allocate what each
+ * model keeps. Run them with {@code -prof gc}: {@code gc.alloc.rate.norm} then approximates the
+ * heap each model needs (both figures include the arrays discarded while growing). Both models share the prebuilt dates, so the object model's figure is a
+ * lower bound (it would normally keep one {@code LocalDateTime} per enrollment as well).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnrollmentModelBenchmark {
+
+    private static final int COURSES = 2_000;
+    private static final int ENROLLMENTS_PER_STUDENT = 30;
+    private static final Grade[] GRADES = Grade.values();
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private CourseCode[] rowCourses;
+    private Grade[] rowGrades;
+    private LocalDateTime[] rowDates;
+    private List<List<Enrollment>> objects;
+    private List<EnrollmentColumns> columns;
+
+    @Setup
+    public void setUp() {
+        CourseCode[] courses = Datasets.courses("EM", COURSES).stream()
+                .map(Course::getCourseCode).toArray(CourseCode[]::new);
+        SplittableRandom random = new SplittableRandom(Datasets.SEED);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 15, 9, 0);
+        int rows = size * ENROLLMENTS_PER_STUDENT;
+        rowCourses = new CourseCode[rows];
+        rowGrades = new Grade[rows];
+        rowDates = new LocalDateTime[rows];
+        for (int row = 0; row < rows; row++) {
+            rowCourses[row] = courses[random.nextInt(COURSES)];
+            rowGrades[row] = GRADES[random.nextInt(GRADES.length)];
+            rowDates[row] = base.plusMinutes(random.nextInt(1_000_000));
+        }
+        objects = buildObjects();
+        columns = buildColumns();
+    }
+
+    @Benchmark
+    public List<List<Enrollment>> buildObjects() {
+        List<List<Enrollment>> all = new ArrayList<>(size);
+        int row = 0;
+        for (int s = 0; s < size; s++) {
+            String regNo = "STU" + s;
+            List<Enrollment> enrollments = new ArrayList<>();
+            for (int e = 0; e < ENROLLMENTS_PER_STUDENT; e++, row++) {
+                enrollments.add(new Enrollment(regNo, rowCourses[row], rowGrades[row], rowDates[row]));
+            }
+            all.add(enrollments);
+        }
+        return all;
+    }
+
+    @Benchmark
+    public List<EnrollmentColumns> buildColumns() {
+        List<EnrollmentColumns> all = new ArrayList<>(size);
+        int row = 0;
+        for (int s = 0; s < size; s++) {
+            EnrollmentColumns enrollments = new EnrollmentColumns();
+            for (int e = 0; e < ENROLLMENTS_PER_STUDENT; e++, row++) {
+                enrollments.add(rowCourses[row], rowGrades[row], rowDates[row]);
+            }
+            all.add(enrollments);
+        }
+        return all;
+    }
+
+    @Benchmark
+    public double scanObjects() {
+        double points = 0;
+        for (List<Enrollment> enrollments : objects) {
+            for (Enrollment enrollment : enrollments) {
+                points += enrollment.getGrade().getGradePoint();
+            }
+        }
+        return points;
+    }
+
+    @Benchmark
+    public double scanColumns() {
+        double[] points = {0};
+        for (EnrollmentColumns enrollments : columns) {
+            enrollments.forEach((course, grade) -> points[0] += grade.getGradePoint());
+        }
+        return points[0];
+    }
+}
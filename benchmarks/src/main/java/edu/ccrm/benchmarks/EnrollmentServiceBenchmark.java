@@ -0,0 +1,89 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.exception.DuplicateEnrollmentException;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EnrollmentService#enrollStudent(String, String)} on the success path.
+ * One operation enrolls every student in one course, so the score divided by {@code size} is
+ * the cost of a single enrollment. Each student fits exactly {@value #COURSES} such rounds under
+ * the default credit limit (six 3-credit courses per semester); then the students are replaced
+ * with fresh ones outside the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnrollmentServiceBenchmark {
+
+    private static final int COURSES = 18;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private StudentService studentService;
+    private EnrollmentService enrollmentService;
+    private String[] courseCodes;
+    private String[] regNos;
+    private int round;
+
+    @Setup
+    public void setUp() {
+        studentService = new StudentService();
+        CourseService courseService = new CourseService();
+        enrollmentService = new EnrollmentService(studentService, courseService);
+        courseCodes = new String[COURSES];
+        Semester[] semesters = Semester.values();
+        for (int i = 0; i < COURSES; i++) {
+            courseCodes[i] = "BE" + i;
+            courseService.addCourse(new Course.Builder(courseCodes[i], "Course " + i)
+                    .credits(3)
+                    .instructor(Datasets.instructor(i))
+                    .semester(semesters[i % semesters.length])
+                    .department(Datasets.department(i))
+                    .build());
+        }
+        round = COURSES;
+    }
+
+    @Setup(Level.Invocation)
+    public void nextRound() {
+        if (round == COURSES) {
+            List<Student> students = Datasets.students(size);
+            studentService.loadStudents(students);
+            regNos = Datasets.regNos(students);
+            round = 0;
+        }
+    }
+
+    @Benchmark
+    public int enrollStudent() throws DuplicateEnrollmentException {
+        String courseCode = courseCodes[round++];
+        for (String regNo : regNos) {
+            enrollmentService.enrollStudent(regNo, courseCode);
+        }
+        return regNos.length;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.io.CsvParser;
+import edu.ccrm.io.ImportExportService;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full CSV import and export through {@link ImportExportService}, with {@code size} students
+ * and {@code size / 10} courses in generated files under a temporary folder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ImportExportBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path workDir;
+    private PrintStream originalOut;
+    private ImportExportService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("ccrm-bench");
+        Path importDir = Files.createDirectories(workDir.resolve("import"));
+        writeCsv(importDir.resolve("students.csv"), CsvParser.STUDENT_HEADER,
+                Datasets.students(size).stream().map(CsvParser::studentToCsv).toList());
+        writeCsv(importDir.resolve("courses.csv"), CsvParser.COURSE_HEADER,
+                Datasets.courses("BI", Math.max(1, size / 10)).stream().map(CsvParser::courseToCsv).toList());
+        service = new ImportExportService(new StudentService(), new CourseService(), importDir, workDir.resolve("export"));
+        service.importAllData();
+
+        // The service reports every import and export on stdout.
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void importAllData() throws IOException {
+        service.importAllData();
+    }
+
+    @Benchmark
+    public void exportAllData() throws IOException {
+        service.exportAllData();
+    }
+
+    private static void writeCsv(Path file, String header, List<String> rows) throws IOException {
+        List<String> lines = new ArrayList<>(rows.size() + 1);
+        lines.add(header);
+        lines.addAll(rows);
+        Files.write(file, lines);
+    }
+}
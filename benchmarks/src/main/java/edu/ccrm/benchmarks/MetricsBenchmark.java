@@ -0,0 +1,41 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost {@link Timer} adds to every instrumented call: one start/record pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private final Timer timer = Metrics.timer("benchmark.timer");
+
+    @Benchmark
+    public void recordCall() {
+        timer.record(timer.start(), true);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordCallContended() {
+        timer.record(timer.start(), true);
+    }
+}
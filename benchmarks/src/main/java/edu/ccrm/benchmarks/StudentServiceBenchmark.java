@@ -0,0 +1,68 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration-number and email lookups in {@link StudentService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StudentServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private StudentService service;
+    private String[] regNos;
+    private String[] emails;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom random = new SplittableRandom(Datasets.SEED);
+    }
+
+    @Setup
+    public void setUp() {
+        List<Student> students = Datasets.students(size);
+        service = new StudentService();
+        service.loadStudents(students);
+        regNos = Datasets.regNos(students);
+        emails = students.stream().map(Student::getEmail).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Optional<Student> findStudentByRegNo(Cursor cursor) {
+        return service.findStudentByRegNo(regNos[cursor.random.nextInt(regNos.length)]);
+    }
+
+    @Benchmark
+    public Optional<Student> findStudentByRegNoMissing() {
+        return service.findStudentByRegNo("UNKNOWN");
+    }
+
+    @Benchmark
+    public Optional<Student> findStudentByEmail(Cursor cursor) {
+        return service.findStudentByEmail(emails[cursor.random.nextInt(emails.length)]);
+    }
+}
@@ -0,0 +1,79 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.StudentService;
+import edu.ccrm.service.TranscriptService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPA, report and transcript generation in {@link TranscriptService}.
+ * Every student has {@value #ENROLLMENTS_PER_STUDENT} graded enrollments in {@value #COURSES} courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TranscriptServiceBenchmark {
+
+    private static final int COURSES = 200;
+    private static final int ENROLLMENTS_PER_STUDENT = 4;
+    private static final int TOP_N = 10;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private TranscriptService transcriptService;
+    private Student[] students;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom random = new SplittableRandom(Datasets.SEED);
+    }
+
+    @Setup
+    public void setUp() {
+        List<Course> courses = Datasets.courses("BT", COURSES);
+        List<Student> all = Datasets.students(size);
+        Datasets.enrollWithGrades(all, courses, ENROLLMENTS_PER_STUDENT);
+        StudentService studentService = new StudentService();
+        CourseService courseService = new CourseService();
+        studentService.loadStudents(all);
+        courseService.loadCourses(courses);
+        transcriptService = new TranscriptService(studentService, courseService);
+        students = all.toArray(new Student[0]);
+    }
+
+    @Benchmark
+    public double calculateGpa(Cursor cursor) {
+        return transcriptService.calculateGpa(students[cursor.random.nextInt(students.length)]);
+    }
+
+    @Benchmark
+    public String generateTranscript(Cursor cursor) {
+        return transcriptService.generateTranscript(students[cursor.random.nextInt(students.length)].getRegNo());
+    }
+
+    @Benchmark
+    public Map<String, Double> getTopNStudents() {
+        return transcriptService.getTopNStudents(TOP_N);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.ccrm.benchmarks;
+
+import edu.ccrm.util.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email validation as done on import: the hand-written scanner in {@link Validators#isValidEmail(String)}
+ * against the regular expression in {@link Validators#matchesEmailPattern(String)}.
+ * One operation validates {@code size} addresses, about one in ten of them invalid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ValidatorsBenchmark {
+
+    private static final String[] DOMAINS = {"example.edu", "mail.example.com", "cs.uni-example.ac.uk", "example.org"};
+    private static final String[] INVALID = {"%s", "%s@", "%s@example", "%s@@example.edu", "%s@example.e", "%s@example.education", "%s @example.edu"};
+
+    @Param({"1000000", "5000000"})
+    private int size;
+
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(Datasets.SEED);
+        emails = new String[size];
+        for (int i = 0; i < size; i++) {
+            String local = "student." + i + (random.nextInt(4) == 0 ? "+ccrm" : "");
+            emails[i] = random.nextInt(10) == 0
+                    ? String.format(INVALID[random.nextInt(INVALID.length)], local)
+                    : local + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+        }
+    }
+
+    @Benchmark
+    public int scanner() {
+        int valid = 0;
+        for (String email : emails) {
+            if (Validators.isValidEmail(email)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int regex() {
+        int valid = 0;
+        for (String email : emails) {
+            if (Validators.matchesEmailPattern(email)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,368 @@
+package edu.ccrm.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Timetable;
+import edu.ccrm.exception.DuplicateEnrollmentException;
+import edu.ccrm.exception.MaxCreditLimitExceededException;
+import edu.ccrm.exception.PrerequisiteNotMetException;
+import edu.ccrm.exception.ScheduleConflictException;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import edu.ccrm.service.TranscriptService;
+import edu.ccrm.util.PerTaskExecutors;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An embedded HTTP server exposing CCRM as a JSON API, e.g. for a registration portal.
+ * Every request runs on its own thread (a virtual thread where the JVM supports them,
+ * see {@link PerTaskExecutors}), so the services it calls must be safe for concurrent use.
+ *
+ * <pre>
+ * GET  /api/students/{regNo}
+ * GET  /api/students/{regNo}/transcript
+ * GET  /api/courses[?instructor=..|department=..|semester=..]
+ * GET  /api/courses/{code}
+ * POST /api/enrollments   {"regNo": "...", "courseCode": "..."}
+ * POST /api/grades        {"regNo": "...", "courseCode": "...", "grade": "A"}
+ * GET  /api/reports/gpa-distribution
+ * GET  /api/reports/top-students[?n=10]
+ * GET  /api/reports/course-enrollments
+ * GET  /api/reports/schedule-conflicts
+ * </pre>
+ * Errors are returned as {@code {"error": "..."}} with a matching status code.
+ *
+ * DEMONSTRATES:
+ * - The JDK's built-in HTTP server (com.sun.net.httpserver).
+ * - Thread-per-request concurrency.
+ */
+public class ApiServer {
+
+    private static final int BACKLOG = 1024;
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY, Nagle's algorithm
+        // and delayed ACKs add about 40 ms to every response on a kept-alive connection.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final TranscriptService transcriptService;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ApiServer(StudentService studentService, CourseService courseService,
+                     EnrollmentService enrollmentService, TranscriptService transcriptService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.transcriptService = transcriptService;
+    }
+
+    /**
+     * Starts listening. The API has no authentication, so bind it to a loopback address
+     * (the {@code api.host} default) unless the network in front of it is trusted.
+     *
+     * @param host The address to listen on, e.g. {@code 127.0.0.1}, or {@code 0.0.0.0} for every interface.
+     * @param port The port to listen on, or 0 for any free port.
+     */
+    public synchronized void start(String host, int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The API server is already running.");
+        }
+        HttpServer created = HttpServer.create(new InetSocketAddress(host, port), BACKLOG);
+        created.createContext("/api/", this::handle);
+        executor = PerTaskExecutors.newPerTaskExecutor("ccrm-api");
+        created.setExecutor(executor);
+        created.start();
+        server = created;
+    }
+
+    /**
+     * Stops the server, giving requests in progress up to a second to finish.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+            executor = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the address the server listens on.
+     */
+    public synchronized InetSocketAddress getAddress() {
+        if (server == null) {
+            throw new IllegalStateException("The API server is not running.");
+        }
+        return server.getAddress();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("The API server is not running.");
+        }
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            try {
+                Object body = route(exchange);
+                if (body instanceof Created created) {
+                    send(exchange, 201, created.body());
+                } else {
+                    send(exchange, 200, body);
+                }
+            } catch (ApiException e) {
+                send(exchange, e.status, error(e.getMessage()));
+            } catch (DuplicateEnrollmentException e) {
+                send(exchange, 409, error(e.getMessage()));
+            } catch (MaxCreditLimitExceededException | PrerequisiteNotMetException | ScheduleConflictException e) {
+                send(exchange, 422, error(e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+            } catch (RuntimeException e) {
+                // Details stay in the server log; clients only learn that the request failed.
+                System.err.println("API request " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                        + " failed: " + e);
+                send(exchange, 500, error("Internal error."));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object route(HttpExchange exchange) throws IOException, DuplicateEnrollmentException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        switch (path[0]) {
+            case "students" -> {
+                requireMethod(method, "GET");
+                if (path.length == 2) {
+                    return studentJson(findStudent(path[1]));
+                }
+                if (path.length == 3 && path[2].equals("transcript")) {
+                    Student student = findStudent(path[1]);
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    json.put("regNo", student.getRegNo());
+                    json.put("gpa", transcriptService.calculateGpa(student));
+                    json.put("transcript", transcriptService.generateTranscript(student.getRegNo()));
+                    return json;
+                }
+            }
+            case "courses" -> {
+                requireMethod(method, "GET");
+                if (path.length == 1) {
+                    return searchCourses(query).stream().map(ApiServer::courseJson).toList();
+                }
+                if (path.length == 2) {
+                    return courseJson(courseService.findCourseByCode(path[1])
+                            .orElseThrow(() -> new ApiException(404, "Course not found: " + path[1])));
+                }
+            }
+            case "enrollments" -> {
+                requireMethod(method, "POST");
+                Map<String, String> body = readBody(exchange);
+                String regNo = requireField(body, "regNo");
+                String courseCode = requireField(body, "courseCode");
+                findStudent(regNo);
+                courseService.findCourseByCode(courseCode)
+                        .orElseThrow(() -> new ApiException(404, "Course not found: " + courseCode));
+                enrollmentService.enrollStudent(regNo, courseCode);
+                return new Created(studentJson(findStudent(regNo)));
+            }
+            case "grades" -> {
+                requireMethod(method, "POST");
+                Map<String, String> body = readBody(exchange);
+                String regNo = requireField(body, "regNo");
+                Grade grade = Grade.valueOf(requireField(body, "grade").toUpperCase(Locale.ROOT));
+                findStudent(regNo);
+                enrollmentService.assignGrade(regNo, requireField(body, "courseCode"), grade);
+                return studentJson(findStudent(regNo));
+            }
+            case "reports" -> {
+                requireMethod(method, "GET");
+                if (path.length == 2) {
+                    switch (path[1]) {
+                        case "gpa-distribution" -> {
+                            return transcriptService.getGpaDistribution();
+                        }
+                        case "top-students" -> {
+                            return transcriptService.getTopNStudents(Integer.parseInt(query.getOrDefault("n", "10")));
+                        }
+                        case "course-enrollments" -> {
+                            return transcriptService.getCourseEnrollmentStats();
+                        }
+                        case "schedule-conflicts" -> {
+                            return transcriptService.findScheduleConflicts().stream().map(ApiServer::conflictJson).toList();
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+        throw new ApiException(404, "No such resource: " + exchange.getRequestURI().getPath());
+    }
+
+    private List<Course> searchCourses(Map<String, String> query) {
+        if (query.containsKey("instructor")) {
+            return courseService.filterByInstructor(query.get("instructor"));
+        }
+        if (query.containsKey("department")) {
+            return courseService.filterByDepartment(query.get("department"));
+        }
+        if (query.containsKey("semester")) {
+            return courseService.filterBySemester(Semester.valueOf(query.get("semester").toUpperCase(Locale.ROOT)));
+        }
+        return courseService.getAllCourses();
+    }
+
+    private Student findStudent(String regNo) {
+        return studentService.findStudentByRegNo(regNo)
+                .orElseThrow(() -> new ApiException(404, "Student not found: " + regNo));
+    }
+
+    private static Map<String, Object> studentJson(Student student) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", student.getId());
+        json.put("regNo", student.getRegNo());
+        json.put("fullName", student.getFullName());
+        json.put("email", student.getEmail());
+        json.put("status", student.getStatus());
+        List<Map<String, Object>> enrollments = new ArrayList<>();
+        for (Enrollment enrollment : student.getEnrolledCourses()) {
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("courseCode", enrollment.getCourseCode());
+            e.put("grade", enrollment.getGrade());
+            e.put("enrolledAt", enrollment.getEnrollmentDate());
+            enrollments.add(e);
+        }
+        json.put("enrollments", enrollments);
+        return json;
+    }
+
+    private static Map<String, Object> conflictJson(TranscriptService.ScheduleConflict conflict) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("regNo", conflict.regNo());
+        json.put("semester", conflict.semester());
+        json.put("first", conflict.first());
+        json.put("second", conflict.second());
+        json.put("overlap", Timetable.format(conflict.sharedSlots()));
+        return json;
+    }
+
+    private static Map<String, Object> courseJson(Course course) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("code", course.getCourseCode());
+        json.put("title", course.getTitle());
+        json.put("credits", course.getCredits());
+        json.put("instructor", course.getInstructor());
+        json.put("semester", course.getSemester());
+        json.put("department", course.getDepartment());
+        json.put("schedule", Timetable.format(course.getSchedule()));
+        json.put("active", course.isActive());
+        return json;
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("error", message);
+        return json;
+    }
+
+    private static void requireMethod(String actual, String expected) {
+        if (!actual.equals(expected)) {
+            throw new ApiException(405, "Method " + actual + " not allowed; use " + expected + ".");
+        }
+    }
+
+    private static String requireField(Map<String, String> body, String field) {
+        String value = body.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing field '" + field + "'.");
+        }
+        return value;
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        return Json.parseObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * A response body for a request that created a resource (status 201).
+     */
+    private record Created(Object body) {
+    }
+
+    /**
+     * An error with a specific HTTP status.
+     */
+    private static final class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package edu.ccrm.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP API, so the project needs no external libraries.
+ * Writes maps, iterables, strings, numbers, booleans and null; reads flat objects whose
+ * values are strings, numbers, booleans or null.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeString(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(item, out);
+            }
+            out.append(']');
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else {
+            writeString(value.toString(), out);
+        }
+    }
+
+    private static void writeString(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Parses a flat JSON object. Numbers and booleans are returned as their text.
+     *
+     * @throws IllegalArgumentException If the text is not such an object.
+     */
+    static Map<String, String> parseObject(String text) {
+        Reader reader = new Reader(text);
+        Map<String, String> result = new LinkedHashMap<>();
+        reader.expect('{');
+        if (!reader.tryConsume('}')) {
+            do {
+                String key = reader.string();
+                reader.expect(':');
+                result.put(key, reader.value());
+            } while (reader.tryConsume(','));
+            reader.expect('}');
+        }
+        reader.end();
+        return result;
+    }
+
+    private static final class Reader {
+        private final String text;
+        private int pos;
+
+        Reader(String text) {
+            this.text = text;
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean tryConsume(char c) {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!tryConsume(c)) {
+                throw new IllegalArgumentException("Invalid JSON: expected '" + c + "' at position " + pos);
+            }
+        }
+
+        void end() {
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw new IllegalArgumentException("Invalid JSON: unexpected content at position " + pos);
+            }
+        }
+
+        String value() {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                return string();
+            }
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.isEmpty() || literal.startsWith("{") || literal.startsWith("[")) {
+                throw new IllegalArgumentException("Invalid JSON: only flat objects are supported");
+            }
+            return literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c == '\\' && pos < text.length()) {
+                    char escaped = text.charAt(pos++);
+                    switch (escaped) {
+                        case 'n' -> out.append('\n');
+                        case 'r' -> out.append('\r');
+                        case 't' -> out.append('\t');
+                        case 'b' -> out.append('\b');
+                        case 'f' -> out.append('\f');
+                        case 'u' -> {
+                            if (pos + 4 > text.length()) {
+                                throw new IllegalArgumentException("Invalid JSON: bad unicode escape");
+                            }
+                            out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                        }
+                        default -> out.append(escaped);
+                    }
+                } else {
+                    out.append(c);
+                }
+            }
+            throw new IllegalArgumentException("Invalid JSON: unterminated string");
+        }
+    }
+}
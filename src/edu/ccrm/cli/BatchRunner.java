@@ -0,0 +1,326 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Student.StudentStatus;
+import edu.ccrm.domain.Timetable;
+import edu.ccrm.io.BackupService;
+import edu.ccrm.io.CsvParser;
+import edu.ccrm.io.ImportExportService;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.InstructorService;
+import edu.ccrm.service.StudentService;
+import edu.ccrm.service.TranscriptService;
+import edu.ccrm.util.Validators;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a script of commands against the services without any prompts, for automating a
+ * term's work. One command per line, with comma-separated arguments quoted like CSV fields
+ * (see {@link CsvParser#splitFields(String)}); blank lines and lines starting with {@code #} are skipped:
+ * <pre>
+ * add-student,&lt;regNo or empty&gt;,&lt;full name&gt;,&lt;email&gt;
+ * add-course,&lt;code&gt;,&lt;title&gt;,&lt;credits&gt;,&lt;instructor&gt;,&lt;semester&gt;,&lt;department&gt;[,&lt;meeting times&gt;]
+ * add-prereq,&lt;course code&gt;,&lt;prerequisite code&gt;
+ * enroll,&lt;regNo&gt;,&lt;course code&gt;
+ * grade,&lt;regNo&gt;,&lt;course code&gt;,&lt;grade&gt;
+ * report,transcript,&lt;regNo&gt; | report,gpa | report,top,&lt;n&gt; | report,courses | report,conflicts
+ * report,instructors,&lt;n per department&gt;[,&lt;department&gt;]
+ * export
+ * backup
+ * </pre>
+ *
+ * {@code enroll} and {@code grade} commands for different students are independent, so they run
+ * in parallel on several lanes; all commands for one student go to the same lane and keep their
+ * order. The other commands, {@code add-student} included, are barriers: they wait for everything
+ * before them and finish before anything after them starts, so a script behaves exactly as if it
+ * ran line by line. Adding students cannot be split by student, because a duplicate email and the
+ * order of generated registration numbers depend on every add before it. Only failures and report
+ * output are printed, through a buffered writer.
+ *
+ * DEMONSTRATES:
+ * - Partitioning work by key so related operations stay ordered while the rest runs in parallel.
+ * - Records for small immutable results.
+ */
+public class BatchRunner {
+
+    // Commands buffered before a parallel run is forced, even without a barrier.
+    private static final int MAX_PENDING = 65_536;
+
+    /**
+     * The outcome of a batch run.
+     *
+     * @param perCommand Commands run and failed, by command name.
+     */
+    public record Summary(int commands, int failed, Duration elapsed, Map<String, int[]> perCommand) {
+        public boolean succeeded() {
+            return failed == 0;
+        }
+    }
+
+    private record Command(int line, String name, String[] args, String laneKey) {
+    }
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final TranscriptService transcriptService;
+    private final InstructorService instructorService;
+    private final ImportExportService importExportService;
+    private final BackupService backupService;
+
+    public BatchRunner(StudentService studentService, CourseService courseService, EnrollmentService enrollmentService,
+                       TranscriptService transcriptService, InstructorService instructorService,
+                       ImportExportService importExportService, BackupService backupService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.transcriptService = transcriptService;
+        this.instructorService = instructorService;
+        this.importExportService = importExportService;
+        this.backupService = backupService;
+    }
+
+    /**
+     * Runs every command in {@code script} and prints failures, report output and a summary to {@code out}.
+     *
+     * @param threads The number of lanes student commands are spread over; 1 runs everything in order.
+     * @return The summary, also printed.
+     */
+    public Summary run(BufferedReader script, PrintWriter out, int threads) throws IOException {
+        long start = System.nanoTime();
+        Map<String, int[]> perCommand = new TreeMap<>();
+        int[] totals = new int[2];
+        List<Command> pending = new ArrayList<>();
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            String text;
+            int line = 0;
+            while ((text = script.readLine()) != null) {
+                line++;
+                String trimmed = text.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                Command command = parse(line, trimmed);
+                if (command.laneKey() != null) {
+                    pending.add(command);
+                    if (pending.size() >= MAX_PENDING) {
+                        runPending(pending, executor, threads, out, perCommand, totals);
+                    }
+                    continue;
+                }
+                runPending(pending, executor, threads, out, perCommand, totals);
+                out.flush(); // Barrier commands may print through the services.
+                tally(command, execute(command, out), out, perCommand, totals);
+            }
+            runPending(pending, executor, threads, out, perCommand, totals);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        Summary summary = new Summary(totals[0], totals[1], Duration.ofNanos(System.nanoTime() - start), perCommand);
+        out.printf("Batch finished: %d command(s), %d failed, %.2f s.%n",
+                summary.commands(), summary.failed(), summary.elapsed().toNanos() / 1e9);
+        perCommand.forEach((name, counts) -> out.printf("  %-12s | %9d run | %7d failed%n", name, counts[0], counts[1]));
+        out.flush();
+        return summary;
+    }
+
+    private static Command parse(int line, String text) {
+        String[] fields = CsvParser.splitFields(text);
+        String name = fields[0].strip().toLowerCase(Locale.ROOT);
+        String[] args = new String[fields.length - 1];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = fields[i + 1].strip();
+        }
+        boolean perStudent = switch (name) {
+            case "enroll", "grade" -> true;
+            default -> false;
+        };
+        String laneKey = perStudent && args.length > 0 ? args[0].toUpperCase(Locale.ROOT) : null;
+        return new Command(line, name, args, laneKey);
+    }
+
+    private void runPending(List<Command> pending, ExecutorService executor, int threads, PrintWriter out,
+                            Map<String, int[]> perCommand, int[] totals) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        String[] errors = new String[pending.size()];
+        if (executor == null) {
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = execute(pending.get(i), out);
+            }
+        } else {
+            List<List<Integer>> lanes = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                lanes.add(new ArrayList<>());
+            }
+            for (int i = 0; i < errors.length; i++) {
+                lanes.get(Math.floorMod(pending.get(i).laneKey().hashCode(), threads)).add(i);
+            }
+            List<Future<?>> running = new ArrayList<>(threads);
+            for (List<Integer> lane : lanes) {
+                running.add(executor.submit(() -> {
+                    for (int i : lane) {
+                        errors[i] = execute(pending.get(i), null);
+                    }
+                }));
+            }
+            for (Future<?> lane : running) {
+                try {
+                    lane.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Batch interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Batch lane failed", e.getCause());
+                }
+            }
+        }
+        for (int i = 0; i < errors.length; i++) {
+            tally(pending.get(i), errors[i], out, perCommand, totals);
+        }
+        pending.clear();
+    }
+
+    private static void tally(Command command, String error, PrintWriter out, Map<String, int[]> perCommand, int[] totals) {
+        int[] counts = perCommand.computeIfAbsent(command.name(), n -> new int[2]);
+        counts[0]++;
+        totals[0]++;
+        if (error != null) {
+            counts[1]++;
+            totals[1]++;
+            out.printf("line %d: %s failed: %s%n", command.line(), command.name(), error);
+        }
+    }
+
+    /**
+     * Runs one command.
+     *
+     * @param out Where report output goes; null for enroll and grade commands, which print nothing.
+     * @return null on success, otherwise the reason it failed.
+     */
+    private String execute(Command command, PrintWriter out) {
+        String[] a = command.args();
+        try {
+            switch (command.name()) {
+                case "add-student" -> {
+                    expectArgs(a, 3, "add-student,<regNo or empty>,<full name>,<email>");
+                    if (!Validators.isNotNullOrEmpty(a[1]) || !Validators.isValidEmail(a[2])) {
+                        return "A full name and a valid email are required.";
+                    }
+                    if (!a[0].isEmpty() && studentService.findStudentByRegNo(a[0]).isPresent()) {
+                        return "Student already exists: " + a[0];
+                    }
+                    studentService.addStudent(a[0].isEmpty()
+                            ? new Student(a[1], a[2])
+                            : new Student(a[0], a[1], a[2], StudentStatus.ACTIVE));
+                }
+                case "add-course" -> {
+                    if (a.length != 7) {
+                        expectArgs(a, 6, "add-course,<code>,<title>,<credits>,<instructor>,<semester>,<department>[,<meeting times>]");
+                    }
+                    courseService.addCourse(new Course.Builder(a[0], a[1])
+                            .credits(Integer.parseInt(a[2]))
+                            .instructor(a[3])
+                            .semester(Semester.valueOf(a[4].toUpperCase(Locale.ROOT)))
+                            .department(a[5])
+                            .schedule(a.length == 7 ? Timetable.parse(a[6]) : Timetable.NONE)
+                            .build());
+                }
+                case "add-prereq" -> {
+                    expectArgs(a, 2, "add-prereq,<course code>,<prerequisite code>");
+                    courseService.addPrerequisite(a[0], a[1]);
+                }
+                case "enroll" -> {
+                    expectArgs(a, 2, "enroll,<regNo>,<course code>");
+                    enrollmentService.enrollStudent(a[0], a[1]);
+                }
+                case "grade" -> {
+                    expectArgs(a, 3, "grade,<regNo>,<course code>,<grade>");
+                    enrollmentService.assignGrade(a[0], a[1], Grade.valueOf(a[2].toUpperCase(Locale.ROOT)));
+                }
+                case "report" -> report(a, out);
+                case "export" -> importExportService.exportAllData();
+                case "backup" -> backupService.performBackup();
+                default -> {
+                    return "Unknown command.";
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+    }
+
+    private void report(String[] a, PrintWriter out) {
+        String kind = a.length > 0 ? a[0].toLowerCase(Locale.ROOT) : "";
+        switch (kind) {
+            case "transcript" -> {
+                expectArgs(a, 2, "report,transcript,<regNo>");
+                out.print(transcriptService.generateTranscript(a[1]));
+            }
+            case "gpa" -> {
+                out.println("--- GPA Distribution ---");
+                transcriptService.getGpaDistribution().forEach((name, gpa) -> out.printf("  %-20s | %.2f%n", name, gpa));
+            }
+            case "top" -> {
+                expectArgs(a, 2, "report,top,<n>");
+                int n = Integer.parseInt(a[1]);
+                out.println("--- Top " + n + " Students by GPA ---");
+                transcriptService.getTopNStudents(n).forEach((name, gpa) -> out.printf("  %-20s | %.2f%n", name, gpa));
+            }
+            case "courses" -> {
+                out.println("--- Course Enrollment Statistics ---");
+                transcriptService.getCourseEnrollmentStats().forEach((title, count) ->
+                        out.printf("  %-30s | %d student(s)%n", title, count));
+            }
+            case "conflicts" -> {
+                out.println("--- Timetable Conflicts ---");
+                transcriptService.findScheduleConflicts().forEach(c -> out.printf("  %-12s | %-8s | %-10s | %-10s | %s%n",
+                        c.regNo(), c.semester(), c.first(), c.second(), Timetable.format(c.sharedSlots())));
+            }
+            case "instructors" -> {
+                if (a.length != 3) {
+                    expectArgs(a, 2, "report,instructors,<n per department>[,<department>]");
+                }
+                int n = Integer.parseInt(a[1]);
+                Map<String, List<InstructorService.InstructorLoad>> busiest = a.length == 3
+                        ? Map.of(a[2], instructorService.getBusiestInstructors(a[2], n))
+                        : instructorService.getBusiestInstructorsByDepartment(n);
+                out.println("--- Busiest Instructors ---");
+                out.printf("  %-20s | %-20s | %3s | %4s | %s%n", "Department", "Instructor", "Crs", "Cr", "Enrollments");
+                busiest.values().forEach(loads -> loads.forEach(l -> out.printf("  %-20s | %-20s | %3d | %4d | %d%n",
+                        l.department(), l.instructor(), l.courses(), l.credits(), l.enrollments())));
+            }
+            default -> throw new IllegalArgumentException("Usage: report,transcript,<regNo> | report,gpa | report,top,<n>"
+                    + " | report,courses | report,conflicts | report,instructors,<n>[,<department>]");
+        }
+    }
+
+    private static void expectArgs(String[] args, int count, String usage) {
+        if (args.length != count) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+}
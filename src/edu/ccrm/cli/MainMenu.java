@@ -1,33 +1,88 @@
 package edu.ccrm.cli;
 
+import edu.ccrm.api.ApiServer;
 import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.ConfigSnapshot;
 import edu.ccrm.domain.*;
 import edu.ccrm.domain.Student.StudentStatus;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.exception.DuplicateEmailException;
 import edu.ccrm.exception.DuplicateEnrollmentException;
 import edu.ccrm.exception.MaxCreditLimitExceededException;
+import edu.ccrm.exception.PrerequisiteNotMetException;
+import edu.ccrm.exception.ScheduleConflictException;
+import edu.ccrm.io.BackupRetentionPolicy;
 import edu.ccrm.io.BackupService;
 import edu.ccrm.io.ImportExportService;
+import edu.ccrm.metrics.FlightRecording;
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.Timer;
 import edu.ccrm.service.*;
 import edu.ccrm.util.Comparators;
+import edu.ccrm.util.DirectorySizeCache;
+import edu.ccrm.util.PerTaskExecutors;
 import edu.ccrm.util.RecursionUtils;
 import edu.ccrm.util.Validators;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
 
 public class MainMenu {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final Scanner scanner = new Scanner(System.in);
     private final StudentService studentService = new StudentService();
     private final CourseService courseService = new CourseService();
     private final EnrollmentService enrollmentService = new EnrollmentService(studentService, courseService);
     private final TranscriptService transcriptService = new TranscriptService(studentService, courseService);
+    private final InstructorService instructorService = new InstructorService(studentService, courseService);
     private final ImportExportService importExportService = new ImportExportService(studentService, courseService);
     private final BackupService backupService = new BackupService();
-
+    private final ApiServer apiServer = new ApiServer(studentService, courseService, enrollmentService, transcriptService);
+    private volatile ScheduledFuture<?> retentionSchedule;
+
+    /**
+     * Starts the application. Options:
+     * {@code --jfr=<file>} starts a Java Flight Recorder recording before the initial import
+     * and writes it to {@code file} on exit;
+     * {@code --batch=<file>} (or {@code --batch=-} for standard input) runs a command script with
+     * {@link BatchRunner} instead of the menus and exits with status 1 if any command failed;
+     * {@code --threads=<n>} sets how many student commands a batch runs in parallel.
+     * Exits with status 2 if the configuration is invalid.
+     */
     public static void main(String[] args) {
+        try {
+            AppConfig.getInstance();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Cannot start: " + e.getMessage());
+            System.exit(2);
+        }
+        String batchScript = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            if (arg.startsWith("--jfr=")) {
+                startFlightRecording(Path.of(arg.substring("--jfr=".length())));
+            } else if (arg.startsWith("--batch=")) {
+                batchScript = arg.substring("--batch=".length());
+            } else if (arg.startsWith("--threads=")) {
+                threads = Math.max(1, Integer.parseInt(arg.substring("--threads=".length())));
+            } else {
+                System.err.println("Unknown option ignored: " + arg);
+            }
+        }
         MainMenu menu = new MainMenu();
         // Load initial data
         try {
@@ -35,9 +90,63 @@ public class MainMenu {
         } catch (IOException e) {
             System.err.println("Failed to load initial data: " + e.getMessage());
         }
+        if (batchScript != null) {
+            System.exit(menu.runBatch(batchScript, threads));
+        }
+        menu.startBackgroundServices();
+        if (AppConfig.getInstance().snapshot().apiAutostart()) {
+            menu.toggleApiServer();
+        }
         menu.run();
     }
 
+    /**
+     * Runs a batch script and returns the process exit status: 0 if every command succeeded,
+     * 1 if any failed, 2 if the script could not be read.
+     */
+    private int runBatch(String script, int threads) {
+        BatchRunner runner = new BatchRunner(studentService, courseService, enrollmentService, transcriptService,
+                instructorService, importExportService, backupService);
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        try (BufferedReader in = script.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)) {
+            return runner.run(in, out, threads).succeeded() ? 0 : 1;
+        } catch (IOException e) {
+            out.flush();
+            System.err.println("Could not read batch script: " + e.getMessage());
+            return 2;
+        } finally {
+            out.flush();
+            backupService.shutdown();
+            stopFlightRecording();
+        }
+    }
+
+    /**
+     * Starts background retention and hot reload of the configuration file.
+     * Retention is rescheduled whenever its settings change.
+     */
+    private void startBackgroundServices() {
+        AppConfig config = AppConfig.getInstance();
+        retentionSchedule = backupService.scheduleRetention(BackupRetentionPolicy.fromConfig(),
+                config.snapshot().retentionIntervalMinutes());
+        config.addListener((previous, current) -> {
+            if (!BackupRetentionPolicy.fromConfig(previous).equals(BackupRetentionPolicy.fromConfig(current))
+                    || previous.retentionIntervalMinutes() != current.retentionIntervalMinutes()) {
+                retentionSchedule.cancel(false);
+                retentionSchedule = backupService.scheduleRetention(BackupRetentionPolicy.fromConfig(current),
+                        current.retentionIntervalMinutes());
+            }
+            System.out.println("\nConfiguration reloaded (max credits per semester: " + current.maxCreditsPerSemester() + ").");
+        });
+        try {
+            config.startWatching();
+        } catch (IOException e) {
+            System.err.println("Configuration hot reload unavailable: " + e.getMessage());
+        }
+    }
+
     public void run() {
         int choice;
         do {
@@ -53,6 +162,9 @@ public class MainMenu {
                 default -> System.out.println("Invalid option. Please try again.");
             }
         } while (choice != 0);
+        apiServer.stop();
+        backupService.shutdown();
+        stopFlightRecording();
         scanner.close();
     }
 
@@ -99,21 +211,32 @@ public class MainMenu {
         String email;
         while (true) {
             email = getStringInput("Enter Email: ");
-            if (Validators.isValidEmail(email)) {
+            if (!Validators.isValidEmail(email)) {
+                System.out.println("Invalid email format. Please try again.");
+                continue;
+            }
+            Student owner = studentService.findStudentByEmail(email).orElse(null);
+            if (owner == null) {
                 break;
             }
-            System.out.println("Invalid email format. Please try again.");
+            System.out.println("That email is already used by student " + owner.getRegNo() + ". Please try again.");
         }
         Student student = new Student(name, email);
-        studentService.addStudent(student);
-        System.out.println("Student added successfully with RegNo: " + student.getRegNo());
+        try {
+            studentService.addStudent(student);
+            System.out.println("Student added successfully with RegNo: " + student.getRegNo());
+        } catch (DuplicateEmailException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
     }
 
     private void listStudents() {
-        List<Student> students = studentService.getAllStudents();
-        students.sort(Comparators.STUDENT_NAME_COMPARATOR);
-        System.out.println("\n--- All Students ---");
-        students.forEach(System.out::println);
+        System.out.println("Sort by: 1. Name, 2. Registration number");
+        Comparator<Student> order = getIntInput("Choose an option: ") == 2
+                ? Comparators.STUDENT_REGNO_COMPARATOR
+                : Comparators.STUDENT_NAME_COMPARATOR.thenComparing(Comparators.STUDENT_REGNO_COMPARATOR);
+        browse("All Students", null, studentService, order,
+                regNo -> studentService.findStudentByRegNo(regNo).orElse(null));
     }
 
     private void updateStudent() {
@@ -122,26 +245,32 @@ public class MainMenu {
 
         System.out.print("Enter new Full Name (or press Enter to keep '" + student.getFullName() + "'): ");
         String name = scanner.nextLine();
-        if (Validators.isNotNullOrEmpty(name)) {
-            student.setFullName(name);
-        }
 
         System.out.print("Enter new Email (or press Enter to keep '" + student.getEmail() + "'): ");
         String email = scanner.nextLine();
-        if (Validators.isNotNullOrEmpty(email)) {
-            if (Validators.isValidEmail(email)) {
-                student.setEmail(email);
-            } else {
-                System.out.println("Invalid email format. Email not updated.");
-            }
+        if (!Validators.isNotNullOrEmpty(email)) {
+            email = null;
+        } else if (!Validators.isValidEmail(email)) {
+            System.out.println("Invalid email format. Email not updated.");
+            email = null;
+        }
+
+        try {
+            studentService.modifyStudent(student.getRegNo(), email, s -> {
+                if (Validators.isNotNullOrEmpty(name)) {
+                    s.setFullName(name);
+                }
+            });
+            System.out.println("Student updated successfully.");
+        } catch (DuplicateEmailException e) {
+            System.out.println("Student not updated: " + e.getMessage());
         }
-        System.out.println("Student updated successfully.");
     }
 
     private void deactivateStudent() {
         Student student = getStudentFromInput();
         if (student != null) {
-            student.setStatus(StudentStatus.INACTIVE);
+            studentService.modifyStudent(student.getRegNo(), s -> s.setStatus(StudentStatus.INACTIVE));
             System.out.println("Student " + student.getRegNo() + " deactivated.");
         }
     }
@@ -165,6 +294,8 @@ public class MainMenu {
             System.out.println("1. Add a new Course");
             System.out.println("2. List all Courses");
             System.out.println("3. Search/Filter Courses");
+            System.out.println("4. Manage Prerequisites");
+            System.out.println("5. Instructor Teaching Loads");
             System.out.println("0. Back to Main Menu");
             choice = getIntInput("Choose an option: ");
 
@@ -172,6 +303,8 @@ public class MainMenu {
                 case 1 -> addCourse();
                 case 2 -> listCourses();
                 case 3 -> searchCourses();
+                case 4 -> managePrerequisites();
+                case 5 -> showInstructorLoads();
                 case 0 -> {}
                 default -> System.out.println("Invalid option.");
             }
@@ -185,26 +318,139 @@ public class MainMenu {
         String instructor = getStringInput("Enter Instructor Name: ");
         Semester semester = getSemesterInput("Enter Semester (SPRING, SUMMER, FALL): ");
         String department = getStringInput("Enter Department: ");
+        long schedule = getScheduleInput("Enter Meeting Times (e.g. MON 09-11;WED 09-10, or press Enter for none): ");
 
         Course course = new Course.Builder(code, title)
                 .credits(credits)
                 .instructor(instructor)
                 .semester(semester)
                 .department(department)
+                .schedule(schedule)
                 .build();
         courseService.addCourse(course);
         System.out.println("Course added successfully.");
     }
 
     private void listCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        courses.sort(Comparators.COURSE_TITLE_COMPARATOR);
-        System.out.println("\n--- All Courses ---");
-        System.out.printf("%-10s | %-30s | %-2s | %-20s | %-10s | %-20s\n", "Code", "Title", "Cr", "Instructor", "Semester", "Department");
-        System.out.println("-".repeat(105));
-        courses.forEach(System.out::println);
+        System.out.println("Sort by: 1. Title, 2. Department and title, 3. Code");
+        Comparator<Course> order = switch (getIntInput("Choose an option: ")) {
+            case 2 -> Comparators.COURSE_DEPT_AND_TITLE_COMPARATOR.thenComparing(Comparators.COURSE_CODE_COMPARATOR);
+            case 3 -> Comparators.COURSE_CODE_COMPARATOR;
+            default -> Comparators.COURSE_TITLE_COMPARATOR.thenComparing(Comparators.COURSE_CODE_COMPARATOR);
+        };
+        String header = String.format("%-10s | %-30s | %-2s | %-20s | %-10s | %-20s | %s%n", "Code", "Title", "Cr", "Instructor", "Semester", "Department", "Schedule")
+                + "-".repeat(125);
+        browse("All Courses", header, courseService, order,
+                code -> courseService.findCourseByCode(code).orElse(null));
+    }
+
+    /**
+     * Shows a listing one page at a time, moving with a cursor instead of copying and sorting
+     * everything up front. Rows go through a buffered writer, flushed once per page.
+     *
+     * @param order A sort order that tells every pair of items apart (see {@link Searchable#pageAfter}).
+     * @param findByKey Looks up the item to jump to, or returns null.
+     */
+    private <T> void browse(String title, String header, Searchable<T> source, Comparator<T> order,
+                            Function<String, T> findByKey) {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        int pageSize = DEFAULT_PAGE_SIZE;
+        Searchable.Page<T> page = source.pageAfter(order, null, pageSize);
+        while (true) {
+            out.println("\n--- " + title + " ---");
+            if (header != null) {
+                out.println(header);
+            }
+            page.items().forEach(out::println);
+            out.printf("Showing %d-%d of %d.%n", page.items().isEmpty() ? 0 : page.offset() + 1,
+                    page.offset() + page.items().size(), page.total());
+            out.flush();
+            System.out.print((page.hasNext() ? "[N]ext, " : "") + (page.hasPrevious() ? "[P]revious, " : "")
+                    + "[J]ump to key, page [S]ize, or Enter to stop: ");
+            String command = scanner.nextLine().trim().toUpperCase();
+            if (command.equals("N") && page.hasNext()) {
+                page = source.pageAfter(order, page.last(), pageSize);
+            } else if (command.equals("P") && page.hasPrevious()) {
+                page = source.pageBefore(order, page.first(), pageSize);
+            } else if (command.equals("J")) {
+                T target = findByKey.apply(getStringInput("Key to jump to: ").trim());
+                if (target == null) {
+                    System.out.println("No entry with that key.");
+                } else {
+                    page = source.pageFrom(order, target, pageSize);
+                }
+            } else if (command.equals("S")) {
+                pageSize = Math.max(1, getIntInput("Rows per page: "));
+                page = page.first() == null
+                        ? source.pageAfter(order, null, pageSize)
+                        : source.pageFrom(order, page.first(), pageSize);
+            } else if (command.isEmpty()) {
+                return;
+            } else {
+                System.out.println("Invalid option.");
+            }
+        }
     }
     
+    private void managePrerequisites() {
+        Course course = getCourseFromInput();
+        if (course == null) return;
+        PrerequisiteGraph prerequisites = courseService.getPrerequisites();
+        System.out.println("Direct prerequisites: " + prerequisites.directPrerequisites(course.getCourseCode()));
+        System.out.println("All required courses: " + prerequisites.allPrerequisites(course.getCourseCode()));
+        System.out.println("1. Add a prerequisite, 2. Remove a prerequisite, 0. Back");
+        int choice = getIntInput("Choose an option: ");
+        if (choice != 1 && choice != 2) return;
+        String code = getStringInput("Enter prerequisite Course Code: ");
+        try {
+            String courseCode = course.getCourseCode().getCode();
+            boolean changed = choice == 1
+                    ? courseService.addPrerequisite(courseCode, code)
+                    : courseService.removePrerequisite(courseCode, code);
+            System.out.println(changed ? "Prerequisites updated." : "No change: the rule " + (choice == 1 ? "already exists." : "does not exist."));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    private void showInstructorLoads() {
+        System.out.println("1. One instructor, 2. Busiest instructors of a department, 3. Busiest instructors of every department");
+        switch (getIntInput("Choose an option: ")) {
+            case 1 -> {
+                String name = getStringInput("Enter instructor name: ");
+                InstructorService.InstructorLoad load = instructorService.getLoad(name).orElse(null);
+                if (load == null) {
+                    System.out.println("No course is taught by " + name + ".");
+                    return;
+                }
+                System.out.printf("%s (%s): %d course(s), %d credit(s), %d student enrollment(s)\n",
+                        load.instructor(), load.department(), load.courses(), load.credits(), load.enrollments());
+                instructorService.getTeachingLoad(name).forEach((semester, credits) ->
+                        System.out.printf("  %-8s | %3d credit(s)\n", semester, credits));
+                instructorService.findInstructor(name).ifPresent(i -> System.out.println("  Courses: " + i.getCoursesTaught()));
+            }
+            case 2 -> {
+                String department = getStringInput("Enter department name: ");
+                int n = getIntInput("Enter the number of instructors to show: ");
+                printInstructorLoads(department, instructorService.getBusiestInstructors(department, n));
+            }
+            case 3 -> {
+                int n = getIntInput("Enter the number of instructors to show per department: ");
+                instructorService.getBusiestInstructorsByDepartment(n).forEach(this::printInstructorLoads);
+            }
+            default -> System.out.println("Invalid option.");
+        }
+    }
+
+    private void printInstructorLoads(String department, List<InstructorService.InstructorLoad> loads) {
+        System.out.println("\n--- " + department + " ---");
+        if (loads.isEmpty()) {
+            System.out.println("  No instructors.");
+        }
+        loads.forEach(l -> System.out.printf("  %-20s | %3d course(s) | %4d credit(s) | %7d enrollment(s)\n",
+                l.instructor(), l.courses(), l.credits(), l.enrollments()));
+    }
+
     private void searchCourses() {
         System.out.println("Filter by: 1. Instructor, 2. Department, 3. Semester");
         int choice = getIntInput("Choose an option: ");
@@ -257,7 +503,8 @@ public class MainMenu {
         try {
             enrollmentService.enrollStudent(student.getRegNo(), course.getCourseCode().getCode());
             System.out.println("Enrollment successful.");
-        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | IllegalArgumentException e) {
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | PrerequisiteNotMetException
+                 | ScheduleConflictException | IllegalArgumentException e) {
             System.err.println("Enrollment failed: " + e.getMessage());
         }
     }
@@ -303,16 +550,38 @@ public class MainMenu {
         System.out.println("3. Show GPA Distribution Report");
         System.out.println("4. Show Top N Students Report");
         System.out.println("5. Show Course Enrollment Statistics");
+        System.out.println("6. Verify a backup");
+        System.out.println("7. Restore a backup");
+        System.out.println("8. Create a snapshot backup in the background");
+        System.out.println("9. Prune old backups now");
+        System.out.println("10. Reload configuration");
+        System.out.println("11. " + (apiServer.isRunning() ? "Stop" : "Start") + " HTTP API server");
+        System.out.println("12. Show change-event consumers");
+        System.out.println("13. Show operation metrics");
+        System.out.println("14. " + (FlightRecording.isRecording() ? "Stop and save" : "Start") + " flight recording (JFR)");
+        System.out.println("15. Show timetable conflicts");
         int choice = getIntInput("Choose an option: ");
         try {
             switch(choice) {
                 case 1:
-                    backupService.performBackup();
+                    BackupService.BackupResult result = backupService.performBackup();
+                    System.out.printf("  %d file(s), %d unchanged | logical %d bytes | written %d bytes (%d new chunk(s)) | %d ms\n",
+                            result.files(), result.unchangedFiles(), result.logicalBytes(),
+                            result.bytesWritten(), result.newChunks(), result.duration().toMillis());
                     break;
                 case 2:
                     Path backupPath = AppConfig.getInstance().getBackupPath();
-                    long size = RecursionUtils.calculateDirectorySize(backupPath);
+                    Path cacheFile = AppConfig.getInstance().getDataPath()
+                            .resolve(AppConfig.getInstance().snapshot().backupSizeCacheName());
+                    DirectorySizeCache sizeCache = DirectorySizeCache.load(cacheFile);
+                    RecursionUtils.DirectorySizeReport report = RecursionUtils.calculateDirectorySizeParallel(backupPath, sizeCache);
+                    sizeCache.save(backupPath);
+                    report.childSizes().forEach((name, bytes) ->
+                            System.out.printf("  %-30s | %12d bytes\n", name, bytes));
+                    long size = report.totalBytes();
                     System.out.printf("Total backup size: %d bytes (%.2f MB)\n", size, size / (1024.0 * 1024.0));
+                    System.out.printf("(%d folder(s) scanned, %d unchanged folder(s) served from cache)\n",
+                            report.directoriesListed(), report.directoriesCached());
                     break;
                 case 3:
                     System.out.println("\n--- GPA Distribution ---");
@@ -330,6 +599,72 @@ public class MainMenu {
                     transcriptService.getCourseEnrollmentStats().forEach((title, count) ->
                         System.out.printf("  %-30s | %d student(s)\n", title, count));
                     break;
+                case 6:
+                    String toVerify = getBackupNameInput();
+                    if (toVerify == null) break;
+                    List<String> problems = backupService.verifyBackup(toVerify);
+                    if (problems.isEmpty()) {
+                        System.out.println("Backup " + toVerify + " verified: all chunks intact.");
+                    } else {
+                        System.out.println("Backup " + toVerify + " is damaged:");
+                        problems.forEach(p -> System.out.println("  " + p));
+                    }
+                    break;
+                case 7:
+                    String toRestore = getBackupNameInput();
+                    if (toRestore == null) break;
+                    System.out.println("Restore into: 1. Running application, 2. Data files");
+                    if (getIntInput("Choose an option: ") == 1) {
+                        BackupService.RestoreResult restored = backupService.restoreIntoServices(toRestore, studentService, courseService);
+                        System.out.printf("Loaded %d student(s), %d course(s) and %d enrollment(s) in %d ms.\n",
+                                restored.students(), restored.courses(), restored.enrollments(), restored.duration().toMillis());
+                    } else {
+                        backupService.restoreBackup(toRestore);
+                    }
+                    break;
+                case 8:
+                    DataSnapshot snapshot = DataSnapshot.capture(studentService, courseService);
+                    backupService.performSnapshotBackup(snapshot).whenComplete((done, error) -> {
+                        if (error != null) {
+                            System.err.println("\nBackground backup failed: " + error.getMessage());
+                        } else {
+                            System.out.printf("\nBackground backup finished at %s in %d ms (%d bytes written).\n",
+                                    done.folder(), done.duration().toMillis(), done.bytesWritten());
+                        }
+                    });
+                    System.out.println("Snapshot taken at " + snapshot.getTakenAt() + "; writing backup in the background.");
+                    break;
+                case 9:
+                    BackupService.PruneResult pruned = backupService.pruneBackups(BackupRetentionPolicy.fromConfig());
+                    System.out.printf("Pruned %d backup(s) and %d unused chunk(s), freeing %d bytes.\n",
+                            pruned.deletedBackups().size(), pruned.deletedChunks(), pruned.freedBytes());
+                    break;
+                case 10:
+                    try {
+                        AppConfig.getInstance().reload();
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Configuration not reloaded: " + e.getMessage());
+                    }
+                    break;
+                case 11:
+                    toggleApiServer();
+                    break;
+                case 12:
+                    showEventConsumers();
+                    break;
+                case 13:
+                    showMetrics();
+                    break;
+                case 14:
+                    if (FlightRecording.isRecording()) {
+                        stopFlightRecording();
+                    } else {
+                        startFlightRecording(Path.of(getStringInput("File to save the recording to (e.g. ccrm.jfr): ")));
+                    }
+                    break;
+                case 15:
+                    showScheduleConflicts();
+                    break;
                 default:
                     System.out.println("Invalid option.");
             }
@@ -338,6 +673,91 @@ public class MainMenu {
         }
     }
 
+    private void toggleApiServer() {
+        if (apiServer.isRunning()) {
+            apiServer.stop();
+            System.out.println("HTTP API server stopped.");
+            return;
+        }
+        try {
+            ConfigSnapshot config = AppConfig.getInstance().snapshot();
+            apiServer.start(config.apiHost(), config.apiPort());
+            System.out.printf("HTTP API listening on http://%s:%d/api/ (%s).\n",
+                    apiServer.getAddress().getHostString(), apiServer.getPort(),
+                    PerTaskExecutors.virtualThreadsAvailable() ? "virtual thread per request" : "thread per request");
+        } catch (IOException e) {
+            System.err.println("Could not start HTTP API server: " + e.getMessage());
+        }
+    }
+
+    private void showEventConsumers() {
+        DomainEventBus bus = DomainEventBus.getInstance();
+        System.out.printf("%d event(s) published; the buffer keeps the last %d.\n", bus.publishedCount(), bus.capacity());
+        List<DomainEventBus.ConsumerStats> stats = bus.stats();
+        if (stats.isEmpty()) {
+            System.out.println("No consumers subscribed.");
+            return;
+        }
+        System.out.printf("  %-20s | %10s | %12s | %10s | %9s | %9s | %8s\n",
+                "Consumer", "Lag", "Events", "Batches", "Avg batch", "Max batch", "Missed");
+        for (DomainEventBus.ConsumerStats s : stats) {
+            System.out.printf("  %-20s | %10d | %12d | %10d | %9.1f | %9d | %8d\n",
+                    s.name(), s.lag(), s.events(), s.batches(), s.averageBatch(), s.largestBatch(), s.missed());
+        }
+    }
+
+    private void showMetrics() {
+        List<Timer.Snapshot> timers = Metrics.snapshot();
+        if (timers.isEmpty()) {
+            System.out.println("No operations recorded yet.");
+            return;
+        }
+        System.out.printf("  %-28s | %9s | %6s | %9s | %10s | %10s | %10s | %10s\n",
+                "Operation (times in ms)", "Calls", "Errors", "Calls/s", "Mean", "p50", "p95", "p99");
+        for (Timer.Snapshot t : timers) {
+            System.out.printf("  %-28s | %9d | %6d | %9.2f | %10.3f | %10.3f | %10.3f | %10.3f\n",
+                    t.name(), t.count(), t.errors(), t.ratePerSecond(), t.meanNanos() / 1e6,
+                    t.p50Nanos() / 1e6, t.p95Nanos() / 1e6, t.p99Nanos() / 1e6);
+        }
+        System.out.println("Also available over JMX under edu.ccrm:type=Timer (e.g. in JConsole).");
+    }
+
+    private void showScheduleConflicts() {
+        List<TranscriptService.ScheduleConflict> conflicts = transcriptService.findScheduleConflicts();
+        if (conflicts.isEmpty()) {
+            System.out.println("No student has courses with overlapping meeting times.");
+            return;
+        }
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        out.printf("  %-12s | %-8s | %-10s | %-10s | %s%n", "Student", "Semester", "Course", "Clashes with", "Overlap");
+        for (TranscriptService.ScheduleConflict c : conflicts) {
+            out.printf("  %-12s | %-8s | %-10s | %-10s | %s%n",
+                    c.regNo(), c.semester(), c.first(), c.second(), Timetable.format(c.sharedSlots()));
+        }
+        out.printf("%d conflict(s).%n", conflicts.size());
+        out.flush();
+    }
+
+    private static void startFlightRecording(Path file) {
+        try {
+            FlightRecording.start(file);
+            System.out.println("Flight recording started; it is saved to " + file + " on exit or from the System menu.");
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    private static void stopFlightRecording() {
+        try {
+            Path file = FlightRecording.stop();
+            if (file != null) {
+                System.out.println("Flight recording saved to " + file + " (open it in JDK Mission Control).");
+            }
+        } catch (IOException e) {
+            System.err.println("Could not save flight recording: " + e.getMessage());
+        }
+    }
+
     // --- Robust Input Helper Methods ---
 
     private int getIntInput(String prompt) {
@@ -385,6 +805,22 @@ public class MainMenu {
         }
     }
 
+    private String getBackupNameInput() throws IOException {
+        List<String> backups = backupService.listBackups();
+        if (backups.isEmpty()) {
+            System.out.println("No backups found.");
+            return null;
+        }
+        System.out.println("Available backups:");
+        backups.forEach(b -> System.out.println("  " + b));
+        String name = getStringInput("Enter backup name: ");
+        if (!backups.contains(name)) {
+            System.out.println("Backup '" + name + "' not found.");
+            return null;
+        }
+        return name;
+    }
+
     private Student getStudentFromInput() {
         while (true) {
             String regNo = getStringInput("Enter Student RegNo: ");
@@ -400,6 +836,17 @@ public class MainMenu {
         }
     }
 
+    private long getScheduleInput(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            try {
+                return Timetable.parse(scanner.nextLine());
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
     private Course getCourseFromInput() {
         while (true) {
             String courseCode = getStringInput("Enter Course Code: ");
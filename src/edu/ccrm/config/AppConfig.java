@@ -2,49 +2,236 @@ package edu.ccrm.config;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages application-wide configuration using the Singleton design pattern.
  * This class ensures that there is only one instance of the configuration manager
  * throughout the application, providing a global point of access to configuration properties.
  *
+ * Configuration is layered; later layers override earlier ones:
+ * <ol>
+ *   <li>Built-in defaults.</li>
+ *   <li>A properties file: {@code ccrm.properties} in the working directory, or the file named by
+ *       {@code -Dccrm.config=<path>}.</li>
+ *   <li>System properties prefixed with {@code ccrm.}, e.g. {@code -Dccrm.max.credits.per.semester=21}.</li>
+ * </ol>
+ * The merged result is parsed and validated into an immutable {@link ConfigSnapshot}.
+ * {@link #reload()} builds a new snapshot and swaps it in atomically, then notifies listeners.
+ *
  * DEMONSTRATES:
  * - Singleton Design Pattern: Ensures a single instance of AppConfig.
- * - Loading properties from a file (though simplified here).
+ * - Loading properties from a file.
  * - Centralized configuration management.
+ * - Safe publication of immutable state through a volatile field.
  */
 public class AppConfig {
 
-    // The single, static instance of the AppConfig class.
-    private static final AppConfig INSTANCE = new AppConfig();
+    /**
+     * Receives the old and new snapshot after every successful reload.
+     */
+    @FunctionalInterface
+    public interface ConfigListener {
+        void onConfigChanged(ConfigSnapshot previous, ConfigSnapshot current);
+    }
+
+    static final String SYSTEM_PROPERTY_PREFIX = "ccrm.";
+    static final String CONFIG_FILE_PROPERTY = "ccrm.config";
+    static final String DEFAULT_CONFIG_FILE = "ccrm.properties";
+    private static final long WATCH_SETTLE_MILLIS = 250;
 
-    private final Properties properties;
+    // The single instance, created on first use. Not built in a static initializer, so an
+    // invalid configuration surfaces as a readable IllegalArgumentException instead of an
+    // ExceptionInInitializerError, and a later call can try again once the file is fixed.
+    private static volatile AppConfig instance;
+
+    private final Path configFile;
+    private final List<ConfigListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConfigSnapshot snapshot;
+    private Thread watcher;
 
     /**
      * Private constructor to prevent instantiation from outside the class.
      * This is a key part of the Singleton pattern.
+     *
+     * @throws IllegalArgumentException If the configuration is invalid; the message names the file.
      */
     private AppConfig() {
-        properties = new Properties();
-        // In a real application, you would load this from a .properties file.
-        // For this project, we'll use default hardcoded values.
+        this.configFile = Paths.get(System.getProperty(CONFIG_FILE_PROPERTY, DEFAULT_CONFIG_FILE));
+        try {
+            this.snapshot = ConfigSnapshot.from(loadLayers());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + " (read from " + configFile.toAbsolutePath()
+                    + " and " + SYSTEM_PROPERTY_PREFIX + "* system properties)", e);
+        }
+    }
+
+    private static Properties defaults() {
+        Properties properties = new Properties();
         properties.setProperty("data.folder", "data");
         properties.setProperty("backup.folder", "backups");
         properties.setProperty("students.csv.name", "students.csv");
         properties.setProperty("courses.csv.name", "courses.csv");
+        properties.setProperty("enrollments.csv.name", "enrollments.csv");
         properties.setProperty("max.credits.per.semester", "18");
+        properties.setProperty("backup.retention.keep.last", "10");
+        properties.setProperty("backup.retention.keep.daily", "7");
+        properties.setProperty("backup.retention.keep.weekly", "4");
+        properties.setProperty("backup.retention.interval.minutes", "60");
+        properties.setProperty("backup.size.cache.name", "backup-sizes.cache");
+        properties.setProperty("student.storage", StorageBackend.HEAP.getConfigValue());
+        properties.setProperty("data.lazy.load", "false");
+        properties.setProperty("data.lazy.cache.size", "1000");
+        properties.setProperty("api.host", "127.0.0.1");
+        properties.setProperty("api.port", "8080");
+        properties.setProperty("api.autostart", "false");
+        properties.setProperty("events.buffer.size", "65536");
+        return properties;
+    }
+
+    private Properties loadLayers() {
+        Properties properties = defaults();
+        if (Files.exists(configFile)) {
+            Properties fromFile = new Properties();
+            try (FileReader reader = new FileReader(configFile.toFile())) {
+                fromFile.load(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read configuration file " + configFile + ": " + e.getMessage(), e);
+            }
+            properties.putAll(fromFile);
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(SYSTEM_PROPERTY_PREFIX) && !key.equals(CONFIG_FILE_PROPERTY)) {
+                properties.setProperty(key.substring(SYSTEM_PROPERTY_PREFIX.length()), System.getProperty(key));
+            }
+        }
+        return properties;
     }
 
     /**
-     * Returns the single instance of the AppConfig class.
+     * Returns the single instance of the AppConfig class, loading the configuration on first use.
      *
      * @return The singleton AppConfig instance.
+     * @throws IllegalArgumentException If the configuration is invalid.
      */
     public static AppConfig getInstance() {
-        return INSTANCE;
+        AppConfig config = instance;
+        if (config == null) {
+            synchronized (AppConfig.class) {
+                config = instance;
+                if (config == null) {
+                    config = new AppConfig();
+                    instance = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Returns the current configuration. The snapshot never changes; hold on to it
+     * for the duration of an operation to see one consistent set of values.
+     *
+     * @return The current immutable configuration snapshot.
+     */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Re-reads all layers and atomically replaces the current snapshot.
+     * If the new configuration is invalid the current one stays in effect.
+     * Listeners are only notified when some value actually changed. Changed settings that are
+     * only read at startup (or at the next import or API start) are reported, since they do not
+     * apply yet.
+     *
+     * @return The new snapshot.
+     * @throws IllegalArgumentException If the new configuration is invalid.
+     */
+    public synchronized ConfigSnapshot reload() {
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot current = ConfigSnapshot.from(loadLayers());
+        if (current.equals(previous)) {
+            return previous;
+        }
+        snapshot = current;
+        List<String> deferred = current.deferredChanges(previous);
+        if (!deferred.isEmpty()) {
+            System.err.println("\nConfiguration reloaded, but these changes do not apply yet: " + String.join(", ", deferred) + ".");
+        }
+        for (ConfigListener listener : listeners) {
+            try {
+                listener.onConfigChanged(previous, current);
+            } catch (RuntimeException e) {
+                System.err.println("Configuration listener failed: " + e.getMessage());
+            }
+        }
+        return current;
+    }
+
+    public void addListener(ConfigListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ConfigListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Path getConfigFile() {
+        return configFile;
+    }
+
+    /**
+     * Starts a daemon thread that reloads the configuration whenever the properties file changes.
+     * Invalid edits are reported and ignored, keeping the last good configuration.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        Path dir = configFile.toAbsolutePath().getParent();
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Path fileName = configFile.getFileName();
+        watcher = new Thread(() -> {
+            try (watchService) {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = key.pollEvents().stream().anyMatch(e -> fileName.equals(e.context()));
+                    key.reset();
+                    if (changed) {
+                        // Editors often truncate and then write; let the file settle before reading it.
+                        Thread.sleep(WATCH_SETTLE_MILLIS);
+                        WatchKey more;
+                        while ((more = watchService.poll()) != null) {
+                            more.pollEvents();
+                            more.reset();
+                        }
+                        try {
+                            reload();
+                        } catch (IllegalArgumentException e) {
+                            System.err.println("\nIgnoring configuration change: " + e.getMessage());
+                        }
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                System.err.println("Configuration watcher stopped: " + e.getMessage());
+            }
+        }, "ccrm-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
     }
 
     /**
@@ -54,18 +241,20 @@ public class AppConfig {
      * @return The value of the property as a String.
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.getProperty(key);
     }
 
     /**
      * A convenient method to get a property as an integer.
+     * Known settings are better read through the typed accessors of {@link #snapshot()},
+     * which are parsed once instead of on every call.
      *
      * @param key The key of the property.
      * @return The integer value, or a default value (0) if parsing fails.
      */
     public int getIntProperty(String key) {
         try {
-            return Integer.parseInt(properties.getProperty(key));
+            return Integer.parseInt(getProperty(key));
         } catch (NumberFormatException e) {
             System.err.println("Warning: Could not parse integer for property '" + key + "'.");
             return 0; // Default value
@@ -78,7 +267,7 @@ public class AppConfig {
      * @return The Path object for the data directory.
      */
     public Path getDataPath() {
-        return Paths.get(getProperty("data.folder"));
+        return snapshot.dataPath();
     }
 
     /**
@@ -87,6 +276,6 @@ public class AppConfig {
      * @return The Path object for the backup directory.
      */
     public Path getBackupPath() {
-        return Paths.get(getProperty("backup.folder"));
+        return snapshot.backupPath();
     }
 }
@@ -0,0 +1,172 @@
+package edu.ccrm.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * An immutable, fully parsed and validated view of the application configuration.
+ * Every value is converted to its proper type once, when the snapshot is built, so reading
+ * a setting on a hot path is a plain field access with no parsing and no map lookup.
+ *
+ * DEMONSTRATES:
+ * - Records as immutable value objects.
+ * - Static factory method with validation.
+ */
+public record ConfigSnapshot(
+        Path dataPath,
+        Path backupPath,
+        String studentsCsvName,
+        String coursesCsvName,
+        String enrollmentsCsvName,
+        int maxCreditsPerSemester,
+        int retentionKeepLast,
+        int retentionKeepDaily,
+        int retentionKeepWeekly,
+        int retentionIntervalMinutes,
+        String backupSizeCacheName,
+        StorageBackend studentStorage,
+        boolean lazyLoad,
+        int lazyCacheSize,
+        String apiHost,
+        int apiPort,
+        boolean apiAutostart,
+        int eventBufferSize,
+        Map<String, String> rawProperties) {
+
+    private static final int MAX_PORT = 65535;
+
+    /**
+     * A setting that is only read at one particular moment, so a reload does not change it right away.
+     */
+    private record DeferredSetting(String key, Function<ConfigSnapshot, Object> value, String appliesWhen) {
+    }
+
+    private static final String AFTER_RESTART = "after a restart";
+    private static final List<DeferredSetting> DEFERRED_SETTINGS = List.of(
+            new DeferredSetting("student.storage", ConfigSnapshot::studentStorage, AFTER_RESTART),
+            new DeferredSetting("events.buffer.size", ConfigSnapshot::eventBufferSize, AFTER_RESTART),
+            new DeferredSetting("data.lazy.load", ConfigSnapshot::lazyLoad, "at the next import"),
+            new DeferredSetting("data.lazy.cache.size", ConfigSnapshot::lazyCacheSize, "at the next import"),
+            new DeferredSetting("api.host", ConfigSnapshot::apiHost, "the next time the API server starts"),
+            new DeferredSetting("api.port", ConfigSnapshot::apiPort, "the next time the API server starts"));
+
+    /**
+     * Parses and validates the merged properties.
+     *
+     * @param props The merged configuration layers.
+     * @return The typed snapshot.
+     * @throws IllegalArgumentException If any value is missing or invalid; the message lists every problem.
+     */
+    public static ConfigSnapshot from(Properties props) {
+        List<String> problems = new ArrayList<>();
+        ConfigSnapshot snapshot = new ConfigSnapshot(
+                Paths.get(requireText(props, "data.folder", problems)),
+                Paths.get(requireText(props, "backup.folder", problems)),
+                requireText(props, "students.csv.name", problems),
+                requireText(props, "courses.csv.name", problems),
+                requireText(props, "enrollments.csv.name", problems),
+                requireInt(props, "max.credits.per.semester", 1, problems),
+                requireInt(props, "backup.retention.keep.last", 1, problems),
+                requireInt(props, "backup.retention.keep.daily", 0, problems),
+                requireInt(props, "backup.retention.keep.weekly", 0, problems),
+                requireInt(props, "backup.retention.interval.minutes", 1, problems),
+                requireText(props, "backup.size.cache.name", problems),
+                requireBackend(props, "student.storage", problems),
+                requireBoolean(props, "data.lazy.load", problems),
+                requireInt(props, "data.lazy.cache.size", 1, problems),
+                requireText(props, "api.host", problems),
+                requireInt(props, "api.port", 0, MAX_PORT, problems),
+                requireBoolean(props, "api.autostart", problems),
+                requireInt(props, "events.buffer.size", 2, problems),
+                copyOf(props));
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid configuration: " + String.join("; ", problems));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the raw string value of a property, as merged from all layers.
+     */
+    public String getProperty(String key) {
+        return rawProperties.get(key);
+    }
+
+    /**
+     * Lists the settings that differ from {@code previous} but are only read at startup or at a
+     * later event, each with when it takes effect, e.g. {@code "student.storage (after a restart)"}.
+     */
+    public List<String> deferredChanges(ConfigSnapshot previous) {
+        List<String> changes = new ArrayList<>();
+        for (DeferredSetting setting : DEFERRED_SETTINGS) {
+            if (!setting.value().apply(this).equals(setting.value().apply(previous))) {
+                changes.add(setting.key() + " (" + setting.appliesWhen() + ")");
+            }
+        }
+        return changes;
+    }
+
+    private static String requireText(Properties props, String key, List<String> problems) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            problems.add("'" + key + "' must not be empty");
+            return ".";
+        }
+        return value.trim();
+    }
+
+    private static int requireInt(Properties props, String key, int min, List<String> problems) {
+        return requireInt(props, key, min, Integer.MAX_VALUE, problems);
+    }
+
+    private static int requireInt(Properties props, String key, int min, int max, List<String> problems) {
+        String value = props.getProperty(key);
+        try {
+            int parsed = Integer.parseInt(value == null ? "" : value.trim());
+            if (parsed < min) {
+                problems.add("'" + key + "' must be at least " + min + " but was " + parsed);
+            } else if (parsed > max) {
+                problems.add("'" + key + "' must be at most " + max + " but was " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            problems.add("'" + key + "' must be a whole number but was '" + value + "'");
+            return min;
+        }
+    }
+
+    private static boolean requireBoolean(Properties props, String key, List<String> problems) {
+        String value = requireText(props, key, problems);
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (!value.equalsIgnoreCase("false")) {
+            problems.add("'" + key + "' must be true or false but was '" + value + "'");
+        }
+        return false;
+    }
+
+    private static StorageBackend requireBackend(Properties props, String key, List<String> problems) {
+        String value = requireText(props, key, problems);
+        try {
+            return StorageBackend.fromConfigValue(value);
+        } catch (IllegalArgumentException e) {
+            problems.add("'" + key + "': " + e.getMessage());
+            return StorageBackend.HEAP;
+        }
+    }
+
+    private static Map<String, String> copyOf(Properties props) {
+        Map<String, String> copy = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            copy.put(key, props.getProperty(key));
+        }
+        return Map.copyOf(copy);
+    }
+}
@@ -0,0 +1,37 @@
+package edu.ccrm.config;
+
+import java.util.Locale;
+
+/**
+ * Where {@code StudentService} keeps its records, selected by the {@code student.storage} setting.
+ */
+public enum StorageBackend {
+    /** Plain Java objects in an on-heap list (the default). */
+    HEAP("heap"),
+    /** Fixed-layout records in off-heap memory, materialized into objects on access. */
+    OFF_HEAP("offheap");
+
+    private final String configValue;
+
+    StorageBackend(String configValue) {
+        this.configValue = configValue;
+    }
+
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    /**
+     * Parses a setting value such as {@code "offheap"}.
+     *
+     * @throws IllegalArgumentException If the value names no backend.
+     */
+    public static StorageBackend fromConfigValue(String value) {
+        for (StorageBackend backend : values()) {
+            if (backend.configValue.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage backend '" + value + "'");
+    }
+}
@@ -1,25 +1,52 @@
 package edu.ccrm.domain;
 
+import edu.ccrm.event.DomainEvent.CourseActiveChanged;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.util.StringDictionary;
+
 public class Course {
 
+    // Instructor and department names repeat across many courses, so each course only
+    // stores a small int code into these shared dictionaries.
+    private static final StringDictionary INSTRUCTORS = new StringDictionary();
+    private static final StringDictionary DEPARTMENTS = new StringDictionary();
+
     private final CourseCode courseCode;
     private final String title;
     private final int credits;
-    private final String instructor;
+    private final int instructorId;
     private final Semester semester;
-    private final String department;
-    private boolean active;
+    private final int departmentId;
+    private final long schedule;
+    private volatile boolean active;
 
     private Course(Builder builder) {
         this.courseCode = builder.courseCode;
         this.title = builder.title;
         this.credits = builder.credits;
-        this.instructor = builder.instructor;
+        this.instructorId = INSTRUCTORS.encode(builder.instructor);
         this.semester = builder.semester;
-        this.department = builder.department;
+        this.departmentId = DEPARTMENTS.encode(builder.department);
+        this.schedule = builder.schedule;
         this.active = true;
     }
 
+    /**
+     * Returns the code used for an instructor name (case-insensitive), or
+     * {@link StringDictionary#NONE} if no course has that instructor.
+     */
+    public static int instructorIdOf(String instructor) {
+        return INSTRUCTORS.lookup(instructor);
+    }
+
+    /**
+     * Returns the code used for a department name (case-insensitive), or
+     * {@link StringDictionary#NONE} if no course is in that department.
+     */
+    public static int departmentIdOf(String department) {
+        return DEPARTMENTS.lookup(department);
+    }
+
     public static class Builder {
         private CourseCode courseCode;
         private String title;
@@ -27,9 +54,10 @@ public class Course {
         private String instructor;
         private Semester semester;
         private String department;
+        private long schedule = Timetable.NONE;
 
         public Builder(String code, String title) {
-            this.courseCode = new CourseCode(code);
+            this.courseCode = CourseCode.of(code);
             this.title = title;
         }
 
@@ -53,6 +81,14 @@ public class Course {
             return this;
         }
 
+        /**
+         * Sets the weekly meeting times, a bitmap from {@link Timetable}.
+         */
+        public Builder schedule(long schedule) {
+            this.schedule = schedule;
+            return this;
+        }
+
         public Course build() {
             return new Course(this);
         }
@@ -71,7 +107,15 @@ public class Course {
     }
 
     public String getInstructor() {
-        return instructor;
+        return INSTRUCTORS.decode(instructorId);
+    }
+
+    /**
+     * Returns the instructor's match code: courses whose instructor names differ only in case
+     * share it. {@link #getInstructor()} still returns this course's own spelling.
+     */
+    public int getInstructorId() {
+        return INSTRUCTORS.matchCode(instructorId);
     }
 
     public Semester getSemester() {
@@ -79,7 +123,22 @@ public class Course {
     }
 
     public String getDepartment() {
-        return department;
+        return DEPARTMENTS.decode(departmentId);
+    }
+
+    /**
+     * Returns the department's match code: courses whose department names differ only in case
+     * share it. {@link #getDepartment()} still returns this course's own spelling.
+     */
+    public int getDepartmentId() {
+        return DEPARTMENTS.matchCode(departmentId);
+    }
+
+    /**
+     * Returns the weekly meeting times as a {@link Timetable} bitmap, or {@link Timetable#NONE}.
+     */
+    public long getSchedule() {
+        return schedule;
     }
 
     public boolean isActive() {
@@ -88,11 +147,12 @@ public class Course {
 
     public void setActive(boolean active) {
         this.active = active;
+        DomainEventBus.emit(new CourseActiveChanged(courseCode, active));
     }
 
     @Override
     public String toString() {
-        return String.format("%-10s | %-30s | %-2d | %-20s | %-10s | %-20s",
-                courseCode, title, credits, instructor, semester, department);
+        return String.format("%-10s | %-30s | %-2d | %-20s | %-10s | %-20s | %s",
+                courseCode, title, credits, getInstructor(), semester, getDepartment(), Timetable.format(schedule));
     }
 }
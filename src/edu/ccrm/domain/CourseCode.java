@@ -1,25 +1,119 @@
+package edu.ccrm.domain;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * An immutable, canonical course code.
+ * Instances are only created through {@link #of(String)}, which normalizes the code
+ * (trimmed, upper case) and returns the one shared instance for it (Flyweight pattern).
+ * Because there is exactly one object per code, equality is a reference comparison, the
+ * hash code is computed once, and every code gets a small dense {@link #ordinal()} that
+ * can index arrays and bitsets.
+ */
+public final class CourseCode {
 
+    // Keys are both the normalized code and any raw spelling seen through of(), so
+    // repeated lookups of the same input skip normalization.
+    private static final ConcurrentMap<String, CourseCode> POOL = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+    private static volatile CourseCode[] ordinalTable = new CourseCode[64];
 
+    private final String code;
+    private final int hash;
+    private final int ordinal;
 
+    private CourseCode(String code, int ordinal) {
+        this.code = code;
+        this.hash = code.hashCode();
+        this.ordinal = ordinal;
+    }
 
-package edu.ccrm.domain;
+    /**
+     * Returns the canonical instance for a course code, creating it on first use.
+     *
+     * @param code The code in any case, e.g. {@code "cs101"} or {@code " CS101 "}.
+     * @return The shared instance for the normalized code.
+     */
+    public static CourseCode of(String code) {
+        if (code == null) {
+            throw new IllegalArgumentException("Course code cannot be null or empty.");
+        }
+        CourseCode cached = POOL.get(code);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = normalize(code);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Course code cannot be null or empty.");
+        }
+        CourseCode canonical = POOL.computeIfAbsent(normalized, CourseCode::create);
+        POOL.putIfAbsent(code, canonical);
+        return canonical;
+    }
 
-public final class CourseCode {
-    private final String code;
+    private static synchronized CourseCode create(String normalized) {
+        CourseCode created = new CourseCode(normalized, NEXT_ORDINAL.get());
+        CourseCode[] table = ordinalTable;
+        if (created.ordinal == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        table[created.ordinal] = created;
+        ordinalTable = table;
+        NEXT_ORDINAL.incrementAndGet(); // count() only covers codes already in the table
+        return created;
+    }
 
-    public CourseCode(String code) {
-        if (code == null || code.trim().isEmpty()) {
-            throw new IllegalArgumentException("Course code cannot be null or empty.");
+    /**
+     * Returns the course code with the given ordinal.
+     *
+     * @throws IndexOutOfBoundsException If no code has that ordinal.
+     */
+    public static CourseCode byOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= NEXT_ORDINAL.get()) {
+            throw new IndexOutOfBoundsException("No course code with ordinal " + ordinal);
         }
-        this.code = code;
+        return ordinalTable[ordinal];
+    }
+
+    /**
+     * Finds the canonical instance for a code without creating one.
+     * Use this for user input that may not name an existing course.
+     */
+    public static Optional<CourseCode> lookup(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        CourseCode cached = POOL.get(code);
+        return cached != null ? Optional.of(cached) : Optional.ofNullable(POOL.get(normalize(code)));
+    }
+
+    /**
+     * Returns how many distinct course codes exist, i.e. one more than the highest ordinal.
+     */
+    public static int count() {
+        return NEXT_ORDINAL.get();
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
     }
 
     public String getCode() {
         return code;
     }
 
+    /**
+     * A dense, stable index for this code, assigned in creation order starting at 0.
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
     @Override
     public String toString() {
         return code;
@@ -27,14 +121,12 @@ public final class CourseCode {
 
     @Override
     public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        CourseCode that = (CourseCode) obj;
-        return code.equals(that.code);
+        // Canonical instances: two equal codes are always the same object.
+        return this == obj;
     }
 
     @Override
     public int hashCode() {
-        return code.hashCode();
+        return hash;
     }
 }
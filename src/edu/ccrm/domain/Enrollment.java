@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
 public class Enrollment {
     private final String studentRegNo;
     private final CourseCode courseCode;
-    private Grade grade;
+    private volatile Grade grade;
     private final LocalDateTime enrollmentDate;
 
     public Enrollment(String studentRegNo, CourseCode courseCode) {
@@ -24,6 +24,21 @@ public class Enrollment {
         this.grade = null;
     }
 
+    /**
+     * For subclasses that read their state from elsewhere (see {@code EnrollmentColumns}).
+     * Such subclasses must override every getter and {@link #setGrade(Grade)}.
+     */
+    protected Enrollment() {
+        this(null, null, null, null);
+    }
+
+    public Enrollment(String studentRegNo, CourseCode courseCode, Grade grade, LocalDateTime enrollmentDate) {
+        this.studentRegNo = studentRegNo;
+        this.courseCode = courseCode;
+        this.enrollmentDate = enrollmentDate;
+        this.grade = grade;
+    }
+
     public String getStudentRegNo() {
         return studentRegNo;
     }
@@ -46,7 +61,8 @@ public class Enrollment {
 
     @Override
     public String toString() {
+        Grade grade = getGrade();
         return String.format("Course: %s, Enrolled: %s, Grade: %s",
-                courseCode, enrollmentDate.toLocalDate(), grade != null ? grade : "Not Graded");
+                getCourseCode(), getEnrollmentDate().toLocalDate(), grade != null ? grade : "Not Graded");
     }
 }
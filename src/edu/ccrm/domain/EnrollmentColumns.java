@@ -0,0 +1,156 @@
+package edu.ccrm.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * One student's enrollments, kept in primitive columns instead of one object per enrollment
+ * (plus its {@code LocalDateTime}, {@code LocalDate}, {@code LocalTime} and list slot).
+ * Each enrollment is a row spread over four arrays:
+ * <pre>
+ *   int  courseOrdinal   {@link CourseCode#ordinal()}
+ *   byte grade           {@link Grade#ordinal()}, or -1 if not graded
+ *   long enrolledAt      epoch second (UTC)
+ *   int  nanos           nano-of-second, so dates read back exactly as they were added
+ * </pre>
+ * That is 17 bytes per enrollment instead of well over 100 for the object model. The registration
+ * number is the owning student's, so it is not stored at all.
+ *
+ * Existing code keeps working with {@link Enrollment}: {@link #views(String)} returns lightweight
+ * views that read (and, for grades, write) straight through to the columns. Views are only
+ * created when asked for, so nothing per enrollment stays on the heap. Scans that only need the
+ * course and grade use {@link #forEach(BiConsumer)}, which creates no objects at all.
+ *
+ * Rows are only ever appended; all access is synchronized on this object.
+ *
+ * DEMONSTRATES:
+ * - Structure-of-arrays layout with primitive arrays.
+ * - Flyweight pattern (views instead of per-row objects).
+ */
+public final class EnrollmentColumns {
+
+    private static final byte NO_GRADE = -1;
+    private static final Grade[] GRADES = Grade.values();
+    private static final int FIRST_CAPACITY = 4;
+
+    private int size;
+    private int[] courseOrdinals = new int[0];
+    private byte[] grades = new byte[0];
+    private long[] enrolledAt = new long[0];
+    private int[] nanos = new int[0];
+
+    /**
+     * Appends a copy of an enrollment's values.
+     */
+    public void add(Enrollment enrollment) {
+        add(enrollment.getCourseCode(), enrollment.getGrade(), enrollment.getEnrollmentDate());
+    }
+
+    /**
+     * Appends an enrollment.
+     *
+     * @param grade The grade, or null if not graded.
+     */
+    public synchronized void add(CourseCode courseCode, Grade grade, LocalDateTime date) {
+        if (size == courseOrdinals.length) {
+            int capacity = Math.max(FIRST_CAPACITY, size * 2);
+            courseOrdinals = Arrays.copyOf(courseOrdinals, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+            enrolledAt = Arrays.copyOf(enrolledAt, capacity);
+            nanos = Arrays.copyOf(nanos, capacity);
+        }
+        courseOrdinals[size] = courseCode.ordinal();
+        grades[size] = grade == null ? NO_GRADE : (byte) grade.ordinal();
+        enrolledAt[size] = date.toEpochSecond(ZoneOffset.UTC);
+        nanos[size] = date.getNano();
+        size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Calls the action with the course and grade (null if not graded) of every row, in the order
+     * they were added, without creating any objects. The action runs while this object is locked,
+     * so it must not wait for another thread that uses the same student's enrollments.
+     */
+    public synchronized void forEach(BiConsumer<CourseCode, Grade> action) {
+        for (int row = 0; row < size; row++) {
+            byte grade = grades[row];
+            action.accept(CourseCode.byOrdinal(courseOrdinals[row]), grade == NO_GRADE ? null : GRADES[grade]);
+        }
+    }
+
+    /**
+     * Returns the enrollments as views over the columns, in the order they were added.
+     *
+     * @param regNo The owning student's registration number, reported by the views.
+     */
+    public synchronized List<Enrollment> views(String regNo) {
+        List<Enrollment> views = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            views.add(new RowView(regNo, row));
+        }
+        return views;
+    }
+
+    private synchronized CourseCode courseCode(int row) {
+        return CourseCode.byOrdinal(courseOrdinals[row]);
+    }
+
+    private synchronized Grade grade(int row) {
+        byte grade = grades[row];
+        return grade == NO_GRADE ? null : GRADES[grade];
+    }
+
+    private synchronized void setGrade(int row, Grade grade) {
+        grades[row] = grade == null ? NO_GRADE : (byte) grade.ordinal();
+    }
+
+    private synchronized LocalDateTime enrollmentDate(int row) {
+        return LocalDateTime.ofEpochSecond(enrolledAt[row], nanos[row], ZoneOffset.UTC);
+    }
+
+    /**
+     * A flyweight {@link Enrollment} backed by one row.
+     */
+    private final class RowView extends Enrollment {
+        private final String regNo;
+        private final int row;
+
+        RowView(String regNo, int row) {
+            this.regNo = regNo;
+            this.row = row;
+        }
+
+        @Override
+        public String getStudentRegNo() {
+            return regNo;
+        }
+
+        @Override
+        public CourseCode getCourseCode() {
+            return courseCode(row);
+        }
+
+        @Override
+        public Grade getGrade() {
+            return grade(row);
+        }
+
+        @Override
+        public void setGrade(Grade grade) {
+            EnrollmentColumns.this.setGrade(row, grade);
+        }
+
+        @Override
+        public LocalDateTime getEnrollmentDate() {
+            return enrollmentDate(row);
+        }
+    }
+}
@@ -1,26 +1,20 @@
-
-
-
-
-
-
-
-
-
 package edu.ccrm.domain;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class Instructor extends Person {
 
     private String department;
-    private final List<CourseCode> coursesTaught;
+    // A hash set keeps adding a course constant-time however many an instructor teaches.
+    private final Set<CourseCode> coursesTaught;
 
     public Instructor(String fullName, String email, String department) {
         super(fullName, email);
         this.department = department;
-        this.coursesTaught = new ArrayList<>();
+        this.coursesTaught = new LinkedHashSet<>();
     }
 
     @Override
@@ -29,9 +23,29 @@ public class Instructor extends Person {
                 id, fullName, department);
     }
 
-    public void addCourse(CourseCode courseCode) {
-        if (!coursesTaught.contains(courseCode)) {
-            coursesTaught.add(courseCode);
+    /**
+     * Adds a course to the ones this instructor teaches.
+     *
+     * @return false if it was already listed.
+     */
+    public boolean addCourse(CourseCode courseCode) {
+        synchronized (coursesTaught) {
+            return coursesTaught.add(courseCode);
+        }
+    }
+
+    /**
+     * @return false if the instructor did not teach the course.
+     */
+    public boolean removeCourse(CourseCode courseCode) {
+        synchronized (coursesTaught) {
+            return coursesTaught.remove(courseCode);
+        }
+    }
+
+    public boolean teaches(CourseCode courseCode) {
+        synchronized (coursesTaught) {
+            return coursesTaught.contains(courseCode);
         }
     }
 
@@ -43,7 +57,12 @@ public class Instructor extends Person {
         this.department = department;
     }
 
+    /**
+     * Returns the courses taught, in the order they were added.
+     */
     public List<CourseCode> getCoursesTaught() {
-        return new ArrayList<>(coursesTaught);
+        synchronized (coursesTaught) {
+            return new ArrayList<>(coursesTaught);
+        }
     }
 }
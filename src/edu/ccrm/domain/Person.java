@@ -13,25 +13,53 @@
 
 package edu.ccrm.domain;
 
+import edu.ccrm.event.DomainEvent.PersonUpdated;
+import edu.ccrm.event.DomainEvent.PersonUpdated.Attribute;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.util.IdAllocator;
+
 import java.time.LocalDateTime;
 
 public abstract class Person {
-    private static long idCounter = 1;
+    // Blocks of IDs per thread keep parallel imports from contending on one counter.
+    private static final IdAllocator ID_ALLOCATOR = new IdAllocator(1, 256);
 
     protected long id;
-    protected String fullName;
-    protected String email;
+    // Volatile so changes made by one request thread are seen by others.
+    protected volatile String fullName;
+    protected volatile String email;
     protected LocalDateTime dateCreated;
-    protected LocalDateTime dateModified;
+    protected volatile LocalDateTime dateModified;
 
     public Person(String fullName, String email) {
-        this.id = idCounter++;
+        this.id = ID_ALLOCATOR.nextId();
         this.fullName = fullName;
         this.email = email;
         this.dateCreated = LocalDateTime.now();
         this.dateModified = LocalDateTime.now();
     }
 
+    /**
+     * Re-creates a person from stored state, keeping its original ID and timestamps.
+     */
+    protected Person(long id, String fullName, String email, LocalDateTime dateCreated, LocalDateTime dateModified) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.dateCreated = dateCreated;
+        this.dateModified = dateModified;
+    }
+
+    /**
+     * Reserves a range of consecutive IDs for people that will be created later
+     * with the re-creating constructor.
+     *
+     * @return The first ID of the range.
+     */
+    public static long reserveIds(int count) {
+        return ID_ALLOCATOR.reserveRange(count);
+    }
+
     public abstract String getDetails();
 
     public long getId() {
@@ -43,8 +71,10 @@ public abstract class Person {
     }
 
     public void setFullName(String fullName) {
+        String old = this.fullName;
         this.fullName = fullName;
         this.dateModified = LocalDateTime.now();
+        DomainEventBus.emit(new PersonUpdated(id, eventKey(), Attribute.FULL_NAME, old, fullName));
     }
 
     public String getEmail() {
@@ -52,8 +82,17 @@ public abstract class Person {
     }
 
     public void setEmail(String email) {
+        String old = this.email;
         this.email = email;
         this.dateModified = LocalDateTime.now();
+        DomainEventBus.emit(new PersonUpdated(id, eventKey(), Attribute.EMAIL, old, email));
+    }
+
+    /**
+     * The key that identifies this person in change events; subclasses with a natural key override it.
+     */
+    protected String eventKey() {
+        return Long.toString(id);
     }
 
     public LocalDateTime getDateCreated() {
@@ -13,9 +13,14 @@
 
 package edu.ccrm.domain;
 
-import java.util.ArrayList;
+import edu.ccrm.event.DomainEvent.EnrollmentAdded;
+import edu.ccrm.event.DomainEvent.StudentStatusChanged;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.util.IdAllocator;
+
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 public class Student extends Person {
 
@@ -26,13 +31,40 @@ public class Student extends Person {
     }
 
     private final String regNo;
-    private StudentStatus status;
-    private final List<Enrollment> enrolledCourses;
+    private volatile StudentStatus status;
+    // Primitive columns rather than one Enrollment object per course (see EnrollmentColumns).
+    private final EnrollmentColumns enrolledCourses = new EnrollmentColumns();
 
     private static class RegistrationNumberGenerator {
-        private static final AtomicInteger counter = new AtomicInteger(1);
+        private static final String PREFIX = "STU";
+        private static final String PADDING = "000";
+        // Block size 1 keeps registration numbers gap-free and in creation order.
+        private static final IdAllocator allocator = new IdAllocator(1, 1);
+
         public static String generate() {
-            return "STU" + String.format("%03d", counter.getAndIncrement());
+            return format(allocator.nextId());
+        }
+
+        static String format(long number) {
+            String digits = Long.toString(number);
+            return digits.length() >= PADDING.length()
+                    ? PREFIX + digits
+                    : PREFIX + PADDING.substring(digits.length()) + digits;
+        }
+
+        static void reserve(String regNo) {
+            if (regNo == null || regNo.length() <= PREFIX.length() || !regNo.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+                return;
+            }
+            long number = 0;
+            for (int i = PREFIX.length(); i < regNo.length(); i++) {
+                char c = regNo.charAt(i);
+                if (c < '0' || c > '9' || number > Long.MAX_VALUE / 10 - 1) {
+                    return; // Not a generated number; it cannot collide.
+                }
+                number = number * 10 + (c - '0');
+            }
+            allocator.advancePast(number);
         }
     }
 
@@ -40,14 +72,38 @@ public class Student extends Person {
         super(fullName, email);
         this.regNo = RegistrationNumberGenerator.generate();
         this.status = StudentStatus.ACTIVE;
-        this.enrolledCourses = new ArrayList<>();
     }
 
+    /**
+     * Re-creates a student with a known registration number, e.g. when loading from CSV.
+     * Generated numbers continue after the highest one seen, so new students never collide
+     * with loaded ones.
+     */
     public Student(String regNo, String fullName, String email, StudentStatus status) {
         super(fullName, email);
+        RegistrationNumberGenerator.reserve(regNo);
         this.regNo = regNo;
         this.status = status;
-        this.enrolledCourses = new ArrayList<>();
+    }
+
+    /**
+     * Re-creates a stored student exactly, including its ID and timestamps,
+     * e.g. when a storage backend materializes a record.
+     */
+    public Student(long id, String regNo, String fullName, String email, StudentStatus status,
+                   LocalDateTime dateCreated, LocalDateTime dateModified) {
+        super(id, fullName, email, dateCreated, dateModified);
+        RegistrationNumberGenerator.reserve(regNo);
+        this.regNo = regNo;
+        this.status = status;
+    }
+
+    /**
+     * Marks a registration number as taken without creating a student, so generated numbers
+     * skip it. Used when records are indexed before they are loaded.
+     */
+    public static void reserveRegNo(String regNo) {
+        RegistrationNumberGenerator.reserve(regNo);
     }
 
     @Override
@@ -57,7 +113,21 @@ public class Student extends Person {
     }
 
     public void addEnrollment(Enrollment enrollment) {
-        this.enrolledCourses.add(enrollment);
+        loadEnrollment(enrollment);
+        DomainEventBus.emit(new EnrollmentAdded(regNo, enrollment.getCourseCode(), enrollment.getEnrollmentDate()));
+    }
+
+    /**
+     * Attaches an existing enrollment without announcing it as a change,
+     * e.g. when a student is rebuilt from storage or a backup.
+     */
+    public void loadEnrollment(Enrollment enrollment) {
+        enrolledCourses.add(enrollment);
+    }
+
+    @Override
+    protected String eventKey() {
+        return regNo;
     }
 
     public String getRegNo() {
@@ -69,11 +139,33 @@ public class Student extends Person {
     }
 
     public void setStatus(StudentStatus status) {
+        StudentStatus old = this.status;
         this.status = status;
-        this.dateModified = java.time.LocalDateTime.now();
+        this.dateModified = LocalDateTime.now();
+        DomainEventBus.emit(new StudentStatusChanged(regNo, old, status));
     }
 
+    /**
+     * Returns the student's enrollments, oldest first. Each is a lightweight view over the
+     * student's enrollment columns: it reads the current values, and {@link Enrollment#setGrade(Grade)}
+     * changes the student's grade (save it with {@code StudentService.updateStudent}).
+     */
     public List<Enrollment> getEnrolledCourses() {
-        return new ArrayList<>(enrolledCourses);
+        return enrolledCourses.views(regNo);
+    }
+
+    /**
+     * Calls the action with the course and grade (null if not graded) of every enrollment, oldest
+     * first, without creating any objects. Cheaper than {@link #getEnrolledCourses()} for scans.
+     */
+    public void forEachEnrollment(BiConsumer<CourseCode, Grade> action) {
+        enrolledCourses.forEach(action);
+    }
+
+    /**
+     * Returns the number of enrollments without creating any views.
+     */
+    public int getEnrollmentCount() {
+        return enrolledCourses.size();
     }
 }
@@ -0,0 +1,112 @@
+package edu.ccrm.domain;
+
+import java.util.Locale;
+
+/**
+ * Weekly meeting times encoded as a bitmap in a single {@code long}: one bit per one-hour slot,
+ * Monday to Friday, 08:00 to 20:00 (60 slots). Two schedules clash exactly when their bitmaps
+ * share a bit, so a conflict check is one AND, and a student's occupied time in a semester is
+ * the OR of their courses' bitmaps.
+ *
+ * The text form lists meetings separated by semicolons, each a weekday and a range of whole
+ * hours, e.g. {@code MON 09-11;WED 09-10} (Monday 9 to 11 and Wednesday 9 to 10).
+ *
+ * DEMONSTRATES:
+ * - Bitmaps as compact sets with constant-time intersection.
+ */
+public final class Timetable {
+
+    /** The empty schedule: no meeting times. */
+    public static final long NONE = 0L;
+
+    public static final int FIRST_HOUR = 8;
+    public static final int LAST_HOUR = 20;
+
+    private static final int SLOTS_PER_DAY = LAST_HOUR - FIRST_HOUR;
+    private static final String[] DAYS = {"MON", "TUE", "WED", "THU", "FRI"};
+
+    private Timetable() {
+    }
+
+    /**
+     * Returns the slots from {@code fromHour} up to (not including) {@code toHour} on one day.
+     *
+     * @param day 0 for Monday to 4 for Friday.
+     */
+    public static long slots(int day, int fromHour, int toHour) {
+        if (day < 0 || day >= DAYS.length) {
+            throw new IllegalArgumentException("Day must be between Monday and Friday.");
+        }
+        if (fromHour < FIRST_HOUR || toHour > LAST_HOUR || fromHour >= toHour) {
+            throw new IllegalArgumentException("Meeting hours must lie between " + FIRST_HOUR + " and " + LAST_HOUR
+                    + " and end after they start: " + fromHour + "-" + toHour);
+        }
+        long hours = (1L << (toHour - fromHour)) - 1;
+        return hours << (day * SLOTS_PER_DAY + fromHour - FIRST_HOUR);
+    }
+
+    /**
+     * Parses the text form, e.g. {@code MON 09-11;WED 09-10}. Blank text means {@link #NONE}.
+     *
+     * @throws IllegalArgumentException If a meeting is not a weekday followed by an hour range.
+     */
+    public static long parse(String text) {
+        long schedule = NONE;
+        if (text == null || text.isBlank()) {
+            return schedule;
+        }
+        for (String meeting : text.split(";")) {
+            String[] parts = meeting.trim().split("\\s+");
+            int dash = parts.length == 2 ? parts[1].indexOf('-') : -1;
+            if (dash < 0) {
+                throw new IllegalArgumentException("Invalid meeting time '" + meeting.trim() + "'. Use e.g. MON 09-11.");
+            }
+            int day = dayIndex(parts[0]);
+            try {
+                schedule |= slots(day, Integer.parseInt(parts[1].substring(0, dash)),
+                        Integer.parseInt(parts[1].substring(dash + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid meeting time '" + meeting.trim() + "'. Use e.g. MON 09-11.");
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Formats a schedule in the text form accepted by {@link #parse(String)}, merging adjacent hours.
+     * Returns an empty string for {@link #NONE}.
+     */
+    public static String format(long schedule) {
+        StringBuilder text = new StringBuilder();
+        for (int day = 0; day < DAYS.length; day++) {
+            int hours = (int) ((schedule >>> (day * SLOTS_PER_DAY)) & ((1L << SLOTS_PER_DAY) - 1));
+            while (hours != 0) {
+                int from = Integer.numberOfTrailingZeros(hours);
+                int to = Integer.numberOfTrailingZeros(~(hours >>> from)) + from;
+                if (text.length() > 0) {
+                    text.append(';');
+                }
+                text.append(String.format("%s %02d-%02d", DAYS[day], FIRST_HOUR + from, FIRST_HOUR + to));
+                hours &= -1 << to;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns true if the two schedules share any slot.
+     */
+    public static boolean overlaps(long a, long b) {
+        return (a & b) != 0;
+    }
+
+    private static int dayIndex(String day) {
+        String upper = day.toUpperCase(Locale.ROOT);
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equals(upper)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown weekday '" + day + "'. Use MON, TUE, WED, THU or FRI.");
+    }
+}
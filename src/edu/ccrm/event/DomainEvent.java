@@ -0,0 +1,64 @@
+package edu.ccrm.event;
+
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student.StudentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to the domain model, published to the {@link DomainEventBus}.
+ * Events are immutable values; consumers must not assume they can look up the changed object
+ * in the same state, because it may have changed again in the meantime.
+ *
+ * DEMONSTRATES:
+ * - Sealed interfaces with records for a closed set of event types.
+ */
+public sealed interface DomainEvent {
+
+    record StudentAdded(String regNo, String fullName, String email) implements DomainEvent {
+    }
+
+    /**
+     * A name or email change.
+     *
+     * @param key The registration number for students, otherwise the person's ID.
+     */
+    record PersonUpdated(long personId, String key, Attribute attribute, String oldValue, String newValue)
+            implements DomainEvent {
+
+        public enum Attribute {
+            FULL_NAME,
+            EMAIL
+        }
+    }
+
+    record StudentStatusChanged(String regNo, StudentStatus oldStatus, StudentStatus newStatus) implements DomainEvent {
+    }
+
+    record EnrollmentAdded(String regNo, CourseCode courseCode, LocalDateTime enrollmentDate) implements DomainEvent {
+    }
+
+    record GradeAssigned(String regNo, CourseCode courseCode, Grade oldGrade, Grade newGrade) implements DomainEvent {
+    }
+
+    /**
+     * A course was added or saved with new details (title, credits, instructor, ...).
+     */
+    record CourseSaved(CourseCode courseCode) implements DomainEvent {
+    }
+
+    record CourseActiveChanged(CourseCode courseCode, boolean active) implements DomainEvent {
+    }
+
+    /**
+     * All students or all courses were replaced at once (import, restore); derived views should rebuild.
+     */
+    record DatasetReplaced(Dataset dataset, int size) implements DomainEvent {
+
+        public enum Dataset {
+            STUDENTS,
+            COURSES
+        }
+    }
+}
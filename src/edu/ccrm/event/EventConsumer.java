@@ -0,0 +1,28 @@
+package edu.ccrm.event;
+
+import java.util.List;
+
+/**
+ * Receives events from a {@link DomainEventBus} subscription, in sequence order and in batches.
+ * Calls come from the subscription's own thread, one at a time.
+ */
+@FunctionalInterface
+public interface EventConsumer {
+
+    /**
+     * Handles a batch of consecutive events.
+     *
+     * @param firstSequence The sequence number of the first event in the batch.
+     * @param events The events; the list is reused after the call returns.
+     */
+    void onEvents(long firstSequence, List<DomainEvent> events);
+
+    /**
+     * Called when this consumer fell so far behind that events were overwritten before it read
+     * them. Consumers that keep derived state should rebuild it from the services.
+     *
+     * @param missed How many events were lost.
+     */
+    default void onMissed(long missed) {
+    }
+}
@@ -0,0 +1,24 @@
+package edu.ccrm.exception;
+
+public class DuplicateEmailException extends RuntimeException {
+
+    private final String email;
+    private final String usedBy;
+
+    public DuplicateEmailException(String email, String usedBy) {
+        super("Email " + email + " is already used by student " + usedBy + ".");
+        this.email = email;
+        this.usedBy = usedBy;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * @return The registration number of the student who has the address.
+     */
+    public String getUsedBy() {
+        return usedBy;
+    }
+}
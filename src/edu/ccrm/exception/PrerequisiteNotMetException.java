@@ -0,0 +1,8 @@
+package edu.ccrm.exception;
+
+public class PrerequisiteNotMetException extends RuntimeException {
+
+    public PrerequisiteNotMetException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package edu.ccrm.exception;
+
+public class ScheduleConflictException extends RuntimeException {
+
+    public ScheduleConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,100 @@
+package edu.ccrm.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The small per-backup index that lists which chunks make up each backed-up file.
+ * A backup folder holds only this manifest; the chunk data lives in the shared {@link ChunkStore}.
+ *
+ * File format (tab separated, one record per line):
+ * <pre>
+ * file  &lt;name&gt;  &lt;size&gt;  &lt;lastModifiedMillis&gt;  &lt;sha256&gt;
+ * chunk &lt;sha256&gt;  &lt;size&gt;
+ * </pre>
+ * Each {@code chunk} line belongs to the {@code file} line above it.
+ */
+public class BackupManifest {
+
+    public static final String FILE_NAME = "manifest.ccrm";
+    private static final String HEADER = "# CCRM backup manifest v1";
+
+    /**
+     * One backed-up file and the ordered chunks it is made of.
+     */
+    public record FileEntry(String name, long size, long lastModified, String sha256,
+                            List<String> chunkHashes, List<Integer> chunkSizes) {
+    }
+
+    private final Map<String, FileEntry> files = new LinkedHashMap<>();
+
+    public void addFile(FileEntry entry) {
+        files.put(entry.name(), entry);
+    }
+
+    public FileEntry getFile(String name) {
+        return files.get(name);
+    }
+
+    public List<FileEntry> getFiles() {
+        return new ArrayList<>(files.values());
+    }
+
+    public long getLogicalSize() {
+        return files.values().stream().mapToLong(FileEntry::size).sum();
+    }
+
+    public void write(Path manifestFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (FileEntry entry : files.values()) {
+            lines.add(String.join("\t", "file", entry.name(), String.valueOf(entry.size()),
+                    String.valueOf(entry.lastModified()), entry.sha256()));
+            for (int i = 0; i < entry.chunkHashes().size(); i++) {
+                lines.add(String.join("\t", "chunk", entry.chunkHashes().get(i),
+                        String.valueOf(entry.chunkSizes().get(i))));
+            }
+        }
+        Files.write(manifestFile, lines);
+    }
+
+    public static BackupManifest read(Path manifestFile) throws IOException {
+        BackupManifest manifest = new BackupManifest();
+        String[] current = null;
+        List<String> hashes = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (String line : Files.readAllLines(manifestFile)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields[0].equals("file") && fields.length == 5) {
+                if (current != null) {
+                    manifest.addFile(toEntry(current, hashes, sizes));
+                }
+                current = fields;
+                hashes = new ArrayList<>();
+                sizes = new ArrayList<>();
+            } else if (fields[0].equals("chunk") && fields.length == 3 && current != null) {
+                hashes.add(fields[1]);
+                sizes.add(Integer.parseInt(fields[2]));
+            } else {
+                throw new IOException("Malformed manifest line in " + manifestFile + ": " + line);
+            }
+        }
+        if (current != null) {
+            manifest.addFile(toEntry(current, hashes, sizes));
+        }
+        return manifest;
+    }
+
+    private static FileEntry toEntry(String[] fields, List<String> hashes, List<Integer> sizes) {
+        return new FileEntry(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4],
+                List.copyOf(hashes), List.copyOf(sizes));
+    }
+}
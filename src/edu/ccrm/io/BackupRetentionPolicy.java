@@ -0,0 +1,109 @@
+package edu.ccrm.io;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.ConfigSnapshot;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides which {@code backup_<timestamp>} folders to keep.
+ * A backup survives if it is one of the newest {@code keepLast} backups, the newest backup
+ * of one of the last {@code keepDaily} days that have backups, or the newest backup of one
+ * of the last {@code keepWeekly} ISO weeks that have backups. Everything else may be pruned.
+ *
+ * DEMONSTRATES:
+ * - Records as immutable configuration objects.
+ * - Date/Time API (parsing timestamps, ISO week fields).
+ */
+public record BackupRetentionPolicy(int keepLast, int keepDaily, int keepWeekly) {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd_HH-mm-ss".length();
+
+    public BackupRetentionPolicy {
+        if (keepLast < 1 || keepDaily < 0 || keepWeekly < 0) {
+            throw new IllegalArgumentException("Retention must keep at least the latest backup.");
+        }
+    }
+
+    public static BackupRetentionPolicy fromConfig() {
+        return fromConfig(AppConfig.getInstance().snapshot());
+    }
+
+    public static BackupRetentionPolicy fromConfig(ConfigSnapshot config) {
+        return new BackupRetentionPolicy(config.retentionKeepLast(), config.retentionKeepDaily(), config.retentionKeepWeekly());
+    }
+
+    /**
+     * Selects the backups this policy would delete.
+     * Names without a parseable timestamp are never selected.
+     *
+     * @param backupNames The backup folder names, in any order.
+     * @return The names to delete, oldest first.
+     */
+    public List<String> selectForDeletion(List<String> backupNames) {
+        List<String> newestFirst = new ArrayList<>(backupNames);
+        newestFirst.sort((a, b) -> b.compareTo(a)); // timestamps sort lexicographically
+
+        Set<String> keep = new HashSet<>();
+        Set<String> days = new HashSet<>();
+        Set<String> weeks = new HashSet<>();
+        List<String> candidates = new ArrayList<>();
+        for (String name : newestFirst) {
+            LocalDateTime time = parseTimestamp(name);
+            if (time == null) {
+                keep.add(name);
+                continue;
+            }
+            if (candidates.size() < keepLast) {
+                keep.add(name);
+            }
+            String day = time.toLocalDate().toString();
+            if (!days.contains(day) && days.size() < keepDaily) {
+                days.add(day);
+                keep.add(name);
+            }
+            String week = time.get(IsoFields.WEEK_BASED_YEAR) + "-W" + time.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            if (!weeks.contains(week) && weeks.size() < keepWeekly) {
+                weeks.add(week);
+                keep.add(name);
+            }
+            candidates.add(name);
+        }
+
+        List<String> delete = new ArrayList<>();
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            if (!keep.contains(candidates.get(i))) {
+                delete.add(candidates.get(i));
+            }
+        }
+        return delete;
+    }
+
+    static LocalDateTime parseTimestamp(String backupName) {
+        if (!backupName.startsWith(BackupService.BACKUP_PREFIX)) {
+            return null;
+        }
+        String timestamp = backupName.substring(BackupService.BACKUP_PREFIX.length());
+        // Backups made within the same second carry a sequence suffix, e.g. _001.
+        if (timestamp.length() > TIMESTAMP_LENGTH) {
+            String suffix = timestamp.substring(TIMESTAMP_LENGTH);
+            if (!suffix.matches("_\\d+")) {
+                return null;
+            }
+            timestamp = timestamp.substring(0, TIMESTAMP_LENGTH);
+        }
+        try {
+            return LocalDateTime.parse(timestamp, TIMESTAMP_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,15 +1,61 @@
 package edu.ccrm.io;
 
 import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.ConfigSnapshot;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.ProfilingEvents;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.DataSnapshot;
+import edu.ccrm.service.StudentService;
+import edu.ccrm.util.RecursionUtils;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for handling data backups.
+ * Backups are incremental and deduplicated: every data file is split into chunks that are
+ * stored once in a shared {@link ChunkStore}, and each timestamped backup folder only holds
+ * a {@link BackupManifest} describing which chunks make up which file.
+ * Snapshot backups serialize an in-memory {@link DataSnapshot} on a background thread,
+ * so the CLI stays responsive while the backup is written. The same thread applies the
+ * {@link BackupRetentionPolicy} periodically and garbage-collects chunks no manifest uses anymore.
  *
  * DEMONSTRATES:
  * - NIO.2 API for file operations (copy, create directories).
@@ -17,12 +63,71 @@ import java.time.format.DateTimeFormatter;
  */
 public class BackupService {
 
-    private final Path dataDir;
-    private final Path backupDir;
+    static final String BACKUP_PREFIX = "backup_";
+    private static final Timer BACKUP_TIMER = Metrics.timer("backup.create");
+    private static final Timer SNAPSHOT_BACKUP_TIMER = Metrics.timer("backup.snapshot");
+    private static final Timer PRUNE_TIMER = Metrics.timer("backup.prune");
+    private static final Timer VERIFY_TIMER = Metrics.timer("backup.verify");
+    private static final Timer RESTORE_FILES_TIMER = Metrics.timer("backup.restoreFiles");
+    private static final Timer RESTORE_LOAD_TIMER = Metrics.timer("backup.restoreIntoServices");
+    static final String CHUNKS_FOLDER = "chunks";
+    // Backups started within the same second get a suffix (_001, _002, ...) that still sorts after the first.
+    private static final int MAX_BACKUPS_PER_SECOND = 1000;
 
+    // Backups share chunks, so they run under the read lock; pruning deletes chunks and needs the write lock.
+    private final ReadWriteLock chunkLock = new ReentrantReadWriteLock();
+    // A single thread keeps background backups in order and never competes with itself for the disk.
+    private final ScheduledExecutorService backgroundExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ccrm-backup");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Statistics for one completed backup.
+     */
+    public record BackupResult(Path folder, int files, int unchangedFiles, long logicalBytes,
+                               long bytesWritten, int newChunks, Duration duration) {
+    }
+
+    /**
+     * What a retention run removed.
+     */
+    public record PruneResult(List<String> deletedBackups, int deletedChunks, long freedBytes) {
+    }
+
+    /**
+     * What a restore loaded back into the services.
+     */
+    public record RestoreResult(int students, int courses, int enrollments, Duration duration) {
+    }
+
+    /**
+     * The folders one operation works on, read from a single configuration snapshot.
+     */
+    private record Location(ConfigSnapshot config, ChunkStore chunkStore) {
+
+        static Location current() {
+            ConfigSnapshot config = AppConfig.getInstance().snapshot();
+            return new Location(config, new ChunkStore(config.backupPath().resolve(CHUNKS_FOLDER)));
+        }
+
+        Path dataDir() {
+            return config.dataPath();
+        }
+
+        Path backupDir() {
+            return config.backupPath();
+        }
+    }
+
+    /**
+     * Creates the service. The data and backup folders are read from the current configuration
+     * at the start of every operation, so a reloaded {@code data.folder} or {@code backup.folder}
+     * applies to the next backup without a restart.
+     */
     public BackupService() {
-        this.dataDir = AppConfig.getInstance().getDataPath();
-        this.backupDir = AppConfig.getInstance().getBackupPath();
+        Path backupDir = AppConfig.getInstance().getBackupPath();
         try {
             if (Files.notExists(backupDir)) {
                 Files.createDirectories(backupDir);
@@ -32,21 +137,543 @@ public class BackupService {
         }
     }
 
-    public void performBackup() throws IOException {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-        Path newBackupFolder = backupDir.resolve("backup_" + timestamp);
-        Files.createDirectory(newBackupFolder);
+    public BackupResult performBackup() throws IOException {
+        long start = BACKUP_TIMER.start();
+        boolean ok = false;
+        chunkLock.readLock().lock();
+        try {
+            BackupResult result = backupDataFiles(Location.current());
+            ok = true;
+            return result;
+        } finally {
+            chunkLock.readLock().unlock();
+            BACKUP_TIMER.record(start, ok);
+        }
+    }
 
-        Path studentFile = dataDir.resolve(AppConfig.getInstance().getProperty("students.csv.name"));
-        Path courseFile = dataDir.resolve(AppConfig.getInstance().getProperty("courses.csv.name"));
+    private BackupResult backupDataFiles(Location location) throws IOException {
+        long start = System.nanoTime();
+        ChunkStore chunkStore = location.chunkStore();
+        BackupManifest previous = findLatestManifest(location.backupDir()).orElse(null);
+        Path newBackupFolder = createBackupFolder(location.backupDir(), LocalDateTime.now());
 
-        if (Files.exists(studentFile)) {
-            Files.copy(studentFile, newBackupFolder.resolve(studentFile.getFileName()), StandardCopyOption.REPLACE_EXISTING);
-        }
-        if (Files.exists(courseFile)) {
-            Files.copy(courseFile, newBackupFolder.resolve(courseFile.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        BackupManifest manifest = new BackupManifest();
+        int unchanged = 0;
+        long written = 0;
+        int newChunks = 0;
+        for (Path file : getDataFiles(location.config())) {
+            if (Files.notExists(file)) {
+                continue;
+            }
+            String name = file.getFileName().toString();
+            ProfilingEvents.BackupFile event = new ProfilingEvents.BackupFile();
+            event.begin();
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+
+            // A file with the same size and timestamp as last time is reused without reading it.
+            BackupManifest.FileEntry old = previous == null ? null : previous.getFile(name);
+            if (old != null && old.size() == size && old.lastModified() == modified
+                    && old.chunkHashes().stream().allMatch(chunkStore::contains)) {
+                manifest.addFile(old);
+                unchanged++;
+                commitFileEvent(event, newBackupFolder, name, size, 0, 0, true);
+                continue;
+            }
+
+            ChunkStore.StoredContent stored;
+            try (InputStream in = Files.newInputStream(file)) {
+                stored = chunkStore.store(in);
+            }
+            manifest.addFile(new BackupManifest.FileEntry(name, stored.logicalBytes(), modified,
+                    stored.sha256(), stored.chunkHashes(), stored.chunkSizes()));
+            written += stored.bytesWritten();
+            newChunks += stored.newChunks();
+            commitFileEvent(event, newBackupFolder, name, stored.logicalBytes(), stored.bytesWritten(), stored.newChunks(), false);
         }
+        manifest.write(newBackupFolder.resolve(BackupManifest.FILE_NAME));
 
+        BackupResult result = new BackupResult(newBackupFolder, manifest.getFiles().size(), unchanged,
+                manifest.getLogicalSize(), written, newChunks, Duration.ofNanos(System.nanoTime() - start));
         System.out.println("Backup created successfully at: " + newBackupFolder);
+        return result;
+    }
+
+    private static void commitFileEvent(ProfilingEvents.BackupFile event, Path backupFolder, String file, long bytes,
+                                        long bytesWritten, int newChunks, boolean unchanged) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.backup = backupFolder.getFileName().toString();
+            event.file = file;
+            event.bytes = bytes;
+            event.bytesWritten = bytesWritten;
+            event.newChunks = newChunks;
+            event.unchanged = unchanged;
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes a backup of an in-memory snapshot on the background thread.
+     * The snapshot is already consistent, so the backup reflects exactly the state at
+     * {@link DataSnapshot#getTakenAt()} no matter what happens to the live data meanwhile.
+     *
+     * @param snapshot The snapshot to serialize.
+     * @return A future completed with the backup statistics once the manifest is on disk.
+     */
+    public CompletableFuture<BackupResult> performSnapshotBackup(DataSnapshot snapshot) {
+        return CompletableFuture.supplyAsync(() -> {
+            // Timed on the background thread, so the figure excludes time spent queued.
+            long start = SNAPSHOT_BACKUP_TIMER.start();
+            boolean ok = false;
+            chunkLock.readLock().lock();
+            try {
+                BackupResult result = writeSnapshot(snapshot, Location.current());
+                ok = true;
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                chunkLock.readLock().unlock();
+                SNAPSHOT_BACKUP_TIMER.record(start, ok);
+            }
+        }, backgroundExecutor);
+    }
+
+    private BackupResult writeSnapshot(DataSnapshot snapshot, Location location) throws IOException {
+        long start = System.nanoTime();
+        ChunkStore chunkStore = location.chunkStore();
+        Path newBackupFolder = createBackupFolder(location.backupDir(), snapshot.getTakenAt());
+        long takenAt = snapshot.getTakenAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        List<String> students = new ArrayList<>(snapshot.getStudents().size() + 1);
+        students.add(CsvParser.STUDENT_HEADER);
+        snapshot.getStudents().forEach(s ->
+                students.add(CsvParser.studentToCsv(s.regNo(), s.fullName(), s.email(), s.status())));
+        List<String> courses = new ArrayList<>(snapshot.getCourses().size() + 1);
+        courses.add(CsvParser.COURSE_HEADER);
+        snapshot.getCourses().forEach(c -> courses.add(CsvParser.courseToCsv(c)));
+        List<String> enrollments = new ArrayList<>(snapshot.getEnrollments().size() + 1);
+        enrollments.add(CsvParser.ENROLLMENT_HEADER);
+        snapshot.getEnrollments().forEach(e -> enrollments.add(CsvParser.enrollmentToCsv(e)));
+
+        BackupManifest manifest = new BackupManifest();
+        long written = 0;
+        int newChunks = 0;
+        ConfigSnapshot config = location.config();
+        String[][] files = {
+                {config.studentsCsvName(), String.join(System.lineSeparator(), students)},
+                {config.coursesCsvName(), String.join(System.lineSeparator(), courses)},
+                {config.enrollmentsCsvName(), String.join(System.lineSeparator(), enrollments)},
+        };
+        for (String[] file : files) {
+            ProfilingEvents.BackupFile event = new ProfilingEvents.BackupFile();
+            event.begin();
+            byte[] content = (file[1] + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            ChunkStore.StoredContent stored = chunkStore.store(new ByteArrayInputStream(content));
+            manifest.addFile(new BackupManifest.FileEntry(file[0], stored.logicalBytes(), takenAt,
+                    stored.sha256(), stored.chunkHashes(), stored.chunkSizes()));
+            written += stored.bytesWritten();
+            newChunks += stored.newChunks();
+            commitFileEvent(event, newBackupFolder, file[0], stored.logicalBytes(), stored.bytesWritten(), stored.newChunks(), false);
+        }
+        manifest.write(newBackupFolder.resolve(BackupManifest.FILE_NAME));
+
+        return new BackupResult(newBackupFolder, files.length, 0, manifest.getLogicalSize(), written,
+                newChunks, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Deletes the backups the policy does not keep, then removes chunks that no remaining
+     * manifest references. Backups cannot run while chunks are being collected.
+     *
+     * @param policy The retention policy to apply.
+     * @return The deleted backups and the space reclaimed.
+     */
+    public PruneResult pruneBackups(BackupRetentionPolicy policy) throws IOException {
+        long start = PRUNE_TIMER.start();
+        boolean ok = false;
+        chunkLock.writeLock().lock();
+        try {
+            Location location = Location.current();
+            Path backupDir = location.backupDir();
+            ChunkStore chunkStore = location.chunkStore();
+            List<String> deleted = policy.selectForDeletion(listBackups(backupDir));
+            for (String name : deleted) {
+                RecursionUtils.deleteRecursively(backupDir.resolve(name));
+            }
+
+            Set<String> referenced = new HashSet<>();
+            for (String name : listBackups(backupDir)) {
+                Path manifestFile = backupDir.resolve(name).resolve(BackupManifest.FILE_NAME);
+                if (Files.exists(manifestFile)) {
+                    BackupManifest.read(manifestFile).getFiles().forEach(f -> referenced.addAll(f.chunkHashes()));
+                }
+            }
+            int deletedChunks = 0;
+            long freed = 0;
+            for (String hash : chunkStore.listChunks()) {
+                if (!referenced.contains(hash)) {
+                    freed += chunkStore.delete(hash);
+                    deletedChunks++;
+                }
+            }
+            ok = true;
+            return new PruneResult(deleted, deletedChunks, freed);
+        } finally {
+            chunkLock.writeLock().unlock();
+            PRUNE_TIMER.record(start, ok);
+        }
+    }
+
+    /**
+     * Applies the retention policy on the background thread at a fixed interval.
+     *
+     * @param policy The retention policy to apply.
+     * @param intervalMinutes Minutes between runs; the first run happens immediately.
+     * @return A handle that can cancel the schedule.
+     */
+    public ScheduledFuture<?> scheduleRetention(BackupRetentionPolicy policy, long intervalMinutes) {
+        return backgroundExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                PruneResult result = pruneBackups(policy);
+                if (!result.deletedBackups().isEmpty()) {
+                    System.out.println("\nRetention: pruned " + result.deletedBackups().size() + " backup(s), freed "
+                            + result.freedBytes() + " bytes.");
+                }
+            } catch (IOException e) {
+                System.err.println("\nRetention run failed: " + e.getMessage());
+            }
+        }, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Waits for queued background backups to finish, then stops the background thread.
+     * Periodic retention runs are cancelled.
+     */
+    public void shutdown() {
+        backgroundExecutor.shutdown();
+        try {
+            if (!backgroundExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("Background backup did not finish within a minute.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lists the names of all backup folders, oldest first.
+     */
+    public List<String> listBackups() throws IOException {
+        return listBackups(Location.current().backupDir());
+    }
+
+    private static List<String> listBackups(Path backupDir) throws IOException {
+        if (Files.notExists(backupDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> entries = Files.list(backupDir)) {
+            return entries
+                    .filter(Files::isDirectory)
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(BACKUP_PREFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Checks that every chunk referenced by a backup exists and still matches its hash,
+     * and that the reassembled files match their recorded checksums.
+     *
+     * @param backupName The backup folder name, e.g. {@code backup_2025-09-21_14-30-00}.
+     * @return A list of problems found; empty if the backup is intact.
+     */
+    public List<String> verifyBackup(String backupName) throws IOException {
+        long start = VERIFY_TIMER.start();
+        boolean ok = false;
+        try {
+            List<String> problems = checkBackup(Location.current(), backupName);
+            ok = problems.isEmpty();
+            return problems;
+        } finally {
+            VERIFY_TIMER.record(start, ok);
+        }
+    }
+
+    private List<String> checkBackup(Location location, String backupName) throws IOException {
+        List<String> problems = new ArrayList<>();
+        BackupManifest manifest = readManifest(location.backupDir(), backupName);
+        for (BackupManifest.FileEntry entry : manifest.getFiles()) {
+            MessageDigest digest = ChunkStore.sha256();
+            long size = 0;
+            try {
+                for (String hash : entry.chunkHashes()) {
+                    byte[] chunk = location.chunkStore().read(hash);
+                    digest.update(chunk);
+                    size += chunk.length;
+                }
+            } catch (IOException e) {
+                problems.add(entry.name() + ": " + e.getMessage());
+                continue;
+            }
+            if (size != entry.size() || !HexFormat.of().formatHex(digest.digest()).equals(entry.sha256())) {
+                problems.add(entry.name() + ": checksum mismatch.");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Reassembles the files of a backup into the target directory.
+     * Each file is written to a temporary file first, so a failed restore never
+     * leaves a half-written data file behind.
+     *
+     * @param backupName The backup folder name.
+     * @param targetDir The directory to restore into (usually the data directory).
+     * @return The restored file paths.
+     */
+    public List<Path> restoreBackup(String backupName, Path targetDir) throws IOException {
+        long start = RESTORE_FILES_TIMER.start();
+        boolean ok = false;
+        try {
+            List<Path> restored = restoreFiles(Location.current(), backupName, targetDir);
+            ok = true;
+            return restored;
+        } finally {
+            RESTORE_FILES_TIMER.record(start, ok);
+        }
+    }
+
+    private List<Path> restoreFiles(Location location, String backupName, Path targetDir) throws IOException {
+        BackupManifest manifest = readManifest(location.backupDir(), backupName);
+        Files.createDirectories(targetDir);
+        List<Path> restored = new ArrayList<>();
+        for (BackupManifest.FileEntry entry : manifest.getFiles()) {
+            Path target = childOf(targetDir, entry.name());
+            Path temp = Files.createTempFile(targetDir, entry.name(), ".restore");
+            try {
+                MessageDigest digest = ChunkStore.sha256();
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    for (String hash : entry.chunkHashes()) {
+                        byte[] chunk = location.chunkStore().read(hash);
+                        digest.update(chunk);
+                        out.write(chunk);
+                    }
+                }
+                if (!HexFormat.of().formatHex(digest.digest()).equals(entry.sha256())) {
+                    throw new IOException("Checksum mismatch while restoring " + entry.name());
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.setLastModifiedTime(target, FileTime.fromMillis(entry.lastModified()));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            restored.add(target);
+        }
+        return restored;
+    }
+
+    public void restoreBackup(String backupName) throws IOException {
+        Path dataDir = AppConfig.getInstance().getDataPath();
+        List<Path> restored = restoreBackup(backupName, dataDir);
+        System.out.println("Restored " + restored.size() + " file(s) from " + backupName + " into " + dataDir);
+    }
+
+    /**
+     * Verifies a backup and loads it into the services, replacing their current data.
+     * Files are reassembled and checksummed in parallel, and nothing is loaded unless
+     * every file verifies. Backups made before manifests existed are read as plain CSV copies.
+     *
+     * @param backupName The backup folder name.
+     * @param studentService The service to load students (and their enrollments) into.
+     * @param courseService The service to load courses into.
+     * @return The number of records loaded.
+     * @throws IOException If the backup is missing, unreadable or fails verification.
+     */
+    public RestoreResult restoreIntoServices(String backupName, StudentService studentService,
+                                             CourseService courseService) throws IOException {
+        long start = RESTORE_LOAD_TIMER.start();
+        boolean ok = false;
+        try {
+            RestoreResult result = loadBackup(backupName, studentService, courseService, start);
+            ok = true;
+            return result;
+        } finally {
+            RESTORE_LOAD_TIMER.record(start, ok);
+        }
+    }
+
+    private RestoreResult loadBackup(String backupName, StudentService studentService,
+                                     CourseService courseService, long start) throws IOException {
+        Location location = Location.current();
+        Map<String, byte[]> contents = readBackupContents(location, backupName);
+        ConfigSnapshot config = location.config();
+
+        CompletableFuture<List<Student>> students = CompletableFuture.supplyAsync(() ->
+                parseLines(contents.get(config.studentsCsvName())).stream()
+                        .map(CsvParser::parseStudent).filter(Objects::nonNull).collect(Collectors.toList()));
+        CompletableFuture<List<Course>> courses = CompletableFuture.supplyAsync(() ->
+                parseLines(contents.get(config.coursesCsvName())).stream()
+                        .map(CsvParser::parseCourse).filter(Objects::nonNull).collect(Collectors.toList()));
+        CompletableFuture<Map<String, List<Enrollment>>> enrollments = CompletableFuture.supplyAsync(() ->
+                parseLines(contents.get(config.enrollmentsCsvName())).parallelStream()
+                        .map(CsvParser::parseEnrollment).filter(Objects::nonNull)
+                        .collect(Collectors.groupingByConcurrent(Enrollment::getStudentRegNo)));
+
+        try {
+            List<Student> loadedStudents = students.join();
+            Map<String, List<Enrollment>> byStudent = enrollments.join();
+            int enrollmentCount = 0;
+            for (Student student : loadedStudents) {
+                for (Enrollment e : byStudent.getOrDefault(student.getRegNo(), List.of())) {
+                    student.loadEnrollment(e);
+                    enrollmentCount++;
+                }
+            }
+            List<Course> loadedCourses = courses.join();
+            List<StudentService.DuplicateEmail> duplicates = studentService.loadStudents(loadedStudents);
+            StudentService.reportDuplicates(duplicates);
+            courseService.loadCourses(loadedCourses);
+            return new RestoreResult(loadedStudents.size() - duplicates.size(), loadedCourses.size(), enrollmentCount,
+                    Duration.ofNanos(System.nanoTime() - start));
+        } catch (CompletionException e) {
+            throw new IOException("Backup " + backupName + " contains malformed data: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads every file of a backup into memory, verifying manifest checksums.
+     * Files are assembled concurrently, and the chunks of each file are read in parallel.
+     */
+    private Map<String, byte[]> readBackupContents(Location location, String backupName) throws IOException {
+        Path folder = childOf(location.backupDir(), backupName);
+        Map<String, CompletableFuture<byte[]>> pending = new LinkedHashMap<>();
+        if (Files.exists(folder.resolve(BackupManifest.FILE_NAME))) {
+            for (BackupManifest.FileEntry entry : readManifest(location.backupDir(), backupName).getFiles()) {
+                pending.put(entry.name(), CompletableFuture.supplyAsync(() -> assemble(location.chunkStore(), entry)));
+            }
+        } else {
+            try (Stream<Path> files = Files.list(folder)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    pending.put(file.getFileName().toString(), CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return Files.readAllBytes(file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+                }
+            }
+        }
+
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<byte[]>> entry : pending.entrySet()) {
+                contents.put(entry.getKey(), entry.getValue().join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        return contents;
+    }
+
+    private static byte[] assemble(ChunkStore chunkStore, BackupManifest.FileEntry entry) {
+        List<byte[]> chunks = entry.chunkHashes().parallelStream().map(hash -> {
+            try {
+                return chunkStore.read(hash);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).collect(Collectors.toList());
+
+        byte[] data = new byte[Math.toIntExact(entry.size())];
+        MessageDigest digest = ChunkStore.sha256();
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            if (offset + chunk.length > data.length) {
+                throw new UncheckedIOException(new IOException("Size mismatch in " + entry.name()));
+            }
+            System.arraycopy(chunk, 0, data, offset, chunk.length);
+            offset += chunk.length;
+        }
+        digest.update(data, 0, offset);
+        if (offset != data.length || !HexFormat.of().formatHex(digest.digest()).equals(entry.sha256())) {
+            throw new UncheckedIOException(new IOException("Checksum mismatch in " + entry.name()));
+        }
+        return data;
+    }
+
+    private static List<String> parseLines(byte[] content) {
+        if (content == null) {
+            return List.of();
+        }
+        List<String> lines = new String(content, StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.isBlank())
+                .collect(Collectors.toList());
+        return lines.isEmpty() ? lines : lines.subList(1, lines.size()); // Skip header
+    }
+
+    private static Path createBackupFolder(Path backupDir, LocalDateTime time) throws IOException {
+        Files.createDirectories(backupDir);
+        String name = BACKUP_PREFIX + time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        for (int sequence = 0; ; sequence++) {
+            Path folder = backupDir.resolve(sequence == 0 ? name : name + String.format("_%03d", sequence));
+            try {
+                Files.createDirectory(folder);
+                return folder;
+            } catch (FileAlreadyExistsException e) {
+                if (sequence == MAX_BACKUPS_PER_SECOND - 1) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a name to an entry directly inside a directory. Names that would leave it,
+     * such as {@code ..}, absolute paths or nested paths, are rejected.
+     */
+    private static Path childOf(Path dir, String name) throws IOException {
+        Path root = dir.toAbsolutePath().normalize();
+        Path child = root.resolve(name).normalize();
+        if (name.isEmpty() || !root.equals(child.getParent())) {
+            throw new IOException("'" + name + "' is not a name inside " + dir + ".");
+        }
+        return child;
+    }
+
+    private static BackupManifest readManifest(Path backupDir, String backupName) throws IOException {
+        Path manifestFile = childOf(backupDir, backupName).resolve(BackupManifest.FILE_NAME);
+        if (Files.notExists(manifestFile)) {
+            throw new IOException("No backup manifest found for '" + backupName + "'.");
+        }
+        return BackupManifest.read(manifestFile);
+    }
+
+    private static Optional<BackupManifest> findLatestManifest(Path backupDir) throws IOException {
+        List<String> backups = listBackups(backupDir);
+        for (int i = backups.size() - 1; i >= 0; i--) {
+            Path manifestFile = backupDir.resolve(backups.get(i)).resolve(BackupManifest.FILE_NAME);
+            if (Files.exists(manifestFile)) {
+                return Optional.of(BackupManifest.read(manifestFile));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The data files a backup holds; the same set {@link #writeSnapshot(DataSnapshot, Location)} writes.
+     */
+    private static List<Path> getDataFiles(ConfigSnapshot config) {
+        Path dataDir = config.dataPath();
+        return List.of(
+                dataDir.resolve(config.studentsCsvName()),
+                dataDir.resolve(config.coursesCsvName()),
+                dataDir.resolve(config.enrollmentsCsvName()));
     }
 }
@@ -0,0 +1,209 @@
+package edu.ccrm.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed store for backup chunks.
+ * Files are split into content-defined chunks with a rolling "gear" hash, so an edit
+ * in the middle of a file only changes the chunks around the edit. Every chunk is
+ * stored exactly once under its SHA-256 hash, which makes repeated backups of
+ * unchanged data free.
+ *
+ * DEMONSTRATES:
+ * - NIO.2 API for atomic file creation (write to temp file, then move).
+ * - MessageDigest for content hashing.
+ */
+public class ChunkStore {
+
+    static final int MIN_CHUNK_SIZE = 2 * 1024;
+    static final int MAX_CHUNK_SIZE = 64 * 1024;
+    // Cut when the low 13 bits of the rolling hash are zero: ~8 KiB average chunks.
+    private static final long CUT_MASK = (1L << 13) - 1;
+
+    // The gear table must never change, otherwise old chunks would stop deduplicating.
+    private static final long[] GEAR = new long[256];
+    static {
+        SplittableRandom random = new SplittableRandom(0x43_43_52_4DL);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private final Path root;
+
+    public ChunkStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * The result of storing one stream: its chunk list and how much was actually written.
+     */
+    public record StoredContent(List<String> chunkHashes, List<Integer> chunkSizes,
+                                String sha256, long logicalBytes, long bytesWritten, int newChunks) {
+    }
+
+    /**
+     * Splits the stream into content-defined chunks and stores every chunk not yet present.
+     *
+     * @param in The stream to store. It is read to the end but not closed.
+     * @return The chunk list, whole-content hash and write statistics.
+     * @throws IOException If reading the stream or writing a chunk fails.
+     */
+    public StoredContent store(InputStream in) throws IOException {
+        MessageDigest contentDigest = sha256();
+        List<String> hashes = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        long logical = 0;
+        long written = 0;
+        int newChunks = 0;
+
+        byte[] buffer = new byte[MAX_CHUNK_SIZE * 2];
+        int length = 0;
+        boolean eof = false;
+        while (!eof || length > 0) {
+            while (!eof && length < buffer.length) {
+                int read = in.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    length += read;
+                }
+            }
+            if (length == 0) {
+                break;
+            }
+            int cut = nextCut(buffer, length);
+            contentDigest.update(buffer, 0, cut);
+            MessageDigest chunkDigest = sha256();
+            chunkDigest.update(buffer, 0, cut);
+            String hash = HexFormat.of().formatHex(chunkDigest.digest());
+            if (writeChunk(hash, buffer, cut)) {
+                written += cut;
+                newChunks++;
+            }
+            hashes.add(hash);
+            sizes.add(cut);
+            logical += cut;
+            System.arraycopy(buffer, cut, buffer, 0, length - cut);
+            length -= cut;
+        }
+        return new StoredContent(hashes, sizes, HexFormat.of().formatHex(contentDigest.digest()),
+                logical, written, newChunks);
+    }
+
+    /**
+     * Reads a chunk back and checks that its content still matches its hash.
+     *
+     * @param hash The SHA-256 hash the chunk was stored under.
+     * @return The chunk bytes.
+     * @throws IOException If the chunk is missing or corrupted.
+     */
+    public byte[] read(String hash) throws IOException {
+        byte[] data = Files.readAllBytes(chunkPath(hash));
+        if (!hash.equals(HexFormat.of().formatHex(sha256().digest(data)))) {
+            throw new IOException("Chunk " + hash + " is corrupted.");
+        }
+        return data;
+    }
+
+    public boolean contains(String hash) {
+        return Files.exists(chunkPath(hash));
+    }
+
+    /**
+     * Lists the hashes of every chunk currently in the store.
+     */
+    public Set<String> listChunks() throws IOException {
+        if (Files.notExists(root)) {
+            return new HashSet<>();
+        }
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> !name.endsWith(".tmp"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Removes a chunk from the store.
+     *
+     * @return The number of bytes freed, or 0 if the chunk did not exist.
+     */
+    public long delete(String hash) throws IOException {
+        Path path = chunkPath(hash);
+        if (Files.notExists(path)) {
+            return 0;
+        }
+        long size = Files.size(path);
+        Files.delete(path);
+        return size;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    Path chunkPath(String hash) {
+        // Fan out into 256 sub-folders so no single directory gets huge.
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private boolean writeChunk(String hash, byte[] data, int length) throws IOException {
+        Path target = chunkPath(hash);
+        if (Files.exists(target)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            Files.write(temp, Arrays.copyOf(data, length));
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the length of the next chunk at the start of the buffer.
+     */
+    static int nextCut(byte[] data, int length) {
+        if (length <= MIN_CHUNK_SIZE) {
+            return length;
+        }
+        int limit = Math.min(length, MAX_CHUNK_SIZE);
+        long hash = 0;
+        for (int i = 0; i < limit; i++) {
+            hash = (hash << 1) + GEAR[data[i] & 0xff];
+            if (i >= MIN_CHUNK_SIZE && (hash & CUT_MASK) == 0) {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
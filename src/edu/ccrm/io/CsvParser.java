@@ -1,14 +1,25 @@
 package edu.ccrm.io;
 
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
 import edu.ccrm.domain.Semester;
 import edu.ccrm.domain.Student;
 import edu.ccrm.domain.Student.StudentStatus;
+import edu.ccrm.domain.Timetable;
 
-
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A utility class for parsing CSV data into domain objects.
+ * Fields containing commas or double quotes are written in double quotes, with embedded quotes
+ * doubled (RFC 4180), e.g. {@code "Smith, Jr.",} or {@code "Robert ""Bob"" Lee",}. Records are
+ * read one line at a time, so fields must not contain line breaks.
+ * Course lines may end with a schedule column in {@link Timetable} text form (e.g. {@code MON 09-11;WED 09-10});
+ * files without it load with no meeting times.
  *
  * DEMONSTRATES:
  * - String manipulation (split).
@@ -16,40 +27,130 @@ import edu.ccrm.domain.Student.StudentStatus;
  */
 public class CsvParser {
 
+    public static final String STUDENT_HEADER = "regNo,fullName,email,status";
+    public static final String COURSE_HEADER = "code,title,credits,instructor,semester,department,schedule";
+    public static final String ENROLLMENT_HEADER = "regNo,courseCode,grade,enrollmentDate";
+    public static final String PREREQUISITE_HEADER = "courseCode,prerequisiteCode";
+
     public static Student parseStudent(String csvLine) {
-        String[] fields = csvLine.split(",");
+        String[] fields = splitFields(csvLine);
         if (fields.length < 4) return null;
         return new Student(fields[0], fields[1], fields[2], StudentStatus.valueOf(fields[3].toUpperCase()));
     }
 
+    /**
+     * Parses a student with a fixed ID and timestamps, so decoding the same line twice
+     * yields the same student.
+     */
+    public static Student parseStudent(String csvLine, long id, LocalDateTime loadedAt) {
+        String[] fields = splitFields(csvLine);
+        if (fields.length < 4) return null;
+        return new Student(id, fields[0], fields[1], fields[2], StudentStatus.valueOf(fields[3].toUpperCase()),
+                loadedAt, loadedAt);
+    }
+
     public static Course parseCourse(String csvLine) {
-        String[] fields = csvLine.split(",");
+        String[] fields = splitFields(csvLine);
         if (fields.length < 6) return null;
         return new Course.Builder(fields[0], fields[1])
                 .credits(Integer.parseInt(fields[2]))
                 .instructor(fields[3])
                 .semester(Semester.valueOf(fields[4].toUpperCase()))
                 .department(fields[5])
+                .schedule(fields.length > 6 ? Timetable.parse(fields[6]) : Timetable.NONE)
                 .build();
     }
 
+    public static Enrollment parseEnrollment(String csvLine) {
+        String[] fields = splitFields(csvLine);
+        if (fields.length < 4) return null;
+        Grade grade = fields[2].isEmpty() ? null : Grade.valueOf(fields[2].toUpperCase());
+        return new Enrollment(fields[0], CourseCode.of(fields[1]), grade, LocalDateTime.parse(fields[3]));
+    }
+
     public static String studentToCsv(Student student) {
+        return studentToCsv(student.getRegNo(), student.getFullName(), student.getEmail(), student.getStatus());
+    }
+
+    public static String studentToCsv(String regNo, String fullName, String email, StudentStatus status) {
         return String.join(",",
-                student.getRegNo(),
-                student.getFullName(),
-                student.getEmail(),
-                student.getStatus().toString()
+                quote(regNo),
+                quote(fullName),
+                quote(email),
+                status.toString()
         );
     }
 
     public static String courseToCsv(Course course) {
         return String.join(",",
-                course.getCourseCode().getCode(),
-                course.getTitle(),
+                quote(course.getCourseCode().getCode()),
+                quote(course.getTitle()),
                 String.valueOf(course.getCredits()),
-                course.getInstructor(),
+                quote(course.getInstructor()),
                 course.getSemester().toString(),
-                course.getDepartment()
+                quote(course.getDepartment()),
+                Timetable.format(course.getSchedule())
+        );
+    }
+
+    public static String enrollmentToCsv(Enrollment enrollment) {
+        return String.join(",",
+                quote(enrollment.getStudentRegNo()),
+                quote(enrollment.getCourseCode().getCode()),
+                enrollment.getGrade() != null ? enrollment.getGrade().toString() : "",
+                enrollment.getEnrollmentDate().toString()
         );
     }
+
+    /**
+     * Splits one CSV line into its fields, removing quotes around quoted fields.
+     * Lines without quotes take a plain split.
+     */
+    public static String[] splitFields(String csvLine) {
+        if (csvLine.indexOf('"') < 0) {
+            return csvLine.split(",");
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csvLine.length(); i++) {
+            char c = csvLine.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < csvLine.length() && csvLine.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Returns a field ready to write: unchanged if it is safe, otherwise in double quotes
+     * with embedded quotes doubled. A null field is written as an empty one.
+     */
+    public static String quote(String field) {
+        if (field == null) {
+            return "";
+        }
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + field.replace("\"", "\"\"") + '"';
+            }
+        }
+        return field;
+    }
 }
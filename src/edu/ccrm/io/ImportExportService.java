@@ -2,18 +2,31 @@ package edu.ccrm.io;
 
 import edu.ccrm.config.AppConfig;
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
 import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.ProfilingEvents;
+import edu.ccrm.metrics.Timer;
 import edu.ccrm.service.CourseService;
 import edu.ccrm.service.StudentService;
+import edu.ccrm.util.Validators;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Service for importing and exporting data from/to CSV files.
@@ -22,21 +35,51 @@ import java.util.stream.Stream;
  * - NIO.2 API (Files, Path).
  * - Streams API for file processing.
  * - Exception handling for I/O operations.
+ *
+ * With {@code data.lazy.load=true}, importing only indexes the files; records are read from
+ * a memory-mapped file when first used (see {@link LazyStudentStore}).
+ *
+ * Files are read and written in chunks of {@value #CHUNK_ROWS} rows. Each chunk and each file
+ * emits a Java Flight Recorder event ({@link ProfilingEvents.FileChunk}, {@link ProfilingEvents.FileTransfer}),
+ * so a recording shows whether a slow import spent its time on the disk, on parsing or on loading.
  */
 public class ImportExportService {
 
+    private static final Timer IMPORT_TIMER = Metrics.timer("data.import");
+    private static final Timer EXPORT_TIMER = Metrics.timer("data.export");
+    private static final int CHUNK_ROWS = 10_000;
+    private static final int INVALID_ROWS_REPORTED = 10;
+    private static final String PREREQUISITES_FILE = "prerequisites.csv";
+    private static final String ENROLLMENTS_FILE = "enrollments.csv";
+
     private final StudentService studentService;
     private final CourseService courseService;
+    private final Path importDir;
     private final Path dataDir;
     private final Path studentDataFile;
     private final Path courseDataFile;
+    private final Path enrollmentDataFile;
 
     public ImportExportService(StudentService studentService, CourseService courseService) {
+        this(studentService, courseService, Paths.get("test-data"), AppConfig.getInstance().getDataPath());
+    }
+
+    /**
+     * Creates a service that imports from and exports to the given folders instead of the
+     * defaults, e.g. for benchmarks working on generated files.
+     *
+     * @param importDir The folder holding {@code students.csv}, {@code courses.csv} and optionally
+     *                  {@code enrollments.csv} and {@code prerequisites.csv} to import.
+     * @param dataDir The folder exports are written to.
+     */
+    public ImportExportService(StudentService studentService, CourseService courseService, Path importDir, Path dataDir) {
         this.studentService = studentService;
         this.courseService = courseService;
-        this.dataDir = AppConfig.getInstance().getDataPath();
-        this.studentDataFile = dataDir.resolve(AppConfig.getInstance().getProperty("students.csv.name"));
-        this.courseDataFile = dataDir.resolve(AppConfig.getInstance().getProperty("courses.csv.name"));
+        this.importDir = importDir;
+        this.dataDir = dataDir;
+        this.studentDataFile = dataDir.resolve(AppConfig.getInstance().snapshot().studentsCsvName());
+        this.courseDataFile = dataDir.resolve(AppConfig.getInstance().snapshot().coursesCsvName());
+        this.enrollmentDataFile = dataDir.resolve(AppConfig.getInstance().snapshot().enrollmentsCsvName());
         
         try {
             if (Files.notExists(dataDir)) {
@@ -48,56 +91,335 @@ public class ImportExportService {
     }
 
     public void importAllData() throws IOException {
-        importStudents();
-        importCourses();
+        long start = IMPORT_TIMER.start();
+        boolean ok = false;
+        try {
+            importStudents();
+            importCourses();
+            importPrerequisites();
+            ok = true;
+        } finally {
+            IMPORT_TIMER.record(start, ok);
+        }
     }
 
     public void exportAllData() throws IOException {
-        exportStudents();
-        exportCourses();
+        long start = EXPORT_TIMER.start();
+        boolean ok = false;
+        try {
+            exportStudents();
+            exportCourses();
+            exportEnrollments();
+            exportPrerequisites();
+            ok = true;
+        } finally {
+            EXPORT_TIMER.record(start, ok);
+        }
     }
 
     private void importStudents() throws IOException {
-        Path sourcePath = Paths.get("test-data", "students.csv");
-        if (Files.exists(sourcePath)) {
-            try (Stream<String> lines = Files.lines(sourcePath).skip(1)) { // Skip header
-                List<Student> students = lines
-                        .map(CsvParser::parseStudent)
-                        .collect(Collectors.toList());
-                studentService.loadStudents(students);
-                System.out.println(students.size() + " students imported.");
+        Path sourcePath = importDir.resolve("students.csv");
+        if (!Files.exists(sourcePath)) {
+            return;
+        }
+        ProfilingEvents.FileTransfer event = beginTransfer("import", sourcePath);
+        if (AppConfig.getInstance().snapshot().lazyLoad()) {
+            LazyStudentStore store = LazyStudentStore.open(sourcePath, AppConfig.getInstance().snapshot().lazyCacheSize());
+            long loadStart = System.nanoTime();
+            studentService.replaceStore(store);
+            commitTransfer(event, store.size(), true, System.nanoTime() - loadStart);
+            System.out.println(store.size() + " students indexed (loaded on first use).");
+            if (Files.exists(importDir.resolve(ENROLLMENTS_FILE))) {
+                // Attaching them would pin every enrolled student in memory, defeating lazy loading.
+                System.err.println(ENROLLMENTS_FILE + " was not imported: enrollments are only imported with data.lazy.load=false.");
+            }
+        } else {
+            List<Student> students = readRows(sourcePath, CsvParser::parseStudent);
+            long loadStart = System.nanoTime();
+            List<Student> valid = withValidEmails(students);
+            int enrollments = attachEnrollments(valid);
+            List<StudentService.DuplicateEmail> duplicates = studentService.loadStudents(valid);
+            StudentService.reportDuplicates(duplicates);
+            commitTransfer(event, students.size(), false, System.nanoTime() - loadStart);
+            System.out.println((valid.size() - duplicates.size()) + " students imported"
+                    + (enrollments > 0 ? " with " + enrollments + " enrollments." : "."));
+        }
+    }
+
+    /**
+     * Attaches the rows of {@code enrollments.csv}, if present, to the students about to be loaded,
+     * the same way a backup restore does. Enrollments of students that are not being loaded are
+     * reported and skipped.
+     *
+     * @return The number of enrollments attached.
+     */
+    private int attachEnrollments(List<Student> students) throws IOException {
+        Path sourcePath = importDir.resolve(ENROLLMENTS_FILE);
+        if (!Files.exists(sourcePath)) {
+            return 0;
+        }
+        Map<String, Student> byRegNo = new HashMap<>(students.size() * 2);
+        for (Student student : students) {
+            byRegNo.putIfAbsent(student.getRegNo().toUpperCase(Locale.ROOT), student);
+        }
+        int attached = 0;
+        List<String> orphans = new ArrayList<>();
+        for (Enrollment enrollment : readRows(sourcePath, ImportExportService::parseEnrollment)) {
+            Student student = byRegNo.get(enrollment.getStudentRegNo().toUpperCase(Locale.ROOT));
+            if (student == null) {
+                orphans.add(enrollment.getStudentRegNo() + " in " + enrollment.getCourseCode());
+            } else {
+                student.loadEnrollment(enrollment);
+                attached++;
+            }
+        }
+        if (!orphans.isEmpty()) {
+            System.err.println(orphans.size() + " enrollment(s) skipped because their student was not imported:");
+            orphans.stream().limit(INVALID_ROWS_REPORTED).forEach(o -> System.err.println("  " + o));
+            if (orphans.size() > INVALID_ROWS_REPORTED) {
+                System.err.println("  ... and " + (orphans.size() - INVALID_ROWS_REPORTED) + " more.");
             }
         }
+        return attached;
+    }
+
+    // An unknown grade or a malformed date makes the row unparseable rather than failing the import.
+    private static Enrollment parseEnrollment(String line) {
+        try {
+            return CsvParser.parseEnrollment(line);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops students whose email address is not valid and reports them. Uses the scanner in
+     * {@link Validators#isValidEmail(String)}, which keeps this cheap for millions of rows.
+     */
+    private static List<Student> withValidEmails(List<Student> students) {
+        List<Student> valid = new ArrayList<>(students.size());
+        List<Student> invalid = new ArrayList<>();
+        for (Student student : students) {
+            (Validators.isValidEmail(student.getEmail()) ? valid : invalid).add(student);
+        }
+        if (!invalid.isEmpty()) {
+            System.err.println(invalid.size() + " student(s) skipped because their email is not valid:");
+            invalid.stream().limit(INVALID_ROWS_REPORTED).forEach(s -> System.err.println("  " + s.getRegNo() + ": '" + s.getEmail() + "'"));
+            if (invalid.size() > INVALID_ROWS_REPORTED) {
+                System.err.println("  ... and " + (invalid.size() - INVALID_ROWS_REPORTED) + " more.");
+            }
+        }
+        return valid;
     }
 
     private void importCourses() throws IOException {
-        Path sourcePath = Paths.get("test-data", "courses.csv");
-        if (Files.exists(sourcePath)) {
-            try (Stream<String> lines = Files.lines(sourcePath).skip(1)) { // Skip header
-                List<Course> courses = lines
-                        .map(CsvParser::parseCourse)
-                        .collect(Collectors.toList());
-                courseService.loadCourses(courses);
-                System.out.println(courses.size() + " courses imported.");
+        Path sourcePath = importDir.resolve("courses.csv");
+        if (!Files.exists(sourcePath)) {
+            return;
+        }
+        ProfilingEvents.FileTransfer event = beginTransfer("import", sourcePath);
+        if (AppConfig.getInstance().snapshot().lazyLoad()) {
+            LazyCourseStore store = LazyCourseStore.open(sourcePath, AppConfig.getInstance().snapshot().lazyCacheSize());
+            long loadStart = System.nanoTime();
+            courseService.replaceStore(store);
+            commitTransfer(event, store.size(), true, System.nanoTime() - loadStart);
+            System.out.println(store.size() + " courses indexed (loaded on first use).");
+        } else {
+            List<Course> courses = readRows(sourcePath, CsvParser::parseCourse);
+            long loadStart = System.nanoTime();
+            courseService.loadCourses(courses);
+            commitTransfer(event, courses.size(), false, System.nanoTime() - loadStart);
+            System.out.println(courses.size() + " courses imported.");
+        }
+    }
+
+    /**
+     * Replaces the prerequisite rules with those in {@code prerequisites.csv}, if present.
+     * Rules naming unknown courses or forming a cycle are reported and skipped.
+     */
+    private void importPrerequisites() throws IOException {
+        Path sourcePath = importDir.resolve(PREREQUISITES_FILE);
+        if (!Files.exists(sourcePath)) {
+            return;
+        }
+        courseService.getPrerequisites().clear();
+        List<String[]> rules = readRows(sourcePath, CsvParser::splitFields);
+        int added = 0;
+        for (String[] rule : rules) {
+            try {
+                if (rule.length < 2) {
+                    throw new IllegalArgumentException("Expected course and prerequisite codes: " + String.join(",", rule));
+                }
+                if (courseService.addPrerequisite(rule[0], rule[1])) {
+                    added++;
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipped prerequisite rule: " + e.getMessage());
             }
         }
+        System.out.println(added + " prerequisite rules imported.");
+    }
+
+    private void exportPrerequisites() throws IOException {
+        Path target = dataDir.resolve(PREREQUISITES_FILE);
+        List<CourseCode[]> edges = courseService.getPrerequisites().edges();
+        if (edges.isEmpty() && Files.notExists(target)) {
+            return;
+        }
+        writeRows(target, CsvParser.PREREQUISITE_HEADER, edges, edge -> CsvParser.quote(edge[0].getCode()) + "," + CsvParser.quote(edge[1].getCode()));
+        System.out.println("Prerequisite rules exported to " + target);
     }
 
     private void exportStudents() throws IOException {
-        List<String> lines = studentService.getAllStudents().stream()
-                .map(CsvParser::studentToCsv)
-                .collect(Collectors.toList());
-        lines.add(0, "regNo,fullName,email,status"); // Header
-        Files.write(studentDataFile, lines, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        ProfilingEvents.FileTransfer event = beginTransfer("export", studentDataFile);
+        int rows = writeRows(studentDataFile, CsvParser.STUDENT_HEADER, studentService.getAllStudents(), CsvParser::studentToCsv);
+        commitTransfer(event, rows, false, 0);
         System.out.println("Student data exported to " + studentDataFile);
     }
 
     private void exportCourses() throws IOException {
-        List<String> lines = courseService.getAllCourses().stream()
-                .map(CsvParser::courseToCsv)
-                .collect(Collectors.toList());
-        lines.add(0, "code,title,credits,instructor,semester,department"); // Header
-        Files.write(courseDataFile, lines, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        ProfilingEvents.FileTransfer event = beginTransfer("export", courseDataFile);
+        int rows = writeRows(courseDataFile, CsvParser.COURSE_HEADER, courseService.getAllCourses(), CsvParser::courseToCsv);
+        commitTransfer(event, rows, false, 0);
         System.out.println("Course data exported to " + courseDataFile);
     }
+
+    /**
+     * Writes every student's enrollments, so backups of the data directory hold the same
+     * files as snapshot backups.
+     */
+    private void exportEnrollments() throws IOException {
+        ProfilingEvents.FileTransfer event = beginTransfer("export", enrollmentDataFile);
+        List<Enrollment> enrollments = studentService.getAllStudents().stream()
+                .flatMap(student -> student.getEnrolledCourses().stream())
+                .collect(Collectors.toList());
+        int rows = writeRows(enrollmentDataFile, CsvParser.ENROLLMENT_HEADER, enrollments, CsvParser::enrollmentToCsv);
+        commitTransfer(event, rows, false, 0);
+        System.out.println("Enrollment data exported to " + enrollmentDataFile);
+    }
+
+    /**
+     * Reads a CSV file after its header line, parsing {@value #CHUNK_ROWS} lines at a time.
+     * Lines the parser rejects (returns null for, e.g. too few fields) are dropped; blank lines
+     * silently, any other line is reported with its line number.
+     */
+    private static <T> List<T> readRows(Path file, Function<String, T> parser) throws IOException {
+        List<T> rows = new ArrayList<>();
+        List<String> lines = new ArrayList<>(CHUNK_ROWS);
+        List<String> malformed = new ArrayList<>();
+        int lineNumber = 1; // the header
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine(); // Skip header
+            for (int index = 0; ; index++) {
+                ProfilingEvents.FileChunk event = new ProfilingEvents.FileChunk();
+                event.begin();
+                long ioStart = System.nanoTime();
+                long characters = 0;
+                String line;
+                while (lines.size() < CHUNK_ROWS && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                    characters += line.length() + 1;
+                }
+                if (lines.isEmpty()) {
+                    reportMalformed(file, malformed);
+                    return rows;
+                }
+                long parseStart = System.nanoTime();
+                for (String l : lines) {
+                    lineNumber++;
+                    T row = parser.apply(l);
+                    if (row != null) {
+                        rows.add(row);
+                    } else if (!l.isBlank()) {
+                        malformed.add(lineNumber + ": '" + l + "'");
+                    }
+                }
+                commitChunk(event, "import", file, index, lines.size(), characters, ioStart, parseStart, System.nanoTime());
+                lines.clear();
+            }
+        }
+    }
+
+    private static void reportMalformed(Path file, List<String> malformed) {
+        if (malformed.isEmpty()) {
+            return;
+        }
+        System.err.println(malformed.size() + " line(s) of " + file.getFileName() + " skipped because they could not be parsed:");
+        malformed.stream().limit(INVALID_ROWS_REPORTED).forEach(line -> System.err.println("  line " + line));
+        if (malformed.size() > INVALID_ROWS_REPORTED) {
+            System.err.println("  ... and " + (malformed.size() - INVALID_ROWS_REPORTED) + " more.");
+        }
+    }
+
+    /**
+     * Writes a header and one CSV line per item, formatting {@value #CHUNK_ROWS} items at a time.
+     *
+     * @return The number of rows written, not counting the header.
+     */
+    private static <T> int writeRows(Path file, String header, List<T> items, Function<T, String> formatter) throws IOException {
+        StringBuilder chunk = new StringBuilder();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            writer.newLine();
+            for (int from = 0, index = 0; from < items.size(); from += CHUNK_ROWS, index++) {
+                int to = Math.min(items.size(), from + CHUNK_ROWS);
+                ProfilingEvents.FileChunk event = new ProfilingEvents.FileChunk();
+                event.begin();
+                long formatStart = System.nanoTime();
+                chunk.setLength(0);
+                for (T item : items.subList(from, to)) {
+                    chunk.append(formatter.apply(item)).append(System.lineSeparator());
+                }
+                long ioStart = System.nanoTime();
+                writer.append(chunk);
+                long end = System.nanoTime();
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = "export";
+                    event.file = file.getFileName().toString();
+                    event.index = index;
+                    event.rows = to - from;
+                    event.characters = chunk.length();
+                    event.ioNanos = end - ioStart;
+                    event.cpuNanos = ioStart - formatStart;
+                    event.commit();
+                }
+            }
+        }
+        return items.size();
+    }
+
+    private static void commitChunk(ProfilingEvents.FileChunk event, String operation, Path file, int index, int rows,
+                                    long characters, long ioStart, long cpuStart, long end) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.file = file.getFileName().toString();
+            event.index = index;
+            event.rows = rows;
+            event.characters = characters;
+            event.ioNanos = cpuStart - ioStart;
+            event.cpuNanos = end - cpuStart;
+            event.commit();
+        }
+    }
+
+    private static ProfilingEvents.FileTransfer beginTransfer(String operation, Path file) {
+        ProfilingEvents.FileTransfer event = new ProfilingEvents.FileTransfer();
+        event.operation = operation;
+        event.file = file.toString();
+        event.begin();
+        return event;
+    }
+
+    private static void commitTransfer(ProfilingEvents.FileTransfer event, int rows, boolean lazy, long loadNanos) throws IOException {
+        event.end();
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.lazy = lazy;
+            event.loadNanos = loadNanos;
+            event.bytes = Files.size(Path.of(event.file));
+            event.commit();
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.service.CourseStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A {@link CourseStore} that reads courses from a courses CSV file on demand.
+ * Opening it only indexes course codes; a course is decoded the first time it is looked up.
+ * The codes themselves are registered right away, so lookups by code string work before
+ * any course has been decoded.
+ */
+public class LazyCourseStore extends LazyRecordStore<Course> implements CourseStore {
+
+    private LazyCourseStore(MappedCsvFile file, int cacheSize) {
+        super(file, cacheSize);
+        for (int record = 0; record < file.size(); record++) {
+            CourseCode.of(file.key(record));
+        }
+    }
+
+    /**
+     * Maps and indexes a courses CSV file (with header line).
+     *
+     * @param cacheSize The maximum number of decoded courses kept in memory.
+     */
+    public static LazyCourseStore open(Path csvFile, int cacheSize) throws IOException {
+        return new LazyCourseStore(MappedCsvFile.open(csvFile, true), cacheSize);
+    }
+
+    @Override
+    protected Course decode(int record, String line) {
+        return CsvParser.parseCourse(line);
+    }
+
+    @Override
+    protected String keyOf(Course course) {
+        return course.getCourseCode().getCode();
+    }
+
+    @Override
+    public Optional<Course> findByCode(CourseCode code) {
+        return find(code.getCode());
+    }
+}
@@ -0,0 +1,172 @@
+package edu.ccrm.io;
+
+import edu.ccrm.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Common logic of the lazy stores: records stay in a memory-mapped CSV file and are decoded
+ * the first time they are looked up.
+ * <ul>
+ *   <li>Decoded records are kept in a bounded LRU cache, so memory use does not grow with the file.</li>
+ *   <li>Records passed to {@link #update(Object)} and records added after startup are pinned in
+ *       memory, because the file itself is never written.</li>
+ *   <li>{@link #findAll()} and {@link #forEach(Consumer)} decode what they need without filling
+ *       the cache, so one full listing does not evict the records a session is actually working with.</li>
+ * </ul>
+ * All public methods except {@link #forEach(Consumer)} are synchronized on the store.
+ *
+ * @param <T> The record type.
+ */
+abstract class LazyRecordStore<T> {
+
+    private MappedCsvFile file;
+    private final LruCache<Integer, T> cache;
+    private final Map<Integer, T> modified = new HashMap<>();
+    private final List<T> added = new ArrayList<>();
+    private final Map<String, T> addedByKey = new HashMap<>();
+
+    protected LazyRecordStore(MappedCsvFile file, int cacheSize) {
+        this.file = file;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Turns one line of the file into a record, or returns null if the line is invalid.
+     */
+    protected abstract T decode(int record, String line);
+
+    protected abstract String keyOf(T value);
+
+    public synchronized void add(T value) {
+        added.add(value);
+        addedByKey.putIfAbsent(normalize(keyOf(value)), value);
+    }
+
+    protected synchronized Optional<T> find(String key) {
+        int record = file == null ? MappedCsvFile.NOT_FOUND : file.find(key);
+        if (record != MappedCsvFile.NOT_FOUND) {
+            T value = modified.get(record);
+            if (value == null) {
+                value = cache.get(record);
+            }
+            if (value == null) {
+                value = decode(record, file.line(record));
+                if (value != null) {
+                    cache.put(record, value);
+                }
+            }
+            return Optional.ofNullable(value);
+        }
+        return key == null ? Optional.empty() : Optional.ofNullable(addedByKey.get(normalize(key)));
+    }
+
+    public synchronized List<T> findAll() {
+        List<T> all = new ArrayList<>(size());
+        int records = file == null ? 0 : file.size();
+        for (int record = 0; record < records; record++) {
+            T value = modified.get(record);
+            if (value == null) {
+                value = cache.get(record);
+            }
+            if (value == null) {
+                value = decode(record, file.line(record));
+            }
+            if (value != null) {
+                all.add(value);
+            }
+        }
+        all.addAll(added);
+        return all;
+    }
+
+    /**
+     * Walks the mapped file record by record, then the records added since it was opened.
+     * Each record is looked up (pinned, cached or decoded without caching) under the lock and
+     * handed to the action outside it, so no list of all records is built.
+     * Records added during the walk are not visited.
+     */
+    public void forEach(Consumer<? super T> action) {
+        MappedCsvFile walked;
+        int addedCount;
+        synchronized (this) {
+            walked = file;
+            addedCount = added.size();
+        }
+        int records = walked == null ? 0 : walked.size();
+        for (int record = 0; record < records; record++) {
+            T value = current(walked, record);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+        for (int i = 0; i < addedCount; i++) {
+            T value;
+            synchronized (this) {
+                if (i >= added.size()) {
+                    return; // Replaced by a smaller dataset.
+                }
+                value = added.get(i);
+            }
+            action.accept(value);
+        }
+    }
+
+    // The current version of a record of the given file, which may have been replaced since.
+    private synchronized T current(MappedCsvFile walked, int record) {
+        T value = null;
+        if (walked == file) {
+            value = modified.get(record);
+            if (value == null) {
+                value = cache.get(record);
+            }
+        }
+        return value != null ? value : decode(record, walked.line(record));
+    }
+
+    public synchronized void update(T value) {
+        int record = file == null ? MappedCsvFile.NOT_FOUND : file.find(keyOf(value));
+        if (record != MappedCsvFile.NOT_FOUND) {
+            modified.put(record, value);
+            cache.remove(record);
+        } else if (!addedByKey.containsKey(normalize(keyOf(value)))) {
+            add(value);
+        }
+    }
+
+    public synchronized void replaceAll(List<T> values) {
+        // Not contains(null): immutable lists throw NullPointerException for that.
+        for (T value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot load a null record; drop unparseable rows before loading.");
+            }
+        }
+        file = null;
+        cache.clear();
+        modified.clear();
+        added.clear();
+        addedByKey.clear();
+        values.forEach(this::add);
+    }
+
+    public synchronized int size() {
+        return (file == null ? 0 : file.size()) + added.size();
+    }
+
+    /**
+     * Returns how many decoded records are currently held in the cache.
+     */
+    public synchronized int cachedCount() {
+        return cache.size();
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,55 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Person;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.StudentStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * A {@link StudentStore} that reads students from a students CSV file on demand.
+ * Opening it only indexes registration numbers; a student is decoded the first time it is
+ * looked up. IDs are reserved for all records up front, so a student keeps the same ID
+ * however often it is decoded again after being dropped from the cache.
+ */
+public class LazyStudentStore extends LazyRecordStore<Student> implements StudentStore {
+
+    private final long firstId;
+    private final LocalDateTime loadedAt = LocalDateTime.now();
+
+    private LazyStudentStore(MappedCsvFile file, int cacheSize) {
+        super(file, cacheSize);
+        this.firstId = Person.reserveIds(Math.max(1, file.size()));
+        // New students must never be given a registration number that is still only in the file.
+        for (int record = 0; record < file.size(); record++) {
+            Student.reserveRegNo(file.key(record));
+        }
+    }
+
+    /**
+     * Maps and indexes a students CSV file (with header line).
+     *
+     * @param cacheSize The maximum number of decoded students kept in memory.
+     */
+    public static LazyStudentStore open(Path csvFile, int cacheSize) throws IOException {
+        return new LazyStudentStore(MappedCsvFile.open(csvFile, true), cacheSize);
+    }
+
+    @Override
+    protected Student decode(int record, String line) {
+        return CsvParser.parseStudent(line, firstId + record, loadedAt);
+    }
+
+    @Override
+    protected String keyOf(Student student) {
+        return student.getRegNo();
+    }
+
+    @Override
+    public Optional<Student> findByRegNo(String regNo) {
+        return find(regNo);
+    }
+}
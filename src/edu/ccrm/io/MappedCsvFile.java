@@ -0,0 +1,217 @@
+package edu.ccrm.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only, memory-mapped CSV file with an index from each line's first column (its key)
+ * to the line's byte offset.
+ * The file content stays in the operating system's page cache; the heap only holds the index,
+ * one {@code long} offset per record plus an open-addressing hash table of {@code int}s.
+ * Lines are decoded into strings only when asked for.
+ *
+ * Keys are matched case-insensitively (ASCII) in their written form, so a quoted key
+ * (see {@link CsvParser#quote(String)}) is found by its unquoted value. Lines without a comma
+ * are not indexed.
+ * Reads use absolute positions only, so an instance can be shared between threads.
+ */
+final class MappedCsvFile {
+
+    static final int NOT_FOUND = -1;
+
+    // Files larger than 2 GB are mapped as several 1 GB segments.
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final Path path;
+    private final MappedByteBuffer[] segments;
+    private final long length;
+    private long[] offsets = new long[64];
+    private int count;
+    // record number + 1 per entry, 0 = empty; length is a power of two
+    private int[] table;
+
+    private MappedCsvFile(Path path, MappedByteBuffer[] segments, long length) {
+        this.path = path;
+        this.segments = segments;
+        this.length = length;
+    }
+
+    /**
+     * Maps a CSV file and indexes its lines.
+     *
+     * @param skipHeader Whether the first line is a header rather than a record.
+     */
+    static MappedCsvFile open(Path path, boolean skipHeader) throws IOException {
+        MappedCsvFile file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, length - start));
+            }
+            // The mapping stays valid after the channel is closed.
+            file = new MappedCsvFile(path, segments, length);
+        }
+        file.buildIndex(skipHeader);
+        return file;
+    }
+
+    private void buildIndex(boolean skipHeader) {
+        int[] hashes = new int[64];
+        long pos = skipHeader ? endOfLine(0) + 1 : 0;
+        while (pos < length) {
+            long start = pos;
+            int hash = 0;
+            boolean inKey = true;
+            boolean inQuotes = false;
+            boolean hasComma = false;
+            byte b;
+            while (pos < length && (b = byteAt(pos)) != '\n') {
+                if (inKey) {
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    }
+                    if (b == ',' && !inQuotes) {
+                        inKey = false;
+                        hasComma = true;
+                    } else {
+                        hash = 31 * hash + upper(b);
+                    }
+                }
+                pos++;
+            }
+            pos++;
+            if (hasComma) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                offsets[count] = start;
+                hashes[count] = hash;
+                count++;
+            }
+        }
+
+        table = new int[Math.max(16, Integer.highestOneBit(Math.max(1, count) * 2) << 1)];
+        int mask = table.length - 1;
+        for (int record = 0; record < count; record++) {
+            int slot = mix(hashes[record]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = record + 1;
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of indexed records.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Finds the first record whose key equals {@code key}, ignoring case.
+     *
+     * @return The record number, or {@link #NOT_FOUND}.
+     */
+    int find(String key) {
+        if (key == null) {
+            return NOT_FOUND;
+        }
+        byte[] wanted = CsvParser.quote(key).getBytes(StandardCharsets.UTF_8);
+        int hash = 0;
+        for (byte b : wanted) {
+            hash = 31 * hash + upper(b);
+        }
+        int mask = table.length - 1;
+        // Records were inserted in file order, so the first match on the probe path is the first in the file.
+        for (int slot = mix(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int record = table[slot] - 1;
+            if (keyEquals(offsets[record], wanted)) {
+                return record;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the key (first column) of a record.
+     */
+    String key(int record) {
+        long start = offsets[record];
+        long end = start;
+        boolean inQuotes = false;
+        byte b;
+        while ((b = byteAt(end)) != ',' || inQuotes) {
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            }
+            end++;
+        }
+        String raw = decode(start, end);
+        return raw.indexOf('"') < 0 ? raw : CsvParser.splitFields(raw)[0];
+    }
+
+    /**
+     * Returns the full line of a record, without its line terminator.
+     */
+    String line(int record) {
+        long start = offsets[record];
+        long end = endOfLine(start);
+        if (end > start && byteAt(end - 1) == '\r') {
+            end--;
+        }
+        return decode(start, end);
+    }
+
+    private boolean keyEquals(long start, byte[] wanted) {
+        if (start + wanted.length >= length) {
+            return false;
+        }
+        for (int i = 0; i < wanted.length; i++) {
+            if (upper(byteAt(start + i)) != upper(wanted[i])) {
+                return false;
+            }
+        }
+        return byteAt(start + wanted.length) == ',';
+    }
+
+    private long endOfLine(long pos) {
+        while (pos < length && byteAt(pos) != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private String decode(long start, long end) {
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = byteAt(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte byteAt(long pos) {
+        return segments[(int) (pos >>> SEGMENT_SHIFT)].get((int) (pos & SEGMENT_MASK));
+    }
+
+    private static int upper(byte b) {
+        return b >= 'a' && b <= 'z' ? b - ('a' - 'A') : b;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
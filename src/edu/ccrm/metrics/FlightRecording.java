@@ -0,0 +1,68 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts and stops a Java Flight Recorder recording from inside the application, using the
+ * JDK's low-overhead "default" settings plus the CCRM events in {@link ProfilingEvents}.
+ * The recording is written to a file that JDK Mission Control can open.
+ */
+public final class FlightRecording {
+
+    private static Recording recording;
+    private static Path destination;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts recording; the data is written to {@code file} when {@link #stop()} is called.
+     *
+     * @throws IllegalStateException If a recording is already running.
+     */
+    public static synchronized void start(Path file) throws IOException {
+        if (recording != null) {
+            throw new IllegalStateException("A flight recording is already running.");
+        }
+        Configuration settings;
+        try {
+            settings = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the JFR default settings: " + e.getMessage(), e);
+        }
+        Recording started = new Recording(settings);
+        started.setName("ccrm");
+        started.setToDisk(true);
+        started.start();
+        recording = started;
+        destination = file.toAbsolutePath();
+    }
+
+    /**
+     * Stops the running recording and writes it to its file.
+     *
+     * @return The file written, or null if nothing was recording.
+     */
+    public static synchronized Path stop() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        try {
+            recording.stop();
+            recording.dump(destination);
+            return destination;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
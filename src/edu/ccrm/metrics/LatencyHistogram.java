@@ -0,0 +1,108 @@
+package edu.ccrm.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear histogram of durations in nanoseconds.
+ * Values below 16 ns get a bucket each; above that, every power of two is split into
+ * {@value #SUB_BUCKETS} equal buckets, so any value is placed within 12.5% of its true size.
+ * Durations up to about 18 minutes (2<sup>40</sup> ns) are kept apart; longer ones share the last bucket.
+ *
+ * Recording is one atomic increment on a preallocated array: lock-free and allocation-free,
+ * safe to call from any number of threads.
+ *
+ * DEMONSTRATES:
+ * - Lock-free updates with AtomicLongArray.
+ * - Bit manipulation (Long.numberOfLeadingZeros) for fast bucket indexing.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int MAX_BIT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_BIT + 1)) - 1;
+    static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one duration. Negative values count as zero.
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(index(nanos));
+    }
+
+    /**
+     * Zeroes all buckets. Values recorded concurrently may or may not survive.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * Copies the current bucket counts. Buckets are read one by one, so a copy taken while
+     * values are being recorded may include some of them and not others.
+     */
+    public long[] copyCounts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    static int index(long nanos) {
+        if (nanos < LINEAR_LIMIT) {
+            return nanos < 0 ? 0 : (int) nanos;
+        }
+        long value = Math.min(nanos, MAX_VALUE);
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * The smallest value that falls into a bucket.
+     */
+    static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int msb = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * A representative value for a bucket: the middle of its range.
+     */
+    static long midpoint(int index) {
+        return (lowerBound(index) + (index + 1 < BUCKETS ? lowerBound(index + 1) : MAX_VALUE + 1) - 1) / 2;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the recorded values fall.
+     *
+     * @param counts Bucket counts from {@link #copyCounts()}.
+     * @param total The sum of {@code counts}.
+     * @param fraction Between 0 and 1, e.g. 0.99.
+     * @return The value in nanoseconds, or 0 if nothing was recorded.
+     */
+    static long percentile(long[] counts, long total, double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(counts.length - 1);
+    }
+}
@@ -0,0 +1,63 @@
+package edu.ccrm.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The application-wide registry of {@link Timer}s.
+ * Services look their timers up once, into static fields, and record into them on every call.
+ * Each timer is also published to the platform MBean server, so JConsole or VisualVM can
+ * read it under {@code edu.ccrm:type=Timer}.
+ *
+ * Timer names are {@code <area>.<operation>}, e.g. {@code enrollment.enroll}.
+ */
+public final class Metrics {
+
+    private static final ConcurrentMap<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the timer with the given name, creating and registering it on first use.
+     */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Metrics::register);
+    }
+
+    private static Timer register(String name) {
+        Timer timer = new Timer(name);
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(timer, new ObjectName("edu.ccrm:type=Timer,name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            System.err.println("Could not publish timer " + name + " over JMX: " + e.getMessage());
+        }
+        return timer;
+    }
+
+    /**
+     * @return Statistics for every timer that has recorded at least one call, by name.
+     */
+    public static List<Timer.Snapshot> snapshot() {
+        List<Timer.Snapshot> snapshots = new ArrayList<>();
+        for (Timer timer : TIMERS.values()) {
+            Timer.Snapshot snapshot = timer.snapshot();
+            if (snapshot.count() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparing(Timer.Snapshot::name));
+        return snapshots;
+    }
+
+    public static void resetAll() {
+        TIMERS.values().forEach(Timer::reset);
+    }
+}
@@ -0,0 +1,147 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Custom Java Flight Recorder events, shown under "CCRM" in JDK Mission Control.
+ * They cost next to nothing unless a recording is running (see {@link FlightRecording}); the
+ * usual pattern is {@code begin()} before the work and {@code commit()} after setting the fields.
+ *
+ * DEMONSTRATES:
+ * - Custom JFR events with annotations for labels, units and categories.
+ */
+public final class ProfilingEvents {
+
+    private ProfilingEvents() {
+    }
+
+    @Name("edu.ccrm.FileTransfer")
+    @Label("File Import/Export")
+    @Category({"CCRM", "I/O"})
+    @Description("A whole CSV file imported or exported; the duration covers reading, parsing and loading (or formatting and writing)")
+    public static final class FileTransfer extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("File")
+        public String file;
+
+        @Label("Rows")
+        public long rows;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Lazy")
+        @Description("Only indexed; records are read when first used")
+        public boolean lazy;
+
+        @Label("Load Time")
+        @Description("Time spent handing the parsed records to the service")
+        @Timespan
+        public long loadNanos;
+    }
+
+    @Name("edu.ccrm.FileChunk")
+    @Label("File Chunk")
+    @Category({"CCRM", "I/O"})
+    @Description("A block of consecutive CSV rows, split into disk time and parse/format time")
+    @StackTrace(false)
+    public static final class FileChunk extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("File")
+        public String file;
+
+        @Label("Chunk")
+        public int index;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Characters")
+        public long characters;
+
+        @Label("Disk Time")
+        @Timespan
+        public long ioNanos;
+
+        @Label("Parse/Format Time")
+        @Timespan
+        public long cpuNanos;
+    }
+
+    @Name("edu.ccrm.BackupFile")
+    @Label("Backup File")
+    @Category({"CCRM", "Backup"})
+    @Description("One data file stored in a backup")
+    public static final class BackupFile extends Event {
+        @Label("Backup")
+        public String backup;
+
+        @Label("File")
+        public String file;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Written")
+        @Description("New chunk data actually written; unchanged chunks are shared with earlier backups")
+        @DataAmount
+        public long bytesWritten;
+
+        @Label("New Chunks")
+        public int newChunks;
+
+        @Label("Unchanged")
+        @Description("Reused from the previous backup without reading the file")
+        public boolean unchanged;
+    }
+
+    @Name("edu.ccrm.Enrollment")
+    @Label("Enrollment")
+    @Category("CCRM")
+    @Description("One enrollment request and how it ended")
+    @StackTrace(false)
+    public static final class Enrollment extends Event {
+        @Label("Student")
+        public String regNo;
+
+        @Label("Course")
+        public String courseCode;
+
+        @Label("Outcome")
+        @Description("ENROLLED or REJECTED")
+        public String outcome;
+
+        @Label("Rule")
+        @Description("The rule that rejected the request, if any")
+        public String rule;
+    }
+
+    @Name("edu.ccrm.Report")
+    @Label("Report")
+    @Category("CCRM")
+    @Description("A transcript or report generated from the student data")
+    public static final class Report extends Event {
+        @Label("Report")
+        public String report;
+
+        @Label("Students")
+        @Description("Students examined")
+        public int students;
+
+        @Label("Result Rows")
+        public int rows;
+    }
+}
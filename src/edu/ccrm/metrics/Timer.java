@@ -0,0 +1,132 @@
+package edu.ccrm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how often an operation runs, how long it takes and how often it fails.
+ * Typical use, where {@code ok} tells failures apart:
+ * <pre>
+ * long start = TIMER.start();
+ * boolean ok = false;
+ * try {
+ *     ... the operation ...
+ *     ok = true;
+ * } finally {
+ *     TIMER.record(start, ok);
+ * }
+ * </pre>
+ * Recording costs two clock reads and a few lock-free increments, with no allocation.
+ */
+public final class Timer implements TimerMXBean {
+
+    /**
+     * Point-in-time statistics; durations in nanoseconds.
+     */
+    public record Snapshot(String name, long count, long errors, double ratePerSecond, long meanNanos,
+                           long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+    }
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long resetAt = System.nanoTime();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The start time to pass to {@link #record(long, boolean)}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records one call that began at {@code start}.
+     *
+     * @param succeeded False to also count the call as an error.
+     */
+    public void record(long start, boolean succeeded) {
+        long nanos = System.nanoTime() - start;
+        histogram.record(nanos);
+        totalNanos.add(nanos);
+        if (!succeeded) {
+            errors.increment();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = histogram.copyCounts();
+        long count = 0;
+        int highest = -1;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (counts[i] > 0) {
+                highest = i;
+            }
+        }
+        double seconds = (System.nanoTime() - resetAt) / 1e9;
+        return new Snapshot(name, count, errors.sum(), seconds > 0 ? count / seconds : 0,
+                count == 0 ? 0 : totalNanos.sum() / count,
+                LatencyHistogram.percentile(counts, count, 0.50),
+                LatencyHistogram.percentile(counts, count, 0.95),
+                LatencyHistogram.percentile(counts, count, 0.99),
+                highest < 0 ? 0 : LatencyHistogram.midpoint(highest));
+    }
+
+    // --- TimerMXBean ---
+
+    @Override
+    public long getCount() {
+        return snapshot().count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getRatePerSecond() {
+        return snapshot().ratePerSecond();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return snapshot().meanNanos() / 1e3;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return snapshot().p50Nanos() / 1e3;
+    }
+
+    @Override
+    public double getP95Micros() {
+        return snapshot().p95Nanos() / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return snapshot().p99Nanos() / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return snapshot().maxNanos() / 1e3;
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+        totalNanos.reset();
+        errors.reset();
+        resetAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,26 @@
+package edu.ccrm.metrics;
+
+/**
+ * The JMX view of a {@link Timer}, registered as {@code edu.ccrm:type=Timer,name=<name>}.
+ * Times are in microseconds; rates are per second since the timer was created or last reset.
+ */
+public interface TimerMXBean {
+
+    long getCount();
+
+    long getErrors();
+
+    double getRatePerSecond();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP95Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
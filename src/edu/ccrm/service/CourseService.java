@@ -1,52 +1,136 @@
 package edu.ccrm.service;
 
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
 import edu.ccrm.domain.Semester;
+import edu.ccrm.event.DomainEvent.CourseSaved;
+import edu.ccrm.event.DomainEvent.DatasetReplaced;
+import edu.ccrm.event.DomainEvent.DatasetReplaced.Dataset;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.util.StringDictionary;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class CourseService implements Searchable<Course> {
 
-    private final List<Course> courses = new ArrayList<>();
+    private volatile CourseStore courses;
+    private final PrerequisiteGraph prerequisites = new PrerequisiteGraph();
+
+    public CourseService() {
+        this(new HeapCourseStore());
+    }
+
+    public CourseService(CourseStore store) {
+        this.courses = store;
+    }
+
+    /**
+     * Switches to a different store, e.g. one that reads courses lazily from a file.
+     */
+    public void replaceStore(CourseStore store) {
+        this.courses = store;
+        DomainEventBus.emit(new DatasetReplaced(Dataset.COURSES, store.size()));
+    }
 
     public void addCourse(Course course) {
         courses.add(course);
+        DomainEventBus.emit(new CourseSaved(course.getCourseCode()));
     }
 
     public Optional<Course> findCourseByCode(String code) {
-        return courses.stream()
-                .filter(c -> c.getCourseCode().getCode().equalsIgnoreCase(code))
-                .findFirst();
+        return CourseCode.lookup(code).flatMap(this::findCourse);
+    }
+
+    public Optional<Course> findCourse(CourseCode code) {
+        return courses.findByCode(code);
+    }
+
+    /**
+     * Returns the prerequisite rules checked when students enroll.
+     */
+    public PrerequisiteGraph getPrerequisites() {
+        return prerequisites;
+    }
+
+    /**
+     * Makes one existing course a prerequisite of another.
+     *
+     * @return false if it already was one.
+     * @throws IllegalArgumentException If a course does not exist or the rule would create a cycle.
+     */
+    public boolean addPrerequisite(String courseCode, String prerequisiteCode) {
+        return prerequisites.addPrerequisite(requireCourse(courseCode), requireCourse(prerequisiteCode));
+    }
+
+    /**
+     * Removes a prerequisite rule.
+     *
+     * @return false if there was no such rule.
+     */
+    public boolean removePrerequisite(String courseCode, String prerequisiteCode) {
+        return prerequisites.removePrerequisite(requireCourse(courseCode), requireCourse(prerequisiteCode));
+    }
+
+    private CourseCode requireCourse(String code) {
+        return findCourseByCode(code)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found: " + code))
+                .getCourseCode();
     }
 
     public List<Course> getAllCourses() {
-        return new ArrayList<>(courses);
+        return courses.findAll();
+    }
+
+    /**
+     * Saves changes made to a course returned by this service.
+     */
+    public void updateCourse(Course course) {
+        courses.update(course);
+        DomainEventBus.emit(new CourseSaved(course.getCourseCode()));
     }
 
     @Override
     public List<Course> search(Predicate<Course> filter) {
-        return courses.stream()
+        return courses.findAll().stream()
                 .filter(filter)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void forEachItem(Consumer<? super Course> action) {
+        courses.forEach(action);
+    }
+
     public List<Course> filterByInstructor(String instructor) {
-        return search(c -> c.getInstructor().equalsIgnoreCase(instructor));
+        int instructorId = Course.instructorIdOf(instructor);
+        if (instructorId == StringDictionary.NONE) {
+            return new ArrayList<>();
+        }
+        return search(c -> c.getInstructorId() == instructorId);
     }
 
     public List<Course> filterByDepartment(String department) {
-        return search(c -> c.getDepartment().equalsIgnoreCase(department));
+        int departmentId = Course.departmentIdOf(department);
+        if (departmentId == StringDictionary.NONE) {
+            return new ArrayList<>();
+        }
+        return search(c -> c.getDepartmentId() == departmentId);
     }
 
     public List<Course> filterBySemester(Semester semester) {
         return search(c -> c.getSemester() == semester);
     }
     
+    /**
+     * Replaces all courses. The new dataset is built first and then swapped in,
+     * so readers see either the old or the new courses, never a mix.
+     */
     public void loadCourses(List<Course> courses) {
-        this.courses.clear();
-        this.courses.addAll(courses);
+        this.courses.replaceAll(courses);
+        DomainEventBus.emit(new DatasetReplaced(Dataset.COURSES, courses.size()));
     }
 }
@@ -0,0 +1,47 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The storage behind {@link CourseService}.
+ * Implementations may hand out the stored objects themselves or freshly decoded copies;
+ * callers that change a course must pass it to {@link #update(Course)} so the change is kept.
+ */
+public interface CourseStore {
+
+    void add(Course course);
+
+    Optional<Course> findByCode(CourseCode code);
+
+    /**
+     * Returns every course, in insertion order, as a new list.
+     */
+    List<Course> findAll();
+
+    /**
+     * Calls the action for every course, in insertion order, without building a list first.
+     * The store is not locked while the action runs, so the action may use the store.
+     * Courses added during the walk are not visited; a concurrent {@link #replaceAll(List)}
+     * may cut the walk short.
+     */
+    void forEach(Consumer<? super Course> action);
+
+    /**
+     * Writes back changes made to a course obtained from this store.
+     */
+    void update(Course course);
+
+    /**
+     * Replaces the whole content of the store.
+     *
+     * @throws IllegalArgumentException If the list contains null; callers drop unparseable rows first.
+     */
+    void replaceAll(List<Course> courses);
+
+    int size();
+}
@@ -0,0 +1,87 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Student.StudentStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable, point-in-time copy of the students and enrollments held by the services, plus
+ * the course catalogue. Capturing only copies field values into flat records, so it is cheap;
+ * everything expensive (formatting, hashing, disk I/O) can then run on another thread while
+ * the live data keeps changing.
+ *
+ * Students and enrollments are exact as of one moment. Courses are not versioned: they are read
+ * just after, so the list may also hold courses added during the capture, and the {@link Course}
+ * objects are shared rather than copied. Only their final fields (the ones written to CSV) are
+ * part of the snapshot; {@link Course#isActive()} is live and is not captured.
+ *
+ * DEMONSTRATES:
+ * - Immutable objects as a safe way to share state between threads.
+ * - Records as compact value carriers.
+ */
+public final class DataSnapshot {
+
+    public record StudentRow(String regNo, String fullName, String email, StudentStatus status) {
+    }
+
+    private final LocalDateTime takenAt;
+    private final List<StudentRow> students;
+    private final List<Course> courses;
+    private final List<Enrollment> enrollments;
+
+    private DataSnapshot(LocalDateTime takenAt, List<StudentRow> students, List<Course> courses,
+                         List<Enrollment> enrollments) {
+        this.takenAt = takenAt;
+        this.students = List.copyOf(students);
+        this.courses = List.copyOf(courses);
+        this.enrollments = List.copyOf(enrollments);
+    }
+
+    /**
+     * Copies the current state of both services.
+     * Students and enrollments come from a multi-version snapshot ({@link StudentService#openSnapshot()}),
+     * so they are consistent with each other even while other threads (e.g. API requests) keep
+     * making changes, and those writers are not blocked. Courses are read afterwards; since a
+     * course must exist before anyone can enroll in it, every captured enrollment's course is
+     * included.
+     *
+     * @param studentService The student data to copy.
+     * @param courseService The course data to copy.
+     * @return A consistent snapshot.
+     */
+    public static DataSnapshot capture(StudentService studentService, CourseService courseService) {
+        List<StudentRow> students = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        try (StudentVersions.Snapshot snapshot = studentService.openSnapshot()) {
+            for (StudentVersions.StudentVersion s : snapshot.students()) {
+                students.add(new StudentRow(s.regNo(), s.fullName(), s.email(), s.status()));
+                for (StudentVersions.EnrollmentVersion e : s.enrollments()) {
+                    enrollments.add(new Enrollment(s.regNo(), e.courseCode(), e.grade(), e.enrollmentDate()));
+                }
+            }
+        }
+        // Read courses after the students, so each enrolled course is already there.
+        // Course fields written to CSV are final, so the objects themselves can be shared.
+        return new DataSnapshot(LocalDateTime.now(), students, courseService.getAllCourses(), enrollments);
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public List<StudentRow> getStudents() {
+        return students;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public List<Enrollment> getEnrollments() {
+        return enrollments;
+    }
+}
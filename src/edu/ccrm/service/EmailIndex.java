@@ -0,0 +1,106 @@
+package edu.ccrm.service;
+
+import edu.ccrm.exception.DuplicateEmailException;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A unique index from normalized email addresses to the students that use them.
+ * Claiming an address is a single atomic {@code putIfAbsent}, so two students added at the same
+ * time on different write-lock stripes cannot both get it. Each student's current address is
+ * kept as well, so changing it releases the old one.
+ *
+ * Changes for one student must be serialized by the caller (the student's write lock).
+ */
+final class EmailIndex {
+
+    // normalized email -> registration number
+    private final ConcurrentMap<String, String> byEmail;
+    // upper-case registration number -> normalized email
+    private final ConcurrentMap<String, String> byStudent;
+
+    EmailIndex() {
+        this(16);
+    }
+
+    EmailIndex(int expectedStudents) {
+        int capacity = Math.max(16, (int) (expectedStudents / 0.75f) + 1);
+        this.byEmail = new ConcurrentHashMap<>(capacity);
+        this.byStudent = new ConcurrentHashMap<>(capacity);
+    }
+
+    /**
+     * Returns the form addresses are compared in: trimmed and lower case, or null for no address.
+     */
+    static String normalize(String email) {
+        if (email == null) {
+            return null;
+        }
+        String trimmed = email.strip();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gives a student the address {@code email}, releasing the one it had before.
+     * A student without an address holds nothing.
+     *
+     * @throws DuplicateEmailException If another student already has the address.
+     */
+    void claim(String regNo, String email) {
+        String owner = tryClaim(regNo, email);
+        if (owner != null) {
+            throw new DuplicateEmailException(email.strip(), owner);
+        }
+    }
+
+    /**
+     * Like {@link #claim(String, String)}, but reports a clash instead of throwing.
+     *
+     * @return null if the student now has the address, otherwise the student who already has it.
+     */
+    String tryClaim(String regNo, String email) {
+        String key = normalize(email);
+        String student = regNo.toUpperCase(Locale.ROOT);
+        String previous = byStudent.get(student);
+        if (key != null && key.equals(previous)) {
+            return null;
+        }
+        if (key != null) {
+            String owner = byEmail.putIfAbsent(key, regNo);
+            if (owner != null && !owner.equalsIgnoreCase(regNo)) {
+                return owner;
+            }
+            byStudent.put(student, key);
+        } else {
+            byStudent.remove(student);
+        }
+        if (previous != null) {
+            byEmail.computeIfPresent(previous, (k, owner) -> owner.equalsIgnoreCase(regNo) ? null : owner);
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the student already holds {@code email} (or holds nothing and it is blank),
+     * so saving the student needs no claim.
+     */
+    boolean holds(String regNo, String email) {
+        String key = normalize(email);
+        String current = byStudent.get(regNo.toUpperCase(Locale.ROOT));
+        return key == null ? current == null : key.equals(current);
+    }
+
+    /**
+     * Returns the registration number of the student using an address, or null.
+     */
+    String ownerOf(String email) {
+        String key = normalize(email);
+        return key == null ? null : byEmail.get(key);
+    }
+
+    int size() {
+        return byEmail.size();
+    }
+}
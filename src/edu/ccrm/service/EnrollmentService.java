@@ -2,16 +2,36 @@ package edu.ccrm.service;
 
 import edu.ccrm.config.AppConfig;
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
 import edu.ccrm.domain.Enrollment;
 import edu.ccrm.domain.Grade;
 import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Timetable;
+import edu.ccrm.event.DomainEvent.GradeAssigned;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.ProfilingEvents;
+import edu.ccrm.metrics.Timer;
 import edu.ccrm.exception.DuplicateEnrollmentException;
 import edu.ccrm.exception.MaxCreditLimitExceededException;
+import edu.ccrm.exception.PrerequisiteNotMetException;
+import edu.ccrm.exception.ScheduleConflictException;
 
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
+/**
+ * Enrolls students and records grades.
+ * Safe for concurrent use: each change runs under the student's write lock from
+ * {@link StudentService#writeLockFor(String)}, so the duplicate and credit checks cannot race
+ * with another change to the same student, while different students proceed in parallel.
+ */
 public class EnrollmentService {
 
+    private static final Timer ENROLL_TIMER = Metrics.timer("enrollment.enroll");
+    private static final Timer GRADE_TIMER = Metrics.timer("enrollment.assignGrade");
+
     private final StudentService studentService;
     private final CourseService courseService;
 
@@ -20,45 +40,159 @@ public class EnrollmentService {
         this.courseService = courseService;
     }
 
+    /**
+     * Enrolls a student in a course. Each call emits a {@link ProfilingEvents.Enrollment}
+     * flight-recorder event naming the rule that rejected it, if any.
+     */
     public void enrollStudent(String regNo, String courseCode) throws DuplicateEnrollmentException {
+        ProfilingEvents.Enrollment event = new ProfilingEvents.Enrollment();
+        event.begin();
+        long start = ENROLL_TIMER.start();
+        boolean ok = false;
+        String rejectedBy = null;
+        ReentrantLock lock = studentService.writeLockFor(regNo);
+        lock.lock();
+        try {
+            enrollStudentLocked(regNo, courseCode);
+            ok = true;
+        } catch (DuplicateEnrollmentException e) {
+            rejectedBy = "DUPLICATE_ENROLLMENT";
+            throw e;
+        } catch (MaxCreditLimitExceededException e) {
+            rejectedBy = "CREDIT_LIMIT";
+            throw e;
+        } catch (PrerequisiteNotMetException e) {
+            rejectedBy = "PREREQUISITE";
+            throw e;
+        } catch (ScheduleConflictException e) {
+            rejectedBy = "SCHEDULE_CONFLICT";
+            throw e;
+        } catch (IllegalArgumentException e) {
+            rejectedBy = "NOT_FOUND";
+            throw e;
+        } finally {
+            lock.unlock();
+            ENROLL_TIMER.record(start, ok);
+            event.end();
+            if (event.shouldCommit()) {
+                event.regNo = regNo;
+                event.courseCode = courseCode;
+                event.outcome = ok ? "ENROLLED" : "REJECTED";
+                event.rule = ok ? null : rejectedBy == null ? "ERROR" : rejectedBy;
+                event.commit();
+            }
+        }
+    }
+
+    private void enrollStudentLocked(String regNo, String courseCode) throws DuplicateEnrollmentException {
         Student student = studentService.findStudentByRegNo(regNo)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found: " + regNo));
         Course course = courseService.findCourseByCode(courseCode)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseCode));
 
         // Rule: Check for duplicate enrollment
-        boolean alreadyEnrolled = student.getEnrolledCourses().stream()
-                .anyMatch(e -> e.getCourseCode().equals(course.getCourseCode()));
-        if (alreadyEnrolled) {
+        boolean[] alreadyEnrolled = {false};
+        student.forEachEnrollment((code, grade) -> alreadyEnrolled[0] |= code == course.getCourseCode());
+        if (alreadyEnrolled[0]) {
             throw new DuplicateEnrollmentException("Student " + regNo + " is already enrolled in course " + courseCode);
         }
 
-        // Rule: Check for max credits per semester
-        int maxCredits = AppConfig.getInstance().getIntProperty("max.credits.per.semester");
-        int currentCredits = student.getEnrolledCourses().stream()
-                .map(e -> courseService.findCourseByCode(e.getCourseCode().getCode()).orElse(null))
-                .filter(c -> c != null && c.getSemester() == course.getSemester())
-                .mapToInt(Course::getCredits)
-                .sum();
+        // Rule: Check prerequisites against the precomputed closure
+        PrerequisiteGraph prerequisites = courseService.getPrerequisites();
+        if (prerequisites.hasPrerequisites(course.getCourseCode())) {
+            long[] completed = completedCourses(student);
+            if (!prerequisites.isSatisfied(course.getCourseCode(), completed)) {
+                throw new PrerequisiteNotMetException("Enrollment failed: " + courseCode + " requires "
+                        + prerequisites.missing(course.getCourseCode(), completed).stream()
+                                .map(CourseCode::getCode).collect(Collectors.joining(", ")) + ".");
+            }
+        }
+
+        // One pass over the same semester's courses sums their credits and ORs their meeting
+        // times into the student's occupancy bitmap for the semester.
+        int[] semesterCredits = {0};
+        long[] semesterTimes = {Timetable.NONE};
+        student.forEachEnrollment((code, grade) -> {
+            Course taken = courseService.findCourse(code).orElse(null);
+            if (taken != null && taken.getSemester() == course.getSemester()) {
+                semesterCredits[0] += taken.getCredits();
+                semesterTimes[0] |= taken.getSchedule();
+            }
+        });
+        int currentCredits = semesterCredits[0];
+        long occupied = semesterTimes[0];
 
+        // Rule: Check for max credits per semester
+        int maxCredits = AppConfig.getInstance().snapshot().maxCreditsPerSemester();
         if (currentCredits + course.getCredits() > maxCredits) {
             throw new MaxCreditLimitExceededException("Enrollment failed: Exceeds max credit limit of " + maxCredits + " for the semester.");
         }
 
+        // Rule: Check for timetable clashes with the semester's other courses
+        if (Timetable.overlaps(occupied, course.getSchedule())) {
+            throw new ScheduleConflictException("Enrollment failed: " + courseCode + " meets at the same time as "
+                    + describeClashes(student, course) + ".");
+        }
+
         Enrollment enrollment = new Enrollment(regNo, course.getCourseCode());
         student.addEnrollment(enrollment);
+        studentService.updateStudent(student);
+    }
+
+    /**
+     * Names the student's courses in the same semester that clash with {@code course}, with the shared times.
+     * Only used to explain a rejection, so it may take a second pass.
+     */
+    private String describeClashes(Student student, Course course) {
+        return student.getEnrolledCourses().stream()
+                .map(e -> courseService.findCourse(e.getCourseCode()).orElse(null))
+                .filter(c -> c != null && c.getSemester() == course.getSemester()
+                        && Timetable.overlaps(c.getSchedule(), course.getSchedule()))
+                .map(c -> c.getCourseCode() + " (" + Timetable.format(c.getSchedule() & course.getSchedule()) + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the courses a student has passed (graded, and not F) as a bitset over course ordinals.
+     */
+    private static long[] completedCourses(Student student) {
+        long[][] completed = {PrerequisiteGraph.newCourseSet()};
+        student.forEachEnrollment((code, grade) -> {
+            if (grade != null && grade != Grade.F) {
+                completed[0] = PrerequisiteGraph.addCourse(completed[0], code);
+            }
+        });
+        return completed[0];
     }
 
     public void assignGrade(String regNo, String courseCode, Grade grade) {
+        long start = GRADE_TIMER.start();
+        boolean ok = false;
+        ReentrantLock lock = studentService.writeLockFor(regNo);
+        lock.lock();
+        try {
+            assignGradeLocked(regNo, courseCode, grade);
+            ok = true;
+        } finally {
+            lock.unlock();
+            GRADE_TIMER.record(start, ok);
+        }
+    }
+
+    private void assignGradeLocked(String regNo, String courseCode, Grade grade) {
         Student student = studentService.findStudentByRegNo(regNo)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found: " + regNo));
 
+        CourseCode code = CourseCode.lookup(courseCode).orElse(null);
         Optional<Enrollment> enrollmentOpt = student.getEnrolledCourses().stream()
-                .filter(e -> e.getCourseCode().getCode().equalsIgnoreCase(courseCode))
+                .filter(e -> e.getCourseCode() == code)
                 .findFirst();
 
         if (enrollmentOpt.isPresent()) {
+            Grade oldGrade = enrollmentOpt.get().getGrade();
             enrollmentOpt.get().setGrade(grade);
+            studentService.updateStudent(student);
+            DomainEventBus.emit(new GradeAssigned(student.getRegNo(), code, oldGrade, grade));
         } else {
             throw new IllegalArgumentException("Student is not enrolled in this course.");
         }
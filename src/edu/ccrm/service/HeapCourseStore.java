@@ -0,0 +1,156 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Keeps courses as ordinary objects on the heap.
+ * Callers get the stored objects themselves, so {@link #update(Course)} has nothing to do.
+ *
+ * Courses are kept in insertion order, plus an array indexed by {@link CourseCode#ordinal()}
+ * for direct lookups. Reads are {@link StampedLock} optimistic reads, and
+ * {@link #replaceAll(List)} swaps in a fully built dataset, as in {@link HeapStudentStore}.
+ */
+public class HeapCourseStore implements CourseStore {
+
+    private final StampedLock lock = new StampedLock();
+    // Guarded by lock; readers copy the references into locals and validate afterwards.
+    private Course[] rows = new Course[16];
+    private int count;
+    private Course[] byOrdinal = new Course[16];
+
+    @Override
+    public void add(Course course) {
+        long stamp = lock.writeLock();
+        try {
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = course;
+            byOrdinal = index(byOrdinal, course);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Course> findByCode(CourseCode code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        long stamp = lock.tryOptimisticRead();
+        Course found = lookup(byOrdinal, code);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = lookup(byOrdinal, code);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        long stamp = lock.tryOptimisticRead();
+        Course[] snapshot = Arrays.copyOf(rows, Math.min(count, rows.length));
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                snapshot = Arrays.copyOf(rows, count);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(snapshot));
+    }
+
+    /**
+     * Walks the row array in place. Rows below the count seen by a validated read are never
+     * overwritten (adds go past them, growth and {@link #replaceAll(List)} use new arrays),
+     * so no copy is needed.
+     */
+    @Override
+    public void forEach(Consumer<? super Course> action) {
+        long stamp = lock.tryOptimisticRead();
+        Course[] walked = rows;
+        int walkedCount = count;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                walked = rows;
+                walkedCount = count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        for (int i = 0; i < walkedCount; i++) {
+            action.accept(walked[i]);
+        }
+    }
+
+    @Override
+    public void update(Course course) {
+        // The caller already modified the stored object.
+    }
+
+    @Override
+    public void replaceAll(List<Course> courses) {
+        Course[] newRows = courses.toArray(new Course[Math.max(16, courses.size())]);
+        Course[] newIndex = new Course[16];
+        for (Course course : courses) {
+            if (course == null) {
+                throw new IllegalArgumentException("Cannot load a null course; drop unparseable rows before loading.");
+            }
+            newIndex = index(newIndex, course);
+        }
+        long stamp = lock.writeLock();
+        try {
+            rows = newRows;
+            count = courses.size();
+            byOrdinal = newIndex;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = count;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    // Records a course under its code unless an earlier course already has that code.
+    private static Course[] index(Course[] byOrdinal, Course course) {
+        int ordinal = course.getCourseCode().ordinal();
+        if (ordinal >= byOrdinal.length) {
+            byOrdinal = Arrays.copyOf(byOrdinal, Math.max(ordinal + 1, byOrdinal.length * 2));
+        }
+        if (byOrdinal[ordinal] == null) {
+            byOrdinal[ordinal] = course;
+        }
+        return byOrdinal;
+    }
+
+    private static Course lookup(Course[] byOrdinal, CourseCode code) {
+        int ordinal = code.ordinal();
+        return ordinal < byOrdinal.length ? byOrdinal[ordinal] : null;
+    }
+}
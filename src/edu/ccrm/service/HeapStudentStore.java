@@ -0,0 +1,208 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Keeps students as ordinary objects on the heap.
+ * Callers get the stored objects themselves, so {@link #update(Student)} has nothing to do.
+ *
+ * Students are kept in insertion order in an array, with an open-addressing hash table from
+ * registration number to student. Lookups and listings use {@link StampedLock} optimistic reads:
+ * they take no lock at all and only retry under a read lock if a writer got in between.
+ * {@link #replaceAll(List)} builds the new arrays without any lock and then swaps them in,
+ * so a bulk reload never makes readers wait.
+ *
+ * DEMONSTRATES:
+ * - StampedLock optimistic reads.
+ */
+public class HeapStudentStore implements StudentStore {
+
+    private final StampedLock lock = new StampedLock();
+    // Guarded by lock; readers copy the references into locals and validate afterwards.
+    private Student[] rows;
+    private int count;
+    private Student[] table;
+
+    public HeapStudentStore() {
+        rows = new Student[16];
+        table = new Student[32];
+    }
+
+    @Override
+    public void add(Student student) {
+        long stamp = lock.writeLock();
+        try {
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = student;
+            if (count * 2 > table.length) {
+                table = buildTable(rows, count, table.length * 2);
+            } else {
+                insert(table, student);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Student> findByRegNo(String regNo) {
+        if (regNo == null) {
+            return Optional.empty();
+        }
+        long stamp = lock.tryOptimisticRead();
+        Student found = probe(table, regNo);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = probe(table, regNo);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        long stamp = lock.tryOptimisticRead();
+        Student[] snapshot = copyRows(rows, count);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                snapshot = copyRows(rows, count);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(snapshot));
+    }
+
+    /**
+     * Walks the row array in place. Rows below the count seen by a validated read are never
+     * overwritten (adds go past them, growth and {@link #replaceAll(List)} use new arrays),
+     * so no copy is needed.
+     */
+    @Override
+    public void forEach(Consumer<? super Student> action) {
+        long stamp = lock.tryOptimisticRead();
+        Student[] walked = rows;
+        int walkedCount = count;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                walked = rows;
+                walkedCount = count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        for (int i = 0; i < walkedCount; i++) {
+            action.accept(walked[i]);
+        }
+    }
+
+    @Override
+    public void update(Student student) {
+        // The caller already modified the stored object.
+    }
+
+    @Override
+    public void replaceAll(List<Student> students) {
+        Student[] newRows = students.toArray(new Student[0]);
+        for (Student student : newRows) {
+            if (student == null) {
+                throw new IllegalArgumentException("Cannot load a null student; drop unparseable rows before loading.");
+            }
+        }
+        Student[] newTable = buildTable(newRows, newRows.length, 32);
+        if (newRows.length == 0) {
+            newRows = new Student[16];
+        }
+        long stamp = lock.writeLock();
+        try {
+            rows = newRows;
+            count = students.size();
+            table = newTable;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = count;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    // Must not fail on a torn view: an optimistic reader may see rows and count from different writes.
+    private static Student[] copyRows(Student[] rows, int count) {
+        return Arrays.copyOf(rows, Math.min(count, rows.length));
+    }
+
+    private static Student[] buildTable(Student[] rows, int count, int minCapacity) {
+        int capacity = minCapacity;
+        while (capacity < count * 2) {
+            capacity *= 2;
+        }
+        Student[] table = new Student[capacity];
+        for (int i = 0; i < count; i++) {
+            insert(table, rows[i]);
+        }
+        return table;
+    }
+
+    // The first student added with a registration number wins, as with a linear search.
+    private static void insert(Student[] table, Student student) {
+        int mask = table.length - 1;
+        for (int i = hash(student.getRegNo()) & mask; ; i = (i + 1) & mask) {
+            Student existing = table[i];
+            if (existing == null) {
+                table[i] = student;
+                return;
+            }
+            if (existing.getRegNo().equalsIgnoreCase(student.getRegNo())) {
+                return;
+            }
+        }
+    }
+
+    // Probes at most table.length slots, so it terminates even on a torn view.
+    private static Student probe(Student[] table, String regNo) {
+        int mask = table.length - 1;
+        int i = hash(regNo) & mask;
+        for (int probes = 0; probes < table.length; probes++, i = (i + 1) & mask) {
+            Student candidate = table[i];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate.getRegNo().equalsIgnoreCase(regNo)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static int hash(String regNo) {
+        int h = regNo.toUpperCase(Locale.ROOT).hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,381 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.event.DomainEvent;
+import edu.ccrm.event.DomainEvent.CourseSaved;
+import edu.ccrm.event.DomainEvent.DatasetReplaced;
+import edu.ccrm.event.DomainEvent.EnrollmentAdded;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.event.EventConsumer;
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Instructors and their teaching loads, derived from the courses in a {@link CourseService}.
+ * Courses only name their instructor, so this service keeps {@link Instructor} objects in hash
+ * indexes keyed by the course's instructor code (see {@link Course#getInstructorId()}), together
+ * with running totals per instructor and per department: courses, credits per semester and
+ * student enrollments. Queries read those totals and never scan courses or students.
+ *
+ * The totals follow the {@link DomainEventBus}: added or changed courses and new enrollments
+ * adjust them, and a replaced dataset (import, restore) or missed events rebuild them from the
+ * services in one pass. Every query first waits until the events published before it have been
+ * applied, so a caller sees its own changes.
+ *
+ * DEMONSTRATES:
+ * - Incrementally maintained aggregates (a materialized view) fed by domain events.
+ * - Hash indexes from a dense int key to mutable accumulators.
+ */
+public class InstructorService implements AutoCloseable {
+
+    private static final Timer REBUILD_TIMER = Metrics.timer("instructors.rebuild");
+    // How long a query waits for the event consumer before answering from the current totals.
+    private static final long CATCH_UP_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    /**
+     * One instructor's teaching in one department (or in total).
+     *
+     * @param enrollments Student enrollments across the instructor's courses; a student taking two
+     *                    of them counts twice.
+     */
+    public record InstructorLoad(String instructor, String department, int courses, int credits, long enrollments) {
+    }
+
+    // Running totals for an instructor overall, or for an instructor within one department.
+    private static final class Tally {
+        final Instructor instructor;
+        final int[] creditsBySemester = new int[SEMESTERS.length];
+        int courses;
+        int credits;
+        long enrollments;
+
+        Tally(Instructor instructor) {
+            this.instructor = instructor;
+        }
+    }
+
+    // The instructors teaching a department's courses, by instructor code.
+    private static final class Department {
+        final String name;
+        final Map<Integer, Tally> instructors = new HashMap<>();
+
+        Department(String name) {
+            this.name = name;
+        }
+    }
+
+    // The indexed state of one course: the version counted in the totals and its enrollments.
+    private static final class CourseEntry {
+        final Course course;
+        long enrollments;
+
+        CourseEntry(Course course, long enrollments) {
+            this.course = course;
+            this.enrollments = enrollments;
+        }
+    }
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final DomainEventBus bus;
+    private final DomainEventBus.Subscription subscription;
+    private volatile boolean closed;
+
+    // All guarded by this.
+    private final Map<CourseCode, CourseEntry> courses = new HashMap<>();
+    private final Map<Integer, Tally> byInstructor = new HashMap<>();
+    private final Map<Integer, Department> byDepartment = new HashMap<>();
+    // Every instructor seen so far, kept across rebuilds so each name keeps one Instructor (and ID).
+    private final Map<Integer, Instructor> instructors = new HashMap<>();
+    // Events before this sequence are already reflected in the last rebuild.
+    private long rebuiltAt;
+
+    public InstructorService(StudentService studentService, CourseService courseService) {
+        this(studentService, courseService, DomainEventBus.getInstance());
+    }
+
+    public InstructorService(StudentService studentService, CourseService courseService, DomainEventBus bus) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.bus = bus;
+        this.subscription = bus.subscribe("instructors", 1024, new DomainEventConsumer());
+        rebuild();
+    }
+
+    /**
+     * Finds an instructor by name, ignoring case.
+     */
+    public Optional<Instructor> findInstructor(String name) {
+        awaitEvents();
+        synchronized (this) {
+            Tally tally = byInstructor.get(Course.instructorIdOf(name));
+            return tally == null ? Optional.empty() : Optional.of(tally.instructor);
+        }
+    }
+
+    /**
+     * Returns every instructor who teaches at least one course, by name.
+     */
+    public List<Instructor> getAllInstructors() {
+        awaitEvents();
+        List<Instructor> instructors = new ArrayList<>();
+        synchronized (this) {
+            byInstructor.values().forEach(t -> instructors.add(t.instructor));
+        }
+        instructors.sort(Comparator.comparing(Instructor::getFullName, String.CASE_INSENSITIVE_ORDER));
+        return instructors;
+    }
+
+    /**
+     * Returns the credits an instructor teaches in each semester; empty for an unknown instructor.
+     */
+    public Map<Semester, Integer> getTeachingLoad(String instructor) {
+        awaitEvents();
+        Map<Semester, Integer> load = new EnumMap<>(Semester.class);
+        synchronized (this) {
+            Tally tally = byInstructor.get(Course.instructorIdOf(instructor));
+            if (tally != null) {
+                for (Semester semester : SEMESTERS) {
+                    load.put(semester, tally.creditsBySemester[semester.ordinal()]);
+                }
+            }
+        }
+        return load;
+    }
+
+    /**
+     * Returns the student enrollments across an instructor's courses, or 0 for an unknown instructor.
+     */
+    public long getStudentsTaught(String instructor) {
+        awaitEvents();
+        synchronized (this) {
+            Tally tally = byInstructor.get(Course.instructorIdOf(instructor));
+            return tally == null ? 0 : tally.enrollments;
+        }
+    }
+
+    /**
+     * Returns an instructor's totals over all departments, listed under the department of the
+     * first of their courses that was indexed.
+     */
+    public Optional<InstructorLoad> getLoad(String instructor) {
+        awaitEvents();
+        synchronized (this) {
+            Tally tally = byInstructor.get(Course.instructorIdOf(instructor));
+            return tally == null ? Optional.empty() : Optional.of(toLoad(tally, tally.instructor.getDepartment()));
+        }
+    }
+
+    /**
+     * Returns the instructors teaching the most credits in a department's courses, with
+     * enrollments and then name breaking ties.
+     */
+    public List<InstructorLoad> getBusiestInstructors(String department, int n) {
+        awaitEvents();
+        int departmentId = Course.departmentIdOf(department);
+        synchronized (this) {
+            Department found = byDepartment.get(departmentId);
+            return found == null ? new ArrayList<>() : busiest(found, n);
+        }
+    }
+
+    /**
+     * Returns the busiest {@code n} instructors of every department, by department name.
+     */
+    public Map<String, List<InstructorLoad>> getBusiestInstructorsByDepartment(int n) {
+        awaitEvents();
+        Map<String, List<InstructorLoad>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        synchronized (this) {
+            byDepartment.values().forEach(department -> result.put(department.name, busiest(department, n)));
+        }
+        return result;
+    }
+
+    /**
+     * Stops following changes; the totals stay as they are.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        subscription.close();
+    }
+
+    private static List<InstructorLoad> busiest(Department department, int n) {
+        return department.instructors.values().stream()
+                .sorted(Comparator.<Tally>comparingInt(t -> t.credits).reversed()
+                        .thenComparing(Comparator.<Tally>comparingLong(t -> t.enrollments).reversed())
+                        .thenComparing(t -> t.instructor.getFullName(), String.CASE_INSENSITIVE_ORDER))
+                .limit(Math.max(0, n))
+                .map(t -> toLoad(t, department.name))
+                .toList();
+    }
+
+    private static InstructorLoad toLoad(Tally tally, String department) {
+        return new InstructorLoad(tally.instructor.getFullName(), department, tally.courses, tally.credits, tally.enrollments);
+    }
+
+    /**
+     * Waits until the consumer has applied every event published before this call.
+     * Returns at once after {@link #close()}. Not called from the consumer itself.
+     */
+    private void awaitEvents() {
+        long target = bus.publishedCount();
+        long deadline = System.nanoTime() + CATCH_UP_TIMEOUT_NANOS;
+        while (!closed && subscription.getSequence() < target && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Recomputes every total from the services.
+     * Student writers are held off during the scan. Enrollments are added and announced under
+     * the student's write lock, so every enrollment event published before the scan is in it
+     * and every later one is not: the events before {@link #rebuiltAt} are skipped, and none
+     * is counted twice or lost.
+     */
+    private synchronized void rebuild() {
+        long start = REBUILD_TIMER.start();
+        boolean ok = false;
+        studentService.lockAllWriters();
+        try {
+            rebuiltAt = bus.publishedCount();
+            courses.clear();
+            byInstructor.clear();
+            byDepartment.clear();
+            for (Instructor instructor : instructors.values()) {
+                instructor.getCoursesTaught().forEach(instructor::removeCourse);
+            }
+            courseService.forEachItem(course -> courses.put(course.getCourseCode(), new CourseEntry(course, 0)));
+            studentService.forEachItem(student -> student.forEachEnrollment((code, grade) -> {
+                CourseEntry entry = courses.get(code);
+                if (entry != null) {
+                    entry.enrollments++;
+                }
+            }));
+            for (CourseEntry entry : courses.values()) {
+                count(entry, 1);
+            }
+            ok = true;
+        } finally {
+            studentService.unlockAllWriters();
+            REBUILD_TIMER.record(start, ok);
+        }
+    }
+
+    private synchronized void apply(long firstSequence, List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof DatasetReplaced) {
+                rebuild();
+                break;
+            }
+        }
+        for (int i = 0; i < events.size(); i++) {
+            if (firstSequence + i < rebuiltAt) {
+                continue;
+            }
+            DomainEvent event = events.get(i);
+            if (event instanceof CourseSaved saved) {
+                courseSaved(saved.courseCode());
+            } else if (event instanceof EnrollmentAdded added) {
+                CourseEntry entry = courses.get(added.courseCode());
+                if (entry != null && entry.course.getInstructorId() != StringDictionary.NONE) {
+                    Course course = entry.course;
+                    entry.enrollments++;
+                    byInstructor.get(course.getInstructorId()).enrollments++;
+                    byDepartment.get(course.getDepartmentId()).instructors.get(course.getInstructorId()).enrollments++;
+                }
+            }
+        }
+    }
+
+    // Moves a course's contribution from its previous version to its current one.
+    private void courseSaved(CourseCode code) {
+        CourseEntry previous = courses.remove(code);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        Optional<Course> current = courseService.findCourse(code);
+        if (current.isPresent()) {
+            CourseEntry entry = new CourseEntry(current.get(), previous == null ? 0 : previous.enrollments);
+            courses.put(code, entry);
+            count(entry, 1);
+        }
+    }
+
+    /**
+     * Adds ({@code sign} 1) or removes ({@code sign} -1) a course's contribution to the totals.
+     */
+    private void count(CourseEntry entry, int sign) {
+        Course course = entry.course;
+        int instructorId = course.getInstructorId();
+        if (instructorId == StringDictionary.NONE) {
+            return;
+        }
+        Tally total = byInstructor.get(instructorId);
+        if (total == null) {
+            total = new Tally(instructors.computeIfAbsent(instructorId,
+                    i -> new Instructor(course.getInstructor(), null, course.getDepartment())));
+            byInstructor.put(instructorId, total);
+        }
+        Instructor instructor = total.instructor;
+        Department department = byDepartment.computeIfAbsent(course.getDepartmentId(),
+                d -> new Department(course.getDepartment()));
+        Tally inDepartment = department.instructors.computeIfAbsent(instructorId, i -> new Tally(instructor));
+        add(total, course, entry.enrollments, sign);
+        add(inDepartment, course, entry.enrollments, sign);
+
+        if (sign > 0) {
+            instructor.addCourse(course.getCourseCode());
+        } else {
+            instructor.removeCourse(course.getCourseCode());
+            if (inDepartment.courses == 0) {
+                department.instructors.remove(instructorId);
+                if (department.instructors.isEmpty()) {
+                    byDepartment.remove(course.getDepartmentId());
+                }
+            }
+            if (total.courses == 0) {
+                byInstructor.remove(instructorId);
+            }
+        }
+    }
+
+    private static void add(Tally tally, Course course, long enrollments, int sign) {
+        tally.courses += sign;
+        tally.credits += sign * course.getCredits();
+        if (course.getSemester() != null) {
+            tally.creditsBySemester[course.getSemester().ordinal()] += sign * course.getCredits();
+        }
+        tally.enrollments += sign * enrollments;
+    }
+
+    private final class DomainEventConsumer implements EventConsumer {
+
+        @Override
+        public void onEvents(long firstSequence, List<DomainEvent> events) {
+            apply(firstSequence, events);
+        }
+
+        @Override
+        public void onMissed(long missed) {
+            rebuild();
+        }
+    }
+}
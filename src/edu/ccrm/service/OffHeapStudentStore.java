@@ -0,0 +1,401 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Student.StudentStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Keeps students and their enrollments outside the Java heap, so even very large datasets
+ * add almost nothing for the garbage collector to trace.
+ * Records live in direct (off-heap) memory in fixed-size slots:
+ * <pre>
+ * student slot (72 bytes)                    enrollment slot (24 bytes)
+ *  0 long id                                  0 int  course ordinal
+ *  8 long dateCreated  (epoch second)         4 byte grade ordinal, -1 = none
+ * 16 long dateModified (epoch second)         8 long enrolledAt (epoch second)
+ * 24 int,int regNo  (string heap offset, length)  16 int next enrollment slot, -1 = none
+ * 32 int,int fullName                        20 int enrolledAt nano-of-second
+ * 40 int,int email
+ * 48 byte status
+ * 52 int first enrollment slot, -1 = none
+ * 56 int last enrollment slot
+ * 60 int enrollment count
+ * 64 int dateCreated nano-of-second
+ * 68 int dateModified nano-of-second
+ * </pre>
+ * Timestamps keep their nanoseconds, so students and enrollments read back exactly as stored.
+ * Variable-length text is appended to a separate UTF-8 string heap, and registration numbers
+ * are found through an open-addressing hash index that is also off-heap.
+ * Changing a name or email leaves the old text behind; when the string heap is full and at least
+ * half of it is such garbage, it is compacted by copying only the live strings instead of growing.
+ * {@link Student} and {@link Enrollment} objects are only created when a caller asks for them.
+ *
+ * Offsets are {@code int}s and each area is a single {@code ByteBuffer}, so no area can grow past
+ * 2 GB: roughly 29 million students, 89 million enrollments or 2 GB of live text. Adding beyond
+ * that fails with an {@link IllegalStateException}; use the heap or lazy store for such datasets.
+ *
+ * All access is synchronized on the store.
+ *
+ * DEMONSTRATES:
+ * - Direct ByteBuffers for off-heap memory with absolute (index-based) access.
+ */
+public class OffHeapStudentStore implements StudentStore {
+
+    private static final int STUDENT_SLOT = 72;
+    private static final int S_ID = 0;
+    private static final int S_CREATED = 8;
+    private static final int S_MODIFIED = 16;
+    private static final int S_REGNO = 24;
+    private static final int S_NAME = 32;
+    private static final int S_EMAIL = 40;
+    private static final int S_STATUS = 48;
+    private static final int S_FIRST_ENROLLMENT = 52;
+    private static final int S_LAST_ENROLLMENT = 56;
+    private static final int S_ENROLLMENT_COUNT = 60;
+    private static final int S_CREATED_NANOS = 64;
+    private static final int S_MODIFIED_NANOS = 68;
+
+    private static final int ENROLLMENT_SLOT = 24;
+    private static final int E_COURSE = 0;
+    private static final int E_GRADE = 4;
+    private static final int E_ENROLLED_AT = 8;
+    private static final int E_NEXT = 16;
+    private static final int E_ENROLLED_AT_NANOS = 20;
+
+    private static final int INITIAL_STRING_BYTES = 8 * 1024;
+    // A ByteBuffer is indexed by int, so this is the most any one area can hold.
+    private static final long MAX_AREA_BYTES = Integer.MAX_VALUE;
+
+    private static final int NONE = -1;
+    private static final StudentStatus[] STATUSES = StudentStatus.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    private ByteBuffer students;
+    private int studentCount;
+    private ByteBuffer enrollments;
+    private int enrollmentCount;
+    private ByteBuffer strings;
+    private int stringBytes;
+    // Bytes of the strings students currently point to; the rest of stringBytes is garbage.
+    private int liveStringBytes;
+    // Hash index: slot number + 1 per entry, 0 = empty. Capacity is a power of two.
+    private ByteBuffer index;
+    private int indexCapacity;
+
+    public OffHeapStudentStore() {
+        clear();
+    }
+
+    private void clear() {
+        students = allocate(STUDENT_SLOT * 64);
+        enrollments = allocate(ENROLLMENT_SLOT * 256);
+        strings = allocate(INITIAL_STRING_BYTES);
+        indexCapacity = 128;
+        index = allocate(indexCapacity * Integer.BYTES);
+        studentCount = 0;
+        enrollmentCount = 0;
+        stringBytes = 0;
+        liveStringBytes = 0;
+    }
+
+    @Override
+    public synchronized void add(Student student) {
+        students = ensureCapacity(students, (long) (studentCount + 1) * STUDENT_SLOT, "students");
+        int slot = studentCount++;
+        int base = slot * STUDENT_SLOT;
+        students.putLong(base + S_ID, student.getId());
+        putTime(students, base + S_CREATED, base + S_CREATED_NANOS, student.getDateCreated());
+        writeString(base + S_REGNO, student.getRegNo());
+        students.putInt(base + S_FIRST_ENROLLMENT, NONE);
+        students.putInt(base + S_LAST_ENROLLMENT, NONE);
+        students.putInt(base + S_ENROLLMENT_COUNT, 0);
+        writeMutableFields(slot, student);
+        indexInsert(slot, student.getRegNo());
+    }
+
+    @Override
+    public synchronized Optional<Student> findByRegNo(String regNo) {
+        int slot = indexFind(regNo);
+        return slot == NONE ? Optional.empty() : Optional.of(materialize(slot));
+    }
+
+    @Override
+    public synchronized List<Student> findAll() {
+        List<Student> all = new ArrayList<>(studentCount);
+        for (int slot = 0; slot < studentCount; slot++) {
+            all.add(materialize(slot));
+        }
+        return all;
+    }
+
+    /**
+     * Decodes one slot at a time, under the lock, and runs the action outside it;
+     * no list of all students is built. Students added during the walk are not visited.
+     */
+    @Override
+    public void forEach(Consumer<? super Student> action) {
+        int walkedCount;
+        synchronized (this) {
+            walkedCount = studentCount;
+        }
+        for (int slot = 0; slot < walkedCount; slot++) {
+            Student student;
+            synchronized (this) {
+                if (slot >= studentCount) {
+                    return; // Replaced by a smaller dataset.
+                }
+                student = materialize(slot);
+            }
+            action.accept(student);
+        }
+    }
+
+    @Override
+    public synchronized void update(Student student) {
+        int slot = indexFind(student.getRegNo());
+        if (slot == NONE) {
+            add(student);
+        } else {
+            writeMutableFields(slot, student);
+        }
+    }
+
+    @Override
+    public synchronized void replaceAll(List<Student> students) {
+        // Not contains(null): immutable lists throw NullPointerException for that.
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("Cannot load a null student; drop unparseable rows before loading.");
+            }
+        }
+        clear();
+        students.forEach(this::add);
+    }
+
+    @Override
+    public synchronized int size() {
+        return studentCount;
+    }
+
+    /**
+     * Total off-heap memory reserved by this store, in bytes.
+     */
+    public synchronized long reservedBytes() {
+        return (long) students.capacity() + enrollments.capacity() + strings.capacity() + index.capacity();
+    }
+
+    private void writeMutableFields(int slot, Student student) {
+        int base = slot * STUDENT_SLOT;
+        putTime(students, base + S_MODIFIED, base + S_MODIFIED_NANOS, student.getDateModified());
+        if (!student.getFullName().equals(readString(base + S_NAME))) {
+            writeString(base + S_NAME, student.getFullName());
+        }
+        if (!student.getEmail().equals(readString(base + S_EMAIL))) {
+            writeString(base + S_EMAIL, student.getEmail());
+        }
+        students.put(base + S_STATUS, (byte) student.getStatus().ordinal());
+
+        // Enrollments are never removed: existing slots only get their grade refreshed,
+        // and enrollments beyond the stored count are appended to the student's chain.
+        List<Enrollment> current = student.getEnrolledCourses();
+        int stored = students.getInt(base + S_ENROLLMENT_COUNT);
+        int e = students.getInt(base + S_FIRST_ENROLLMENT);
+        for (int i = 0; i < stored && i < current.size(); i++) {
+            enrollments.put(e * ENROLLMENT_SLOT + E_GRADE, gradeByte(current.get(i).getGrade()));
+            e = enrollments.getInt(e * ENROLLMENT_SLOT + E_NEXT);
+        }
+        for (int i = stored; i < current.size(); i++) {
+            appendEnrollment(base, current.get(i));
+        }
+    }
+
+    private void appendEnrollment(int studentBase, Enrollment enrollment) {
+        enrollments = ensureCapacity(enrollments, (long) (enrollmentCount + 1) * ENROLLMENT_SLOT, "enrollments");
+        int slot = enrollmentCount++;
+        int base = slot * ENROLLMENT_SLOT;
+        enrollments.putInt(base + E_COURSE, enrollment.getCourseCode().ordinal());
+        enrollments.put(base + E_GRADE, gradeByte(enrollment.getGrade()));
+        putTime(enrollments, base + E_ENROLLED_AT, base + E_ENROLLED_AT_NANOS, enrollment.getEnrollmentDate());
+        enrollments.putInt(base + E_NEXT, NONE);
+
+        int last = students.getInt(studentBase + S_LAST_ENROLLMENT);
+        if (last == NONE) {
+            students.putInt(studentBase + S_FIRST_ENROLLMENT, slot);
+        } else {
+            enrollments.putInt(last * ENROLLMENT_SLOT + E_NEXT, slot);
+        }
+        students.putInt(studentBase + S_LAST_ENROLLMENT, slot);
+        students.putInt(studentBase + S_ENROLLMENT_COUNT, students.getInt(studentBase + S_ENROLLMENT_COUNT) + 1);
+    }
+
+    private Student materialize(int slot) {
+        int base = slot * STUDENT_SLOT;
+        String regNo = readString(base + S_REGNO);
+        Student student = new Student(
+                students.getLong(base + S_ID),
+                regNo,
+                readString(base + S_NAME),
+                readString(base + S_EMAIL),
+                STATUSES[students.get(base + S_STATUS)],
+                getTime(students, base + S_CREATED, base + S_CREATED_NANOS),
+                getTime(students, base + S_MODIFIED, base + S_MODIFIED_NANOS));
+        for (int e = students.getInt(base + S_FIRST_ENROLLMENT); e != NONE;
+             e = enrollments.getInt(e * ENROLLMENT_SLOT + E_NEXT)) {
+            int eBase = e * ENROLLMENT_SLOT;
+            byte grade = enrollments.get(eBase + E_GRADE);
+            student.loadEnrollment(new Enrollment(regNo,
+                    CourseCode.byOrdinal(enrollments.getInt(eBase + E_COURSE)),
+                    grade == NONE ? null : GRADES[grade],
+                    getTime(enrollments, eBase + E_ENROLLED_AT, eBase + E_ENROLLED_AT_NANOS)));
+        }
+        return student;
+    }
+
+    // --- String heap ---
+
+    private void writeString(int fieldOffset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // The old value becomes garbage. Fields of a new slot are still zero (empty).
+        liveStringBytes -= students.getInt(fieldOffset + Integer.BYTES);
+        students.putInt(fieldOffset, 0);
+        students.putInt(fieldOffset + Integer.BYTES, 0);
+        // Compact instead of growing while at least half of the string heap is garbage.
+        if (stringBytes + bytes.length > strings.capacity() && stringBytes - liveStringBytes >= liveStringBytes) {
+            compactStrings();
+        }
+        strings = ensureCapacity(strings, (long) stringBytes + bytes.length, "text");
+        strings.put(stringBytes, bytes);
+        students.putInt(fieldOffset, stringBytes);
+        students.putInt(fieldOffset + Integer.BYTES, bytes.length);
+        stringBytes += bytes.length;
+        liveStringBytes += bytes.length;
+    }
+
+    /**
+     * Copies the live strings of every student to a fresh string heap of the same size,
+     * dropping the garbage left by renames and email changes. Only called when at least half
+     * of the heap is garbage, so at least half of it is free afterwards.
+     */
+    private void compactStrings() {
+        ByteBuffer compacted = allocate(strings.capacity());
+        int used = 0;
+        for (int slot = 0; slot < studentCount; slot++) {
+            int base = slot * STUDENT_SLOT;
+            for (int field : new int[] {S_REGNO, S_NAME, S_EMAIL}) {
+                int length = students.getInt(base + field + Integer.BYTES);
+                compacted.put(used, strings, students.getInt(base + field), length);
+                students.putInt(base + field, used);
+                used += length;
+            }
+        }
+        strings = compacted;
+        stringBytes = used;
+    }
+
+    private String readString(int fieldOffset) {
+        int offset = students.getInt(fieldOffset);
+        int length = students.getInt(fieldOffset + Integer.BYTES);
+        byte[] bytes = new byte[length];
+        strings.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // --- Registration number index (open addressing, linear probing) ---
+
+    private void indexInsert(int slot, String regNo) {
+        if ((studentCount) * 2 > indexCapacity) {
+            rehash(indexCapacity * 2);
+        }
+        int mask = indexCapacity - 1;
+        int i = hash(regNo) & mask;
+        while (index.getInt(i * Integer.BYTES) != 0) {
+            i = (i + 1) & mask;
+        }
+        index.putInt(i * Integer.BYTES, slot + 1);
+    }
+
+    private int indexFind(String regNo) {
+        if (regNo == null) {
+            return NONE;
+        }
+        int mask = indexCapacity - 1;
+        int i = hash(regNo) & mask;
+        int entry;
+        while ((entry = index.getInt(i * Integer.BYTES)) != 0) {
+            int slot = entry - 1;
+            if (readString(slot * STUDENT_SLOT + S_REGNO).equalsIgnoreCase(regNo)) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return NONE;
+    }
+
+    private void rehash(int newCapacity) {
+        indexCapacity = newCapacity;
+        index = allocate(newCapacity * Integer.BYTES);
+        int mask = newCapacity - 1;
+        // Re-insert in slot order so the first of any duplicate regNos is still found first.
+        for (int slot = 0; slot < studentCount - 1; slot++) {
+            int i = hash(readString(slot * STUDENT_SLOT + S_REGNO)) & mask;
+            while (index.getInt(i * Integer.BYTES) != 0) {
+                i = (i + 1) & mask;
+            }
+            index.putInt(i * Integer.BYTES, slot + 1);
+        }
+    }
+
+    private static int hash(String regNo) {
+        int h = regNo.toUpperCase(Locale.ROOT).hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // --- Helpers ---
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, long required, String area) {
+        if (required <= buffer.capacity()) {
+            return buffer;
+        }
+        if (required > MAX_AREA_BYTES) {
+            throw new IllegalStateException("Off-heap student store is full: its " + area
+                    + " area cannot grow past 2 GB. Use the heap or lazy student store for this dataset.");
+        }
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        ByteBuffer bigger = allocate((int) Math.min(capacity, MAX_AREA_BYTES));
+        bigger.put(0, buffer, 0, buffer.capacity());
+        return bigger;
+    }
+
+    private static byte gradeByte(Grade grade) {
+        return grade == null ? (byte) NONE : (byte) grade.ordinal();
+    }
+
+    private static void putTime(ByteBuffer buffer, int secondsOffset, int nanosOffset, LocalDateTime time) {
+        buffer.putLong(secondsOffset, time.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(nanosOffset, time.getNano());
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer, int secondsOffset, int nanosOffset) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(secondsOffset), buffer.getInt(nanosOffset), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,278 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.CourseCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Course prerequisites as a directed acyclic graph over {@link CourseCode}s.
+ * Besides the direct prerequisites, the graph keeps each course's transitive closure (every
+ * course needed before it, directly or through a chain) as a bitset indexed by
+ * {@link CourseCode#ordinal()}. Checking a student against a course is then a few word
+ * operations against the student's completed-course bitset, with no graph walk.
+ *
+ * The closure is updated incrementally: adding an edge ORs the new requirements into the
+ * course and everything that depends on it; removing one recomputes only those courses.
+ * A new edge that would close a cycle is found with a single bit test and rejected.
+ *
+ * Changes are rare and copy the affected rows (copy-on-write), so readers on the enrollment
+ * path never lock and always see a consistent graph.
+ *
+ * DEMONSTRATES:
+ * - Bitsets as compact sets over dense ordinals.
+ * - Copy-on-write publication through a volatile field.
+ */
+public final class PrerequisiteGraph {
+
+    // Rows are null for courses without prerequisites; courses beyond the array length have none.
+    private record State(long[][] direct, long[][] closure) {
+    }
+
+    private volatile State state = new State(new long[0][], new long[0][]);
+
+    /**
+     * Makes {@code prerequisite} a direct prerequisite of {@code course}.
+     *
+     * @return false if it already was one.
+     * @throws IllegalArgumentException If the edge would create a cycle (including a course requiring itself).
+     */
+    public synchronized boolean addPrerequisite(CourseCode course, CourseCode prerequisite) {
+        State current = state;
+        int c = course.ordinal();
+        int p = prerequisite.ordinal();
+        if (c == p || contains(row(current.closure(), p), c)) {
+            throw new IllegalArgumentException("Making " + prerequisite + " a prerequisite of " + course
+                    + " would create a cycle: " + prerequisite + " already requires " + course + ".");
+        }
+        if (contains(row(current.direct(), c), p)) {
+            return false;
+        }
+        int size = Math.max(current.direct().length, Math.max(c, p) + 1);
+        long[][] direct = Arrays.copyOf(current.direct(), size);
+        long[][] closure = Arrays.copyOf(current.closure(), size);
+        direct[c] = withBit(direct[c], p);
+
+        // Everything that requires the course (and the course itself) now also requires p and p's closure.
+        long[] added = withBit(copy(row(closure, p)), p);
+        for (int d = 0; d < size; d++) {
+            if (d == c || contains(closure[d], c)) {
+                closure[d] = or(closure[d], added);
+            }
+        }
+        state = new State(direct, closure);
+        return true;
+    }
+
+    /**
+     * Removes a direct prerequisite and recomputes the closure of the courses it affected.
+     *
+     * @return false if it was not a direct prerequisite.
+     */
+    public synchronized boolean removePrerequisite(CourseCode course, CourseCode prerequisite) {
+        State current = state;
+        int c = course.ordinal();
+        if (!contains(row(current.direct(), c), prerequisite.ordinal())) {
+            return false;
+        }
+        long[][] direct = current.direct().clone();
+        long[][] closure = current.closure().clone();
+        direct[c] = withoutBit(direct[c], prerequisite.ordinal());
+
+        List<Integer> affected = new ArrayList<>();
+        for (int d = 0; d < closure.length; d++) {
+            if (d == c || contains(closure[d], c)) {
+                affected.add(d);
+            }
+        }
+        // In a DAG a course's closure strictly contains the closure of everything it requires,
+        // so the old closure sizes order the affected courses prerequisites-first.
+        affected.sort(Comparator.comparingInt(d -> cardinality(current.closure()[d])));
+        for (int d : affected) {
+            long[] rebuilt = null;
+            long[] requires = direct[d];
+            for (int p = nextSetBit(requires, 0); p >= 0; p = nextSetBit(requires, p + 1)) {
+                rebuilt = or(withBit(rebuilt, p), row(closure, p));
+            }
+            closure[d] = rebuilt;
+        }
+        state = new State(direct, closure);
+        return true;
+    }
+
+    /**
+     * Checks whether a student who completed the courses in {@code completed} may take {@code course}.
+     *
+     * @param completed A bitset over course ordinals (see {@link #newCourseSet()}); may be shorter than needed.
+     */
+    public boolean isSatisfied(CourseCode course, long[] completed) {
+        long[] required = row(state.closure(), course.ordinal());
+        if (required == null) {
+            return true;
+        }
+        for (int i = 0; i < required.length; i++) {
+            long have = i < completed.length ? completed[i] : 0;
+            if ((required[i] & ~have) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the course has any prerequisites, so callers can skip building a bitset.
+     */
+    public boolean hasPrerequisites(CourseCode course) {
+        return row(state.closure(), course.ordinal()) != null;
+    }
+
+    /**
+     * Returns the courses in the closure of {@code course} that are not in {@code completed}.
+     */
+    public List<CourseCode> missing(CourseCode course, long[] completed) {
+        List<CourseCode> missing = new ArrayList<>();
+        long[] required = row(state.closure(), course.ordinal());
+        for (int p = nextSetBit(required, 0); p >= 0; p = nextSetBit(required, p + 1)) {
+            if (!contains(completed, p)) {
+                missing.add(CourseCode.byOrdinal(p));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Returns the direct prerequisites of a course.
+     */
+    public List<CourseCode> directPrerequisites(CourseCode course) {
+        return toCodes(row(state.direct(), course.ordinal()));
+    }
+
+    /**
+     * Returns every course required before {@code course}, directly or through a chain.
+     */
+    public List<CourseCode> allPrerequisites(CourseCode course) {
+        return toCodes(row(state.closure(), course.ordinal()));
+    }
+
+    /**
+     * Returns every direct edge as {@code {course, prerequisite}} pairs, e.g. for export.
+     */
+    public List<CourseCode[]> edges() {
+        long[][] direct = state.direct();
+        List<CourseCode[]> edges = new ArrayList<>();
+        for (int c = 0; c < direct.length; c++) {
+            for (int p = nextSetBit(direct[c], 0); p >= 0; p = nextSetBit(direct[c], p + 1)) {
+                edges.add(new CourseCode[] {CourseCode.byOrdinal(c), CourseCode.byOrdinal(p)});
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Removes every prerequisite.
+     */
+    public synchronized void clear() {
+        state = new State(new long[0][], new long[0][]);
+    }
+
+    /**
+     * Returns an empty bitset large enough for every course code that exists now.
+     */
+    public static long[] newCourseSet() {
+        return new long[(CourseCode.count() + 63) >>> 6];
+    }
+
+    /**
+     * Adds a course to a bitset from {@link #newCourseSet()}, growing it if the code is newer.
+     *
+     * @return The same array, or a larger copy.
+     */
+    public static long[] addCourse(long[] set, CourseCode course) {
+        int bit = course.ordinal();
+        long[] result = (bit >>> 6) < set.length ? set : Arrays.copyOf(set, (bit >>> 6) + 1);
+        result[bit >>> 6] |= 1L << bit;
+        return result;
+    }
+
+    private static List<CourseCode> toCodes(long[] bits) {
+        List<CourseCode> codes = new ArrayList<>();
+        for (int p = nextSetBit(bits, 0); p >= 0; p = nextSetBit(bits, p + 1)) {
+            codes.add(CourseCode.byOrdinal(p));
+        }
+        return codes;
+    }
+
+    private static long[] row(long[][] rows, int ordinal) {
+        return ordinal < rows.length ? rows[ordinal] : null;
+    }
+
+    private static boolean contains(long[] bits, int bit) {
+        return bits != null && (bit >>> 6) < bits.length && (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static long[] copy(long[] bits) {
+        return bits == null ? null : bits.clone();
+    }
+
+    // Rows are never changed once published, so these always return new arrays.
+    private static long[] withBit(long[] bits, int bit) {
+        int words = Math.max(bits == null ? 0 : bits.length, (bit >>> 6) + 1);
+        long[] result = bits == null ? new long[words] : Arrays.copyOf(bits, words);
+        result[bit >>> 6] |= 1L << bit;
+        return result;
+    }
+
+    private static long[] withoutBit(long[] bits, int bit) {
+        long[] result = bits.clone();
+        result[bit >>> 6] &= ~(1L << bit);
+        for (long word : result) {
+            if (word != 0) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static long[] or(long[] a, long[] b) {
+        if (b == null) {
+            return copy(a);
+        }
+        long[] result = a == null ? new long[b.length] : Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            result[i] |= b[i];
+        }
+        return result;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        if (bits != null) {
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        if (bits == null) {
+            return -1;
+        }
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long current = bits[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package edu.ccrm.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -10,6 +15,7 @@ import java.util.function.Predicate;
  * - Generic Interface: Can be used for any type T.
  * - Functional Interface Usage: Takes a Predicate for filtering.
  * - Default Method: Provides a default implementation for a method.
+ * - Keyset (cursor) pagination: each page starts from the last item of the previous one.
  */
 public interface Searchable<T> {
     List<T> search(Predicate<T> filter);
@@ -23,4 +29,94 @@ public interface Searchable<T> {
         List<T> results = search(filter);
         return results.isEmpty() ? null : results.get(0);
     }
+
+    /**
+     * Passes every item to {@code action}, in no particular order.
+     * Implementations should override this to avoid building an intermediate list.
+     */
+    default void forEachItem(Consumer<? super T> action) {
+        search(item -> true).forEach(action);
+    }
+
+    /**
+     * One page of items in sort order.
+     *
+     * @param items The items on this page, in order; the last one is the cursor for the next page,
+     *              the first one for the previous page.
+     * @param offset The number of items sorting before this page.
+     * @param total The number of items in the whole collection when the page was taken.
+     */
+    record Page<T>(List<T> items, int offset, int total, boolean hasPrevious, boolean hasNext) {
+        public T first() {
+            return items.isEmpty() ? null : items.get(0);
+        }
+
+        public T last() {
+            return items.isEmpty() ? null : items.get(items.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the first {@code size} items that sort after {@code cursor}, or the first page if it is null.
+     * Each call is one pass over the items keeping only {@code size + 1} of them in a heap, so
+     * paging never sorts the whole collection and sees changes made between pages.
+     *
+     * @param order The sort order. It must tell every pair of items apart (end with a unique key,
+     *              e.g. the registration number); items tied with the cursor would otherwise be skipped.
+     */
+    default Page<T> pageAfter(Comparator<? super T> order, T cursor, int size) {
+        return cursor == null
+                ? selectPage(order, item -> true, size, false)
+                : selectPage(order, item -> order.compare(item, cursor) > 0, size, false);
+    }
+
+    /**
+     * Returns the page starting at {@code cursor} itself, e.g. to jump to an item found by its key.
+     * See {@link #pageAfter(Comparator, Object, int)}.
+     */
+    default Page<T> pageFrom(Comparator<? super T> order, T cursor, int size) {
+        return selectPage(order, item -> order.compare(item, cursor) >= 0, size, false);
+    }
+
+    /**
+     * Returns the last {@code size} items that sort before {@code cursor}, in ascending order.
+     * See {@link #pageAfter(Comparator, Object, int)}.
+     */
+    default Page<T> pageBefore(Comparator<? super T> order, T cursor, int size) {
+        return selectPage(order, item -> order.compare(item, cursor) < 0, size, true);
+    }
+
+    /**
+     * Keeps the {@code size + 1} items of the range nearest to the cursor; the extra one only
+     * tells whether the range goes on. Items outside the range lie on the cursor's other side.
+     */
+    private Page<T> selectPage(Comparator<? super T> order, Predicate<T> inRange, int size, boolean backwards) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + size);
+        }
+        Comparator<? super T> nearestLast = backwards ? order : Collections.reverseOrder(order);
+        PriorityQueue<T> nearest = new PriorityQueue<>(size + 2, nearestLast);
+        int[] counts = new int[2]; // total, outside the range
+        forEachItem(item -> {
+            counts[0]++;
+            if (!inRange.test(item)) {
+                counts[1]++;
+                return;
+            }
+            nearest.add(item);
+            if (nearest.size() > size + 1) {
+                nearest.poll();
+            }
+        });
+        boolean more = nearest.size() > size;
+        if (more) {
+            nearest.poll();
+        }
+        List<T> items = new ArrayList<>(nearest);
+        items.sort(order);
+        boolean otherSide = counts[1] > 0;
+        return backwards
+                ? new Page<>(items, counts[0] - counts[1] - items.size(), counts[0], more, otherSide)
+                : new Page<>(items, counts[1], counts[0], otherSide, more);
+    }
 }
@@ -1,39 +1,369 @@
 package edu.ccrm.service;
 
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.StorageBackend;
 import edu.ccrm.domain.Student;
+import edu.ccrm.event.DomainEvent.DatasetReplaced;
+import edu.ccrm.event.DomainEvent.DatasetReplaced.Dataset;
+import edu.ccrm.event.DomainEvent.StudentAdded;
+import edu.ccrm.event.DomainEventBus;
+import edu.ccrm.exception.DuplicateEmailException;
+import edu.ccrm.util.StripedLocks;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+/**
+ * Student lookups and changes, safe for concurrent use.
+ * Reads go straight to the store. Changes to a student are serialized by a write lock chosen
+ * by registration number from a fixed set of stripes, so writers to different students run in
+ * parallel; see {@link #writeLockFor(String)}.
+ * Every change is also published to {@link StudentVersions}, from which long-running readers
+ * take consistent snapshots without blocking writers; see {@link #openSnapshot()}.
+ * Additions and bulk replacements are announced on the {@link DomainEventBus}; field changes are
+ * announced by the domain objects themselves.
+ * No two students may share an email address (compared trimmed and ignoring case): a unique
+ * index is checked when students are added, saved with a new address or loaded in bulk.
+ */
 public class StudentService implements Searchable<Student> {
 
-    private final List<Student> students = new ArrayList<>();
+    private static final int WRITE_LOCK_STRIPES = 64;
+    private static final int DUPLICATES_REPORTED = 10;
 
+    /**
+     * A student left out of a bulk load because an earlier student has the same email address.
+     *
+     * @param usedBy The registration number of the student who kept the address.
+     */
+    public record DuplicateEmail(String regNo, String email, String usedBy) {
+    }
+
+    private volatile StudentStore students;
+    private final StripedLocks writeLocks = new StripedLocks(WRITE_LOCK_STRIPES);
+    private final StudentVersions versions = new StudentVersions();
+    private volatile EmailIndex emails = new EmailIndex();
+    // Set when the store was swapped for one whose addresses have not been indexed yet.
+    private volatile boolean emailsStale;
+
+    /**
+     * Creates a service backed by the store selected with the {@code student.storage} setting.
+     */
+    public StudentService() {
+        this(createStore(AppConfig.getInstance().snapshot().studentStorage()));
+    }
+
+    public StudentService(StudentStore store) {
+        this.students = store;
+        this.emailsStale = store.size() > 0;
+    }
+
+    /**
+     * Switches to a different store, e.g. one that reads students lazily from a file.
+     * Its email addresses are indexed on the first change that needs the index, so the store
+     * is not read in full up front.
+     */
+    public void replaceStore(StudentStore store) {
+        lockAllWriters();
+        try {
+            this.students = store;
+            versions.markStale();
+            emailsStale = true;
+            DomainEventBus.emit(new DatasetReplaced(Dataset.STUDENTS, store.size()));
+        } finally {
+            unlockAllWriters();
+        }
+    }
+
+    private static StudentStore createStore(StorageBackend backend) {
+        switch (backend) {
+            case OFF_HEAP:
+                return new OffHeapStudentStore();
+            case HEAP:
+            default:
+                return new HeapStudentStore();
+        }
+    }
+
+    /**
+     * Returns the lock that serializes changes to one student.
+     * Hold it across a read-check-write sequence (e.g. checking and adding an enrollment)
+     * so that no other change to the same student can interleave. The lock is reentrant.
+     */
+    public ReentrantLock writeLockFor(String regNo) {
+        return writeLocks.lockFor(regNo);
+    }
+
+    /**
+     * @throws DuplicateEmailException If another student already has the student's email address.
+     */
     public void addStudent(Student student) {
-        students.add(student);
+        ensureEmailIndex();
+        ReentrantLock lock = writeLockFor(student.getRegNo());
+        lock.lock();
+        try {
+            emails.claim(student.getRegNo(), student.getEmail());
+            try {
+                students.add(student);
+            } catch (RuntimeException e) {
+                // The student was not stored (e.g. the off-heap store is full), so it holds no address.
+                emails.tryClaim(student.getRegNo(), null);
+                throw e;
+            }
+            versions.publish(student);
+            DomainEventBus.emit(new StudentAdded(student.getRegNo(), student.getFullName(), student.getEmail()));
+        } finally {
+            lock.unlock();
+        }
     }
 
     public Optional<Student> findStudentByRegNo(String regNo) {
-        return students.stream()
-                .filter(s -> s.getRegNo().equalsIgnoreCase(regNo))
-                .findFirst();
+        return students.findByRegNo(regNo);
+    }
+
+    /**
+     * Finds the student with an email address, ignoring case and surrounding blanks.
+     */
+    public Optional<Student> findStudentByEmail(String email) {
+        ensureEmailIndex();
+        String regNo = emails.ownerOf(email);
+        return regNo == null ? Optional.empty() : students.findByRegNo(regNo);
     }
 
     public List<Student> getAllStudents() {
-        return new ArrayList<>(students);
+        return students.findAll();
+    }
+
+    /**
+     * Saves changes made to a student returned by this service.
+     * Required for off-heap storage, where returned students are copies.
+     *
+     * May be called while holding the student's write lock. If the email index has not been built
+     * yet (see {@link #ensureEmailIndex()}), the address is checked when it is.
+     *
+     * @throws DuplicateEmailException If the student was given an address another student has;
+     *                                 nothing is saved.
+     */
+    public void updateStudent(Student student) {
+        ReentrantLock lock = writeLockFor(student.getRegNo());
+        lock.lock();
+        try {
+            // Most saves (enrollments, grades) keep the address, and need no claim.
+            if (!emailsStale && !emails.holds(student.getRegNo(), student.getEmail())) {
+                emails.claim(student.getRegNo(), student.getEmail());
+            }
+            students.update(student);
+            versions.publish(student);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the current version of a student and saves it, all under the
+     * student's write lock.
+     * To change the email address, use {@link #modifyStudent(String, String, Consumer)}, which
+     * checks the new address before anything is changed.
+     *
+     * @return The changed student, or empty if there is no such student.
+     * @throws DuplicateEmailException If the change gives the student an address another student
+     *                                 has; the address is changed back and the student is saved
+     *                                 with the change's other edits.
+     */
+    public Optional<Student> modifyStudent(String regNo, Consumer<Student> change) {
+        return modifyStudent(regNo, null, change);
+    }
+
+    /**
+     * Changes a student's email address and applies any other change, all under the student's
+     * write lock. The new address is claimed first, so if another student has it nothing is
+     * changed at all.
+     *
+     * @param newEmail The new address, or null to keep the current one.
+     * @return The changed student, or empty if there is no such student.
+     * @throws DuplicateEmailException If another student already has {@code newEmail}.
+     */
+    public Optional<Student> modifyStudent(String regNo, String newEmail, Consumer<Student> change) {
+        if (newEmail != null) {
+            ensureEmailIndex(); // Other changes are checked like updateStudent(): once the index is built.
+        }
+        ReentrantLock lock = writeLockFor(regNo);
+        lock.lock();
+        try {
+            Optional<Student> student = students.findByRegNo(regNo);
+            student.ifPresent(s -> {
+                String oldEmail = s.getEmail();
+                if (newEmail != null) {
+                    emails.claim(s.getRegNo(), newEmail);
+                }
+                try {
+                    change.accept(s);
+                } catch (RuntimeException e) {
+                    if (newEmail != null) {
+                        emails.tryClaim(s.getRegNo(), oldEmail);
+                    }
+                    throw e;
+                }
+                if (newEmail != null) {
+                    s.setEmail(newEmail);
+                }
+                DuplicateEmailException clash = null;
+                if (!emailsStale && !Objects.equals(newEmail != null ? newEmail : oldEmail, s.getEmail())) {
+                    try {
+                        emails.claim(s.getRegNo(), s.getEmail());
+                    } catch (DuplicateEmailException e) {
+                        // Keep the store and the versions in step with the live object.
+                        s.setEmail(newEmail != null ? newEmail : oldEmail);
+                        clash = e;
+                    }
+                }
+                students.update(s);
+                versions.publish(s);
+                if (clash != null) {
+                    throw clash;
+                }
+            });
+            return student;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public List<Student> search(Predicate<Student> filter) {
-        return students.stream()
+        return students.findAll().stream()
                 .filter(filter)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public void forEachItem(Consumer<? super Student> action) {
+        students.forEach(action);
+    }
     
-    public void loadStudents(List<Student> students) {
-        this.students.clear();
-        this.students.addAll(students);
+    /**
+     * Replaces all students. The new dataset is built first and then swapped in,
+     * so readers see either the old or the new students, never a mix.
+     * A student whose email address an earlier student in the list already has is left out.
+     *
+     * @return The students left out, in list order.
+     */
+    public List<DuplicateEmail> loadStudents(List<Student> students) {
+        EmailIndex index = new EmailIndex(students.size());
+        List<DuplicateEmail> duplicates = new ArrayList<>();
+        List<Student> accepted = indexEmails(students, index, duplicates);
+        lockAllWriters();
+        try {
+            this.students.replaceAll(accepted);
+            versions.markStale();
+            emails = index;
+            emailsStale = false;
+            DomainEventBus.emit(new DatasetReplaced(Dataset.STUDENTS, accepted.size()));
+        } finally {
+            unlockAllWriters();
+        }
+        return duplicates;
+    }
+
+    /**
+     * Prints a short report of students left out for sharing an email address.
+     */
+    public static void reportDuplicates(List<DuplicateEmail> duplicates) {
+        printDuplicates(duplicates, " student(s) skipped because an earlier student has the same email:");
+    }
+
+    private static void printDuplicates(List<DuplicateEmail> duplicates, String heading) {
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        System.err.println(duplicates.size() + heading);
+        duplicates.stream().limit(DUPLICATES_REPORTED).forEach(d ->
+                System.err.println("  " + d.regNo() + ": " + d.email() + " is already used by " + d.usedBy()));
+        if (duplicates.size() > DUPLICATES_REPORTED) {
+            System.err.println("  ... and " + (duplicates.size() - DUPLICATES_REPORTED) + " more.");
+        }
+    }
+
+    private static List<Student> indexEmails(List<Student> students, EmailIndex index, List<DuplicateEmail> duplicates) {
+        List<Student> accepted = new ArrayList<>(students.size());
+        for (Student student : students) {
+            if (student == null) {
+                throw new IllegalArgumentException("Cannot load a null student; drop unparseable rows before loading.");
+            }
+            String usedBy = index.tryClaim(student.getRegNo(), student.getEmail());
+            if (usedBy == null) {
+                accepted.add(student);
+            } else {
+                duplicates.add(new DuplicateEmail(student.getRegNo(), student.getEmail(), usedBy));
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Indexes the addresses of a store that was swapped in without reading it. Students in it that
+     * share an address are reported; the first one keeps the address.
+     * Must not be called while holding a write lock, because it takes them all. Only operations
+     * that need the index (adding a student, giving one a new address, looking one up by address)
+     * call it, so enrollments and grades never trigger a full scan of a lazily loaded store.
+     */
+    private void ensureEmailIndex() {
+        if (!emailsStale) {
+            return;
+        }
+        lockAllWriters();
+        try {
+            if (emailsStale) {
+                EmailIndex index = new EmailIndex(students.size());
+                List<DuplicateEmail> duplicates = new ArrayList<>();
+                indexEmails(students.findAll(), index, duplicates);
+                printDuplicates(duplicates, " stored student(s) share an email with an earlier student, who keeps it:");
+                emails = index;
+                emailsStale = false;
+            }
+        } finally {
+            unlockAllWriters();
+        }
+    }
+
+    /**
+     * Opens a consistent, read-only view of all students as of now. Writers are not blocked
+     * while it is open, and it does not see their changes. Close it (try-with-resources) when done.
+     * The first snapshot after a bulk load briefly holds off writers while it re-reads the data.
+     */
+    public StudentVersions.Snapshot openSnapshot() {
+        if (versions.isStale()) {
+            lockAllWriters();
+            try {
+                if (versions.isStale()) {
+                    versions.publishAll(students.findAll());
+                }
+            } finally {
+                unlockAllWriters();
+            }
+        }
+        return versions.open();
+    }
+
+    /**
+     * Returns the version store, e.g. to inspect how many versions are held.
+     */
+    public StudentVersions getVersions() {
+        return versions;
+    }
+
+    /**
+     * Blocks every writer until {@link #unlockAllWriters()}, e.g. to take a consistent copy.
+     */
+    void lockAllWriters() {
+        writeLocks.lockAll();
+    }
+
+    void unlockAllWriters() {
+        writeLocks.unlockAll();
     }
 }
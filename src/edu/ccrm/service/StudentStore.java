@@ -0,0 +1,53 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The storage behind {@link StudentService}.
+ * Implementations may hand out the stored objects themselves or freshly materialized copies;
+ * callers that change a student must pass it to {@link #update(Student)} so the change is kept.
+ *
+ * DEMONSTRATES:
+ * - Interface-based abstraction (Strategy pattern) for interchangeable storage backends.
+ */
+public interface StudentStore {
+
+    void add(Student student);
+
+    /**
+     * Finds a student by registration number, ignoring case.
+     */
+    Optional<Student> findByRegNo(String regNo);
+
+    /**
+     * Returns every student, in insertion order, as a new list.
+     */
+    List<Student> findAll();
+
+    /**
+     * Calls the action for every student, in insertion order, without building a list first.
+     * The store is not locked while the action runs, so the action may use the store.
+     * Students added during the walk are not visited; a concurrent {@link #replaceAll(List)}
+     * may cut the walk short.
+     */
+    void forEach(Consumer<? super Student> action);
+
+    /**
+     * Writes back changes made to a student obtained from this store
+     * (profile fields, status, new enrollments and grades).
+     */
+    void update(Student student);
+
+    /**
+     * Replaces the whole content of the store.
+     *
+     * @throws IllegalArgumentException If the list contains null; callers drop unparseable rows first.
+     */
+    void replaceAll(List<Student> students);
+
+    int size();
+}
@@ -0,0 +1,253 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Student.StudentStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Multi-version copies of every student, so long-running readers (reports, backups) can work on
+ * a consistent point in time without blocking writers (multi-version concurrency control).
+ *
+ * <ul>
+ *   <li>Every change to a student publishes an immutable {@link StudentVersion} stamped with the
+ *       next commit number. Each student keeps a chain of versions, newest first.</li>
+ *   <li>{@link #open()} pins the latest commit number. The resulting {@link Snapshot} sees, for
+ *       each student, the newest version at or before that number, and ignores anything
+ *       committed later.</li>
+ *   <li>Versions that no open snapshot can see any more are unlinked when a student is changed
+ *       again and when a snapshot is closed, so memory is reclaimed once readers are done.</li>
+ * </ul>
+ *
+ * DEMONSTRATES:
+ * - Multi-version concurrency control with immutable records.
+ * - try-with-resources for releasing a pinned version.
+ */
+public final class StudentVersions {
+
+    public record EnrollmentVersion(CourseCode courseCode, Grade grade, LocalDateTime enrollmentDate) {
+    }
+
+    public record StudentVersion(String regNo, String fullName, String email, StudentStatus status,
+                                 List<EnrollmentVersion> enrollments) {
+
+        static StudentVersion of(Student student) {
+            List<EnrollmentVersion> enrollments = new ArrayList<>();
+            for (Enrollment e : student.getEnrolledCourses()) {
+                enrollments.add(new EnrollmentVersion(e.getCourseCode(), e.getGrade(), e.getEnrollmentDate()));
+            }
+            return new StudentVersion(student.getRegNo(), student.getFullName(), student.getEmail(),
+                    student.getStatus(), List.copyOf(enrollments));
+        }
+    }
+
+    /**
+     * One version of one student; {@code value == null} marks a removed student.
+     */
+    private static final class Version {
+        final long commit;
+        // Position of the student in insertion order, so snapshots list students in that order.
+        final long order;
+        final StudentVersion value;
+        volatile Version older;
+
+        Version(long commit, long order, StudentVersion value, Version older) {
+            this.commit = commit;
+            this.order = order;
+            this.value = value;
+            this.older = older;
+        }
+    }
+
+    private final Map<String, Version> heads = new ConcurrentHashMap<>();
+    // Commits are numbered in order; chains are only linked while holding this lock.
+    private final Object commitLock = new Object();
+    private volatile long lastCommit;
+    private long nextOrder; // guarded by commitLock
+    // Pinned commit number -> number of open snapshots on it. Guarded by itself.
+    private final TreeMap<Long, Integer> pins = new TreeMap<>();
+    private volatile boolean stale = true;
+
+    /**
+     * Publishes the current state of one student as a new version.
+     */
+    void publish(Student student) {
+        StudentVersion value = StudentVersion.of(student);
+        String key = key(student.getRegNo());
+        long oldest;
+        synchronized (commitLock) {
+            long commit = lastCommit + 1;
+            Version head = heads.get(key);
+            long order = head != null && head.value != null ? head.order : nextOrder++;
+            heads.put(key, new Version(commit, order, value, head));
+            lastCommit = commit;
+            oldest = oldestVisibleCommit();
+        }
+        prune(key, oldest);
+    }
+
+    /**
+     * Publishes a complete dataset as one commit: every given student gets a new version and
+     * every other student is marked as removed.
+     */
+    void publishAll(Collection<Student> students) {
+        List<StudentVersion> values = new ArrayList<>(students.size());
+        for (Student student : students) {
+            values.add(StudentVersion.of(student));
+        }
+        synchronized (commitLock) {
+            long commit = lastCommit + 1;
+            Set<String> present = new HashSet<>();
+            for (StudentVersion value : values) {
+                String key = key(value.regNo());
+                if (present.add(key)) { // first student with a regNo wins, as in lookups
+                    heads.put(key, new Version(commit, nextOrder++, value, heads.get(key)));
+                }
+            }
+            for (Map.Entry<String, Version> entry : heads.entrySet()) {
+                if (!present.contains(entry.getKey()) && entry.getValue().value != null) {
+                    entry.setValue(new Version(commit, entry.getValue().order, null, entry.getValue()));
+                }
+            }
+            lastCommit = commit;
+            stale = false;
+        }
+        reclaim();
+    }
+
+    /**
+     * Records that the underlying data was replaced in bulk; the next snapshot must re-read it.
+     */
+    void markStale() {
+        stale = true;
+    }
+
+    boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Pins the latest commit. Close the snapshot when done so old versions can be reclaimed.
+     */
+    Snapshot open() {
+        synchronized (pins) {
+            long commit = lastCommit;
+            pins.merge(commit, 1, Integer::sum);
+            return new Snapshot(commit);
+        }
+    }
+
+    /**
+     * Unlinks every version that no open snapshot can see.
+     */
+    void reclaim() {
+        long oldest;
+        synchronized (commitLock) {
+            oldest = oldestVisibleCommit();
+        }
+        for (String key : heads.keySet()) {
+            prune(key, oldest);
+        }
+    }
+
+    /**
+     * Returns how many versions are currently held, including superseded ones.
+     */
+    public int versionCount() {
+        int count = 0;
+        for (Version head : heads.values()) {
+            for (Version v = head; v != null; v = v.older) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Every snapshot pinned now or later sees commits at or after this number.
+    private long oldestVisibleCommit() {
+        synchronized (pins) {
+            return pins.isEmpty() ? lastCommit : pins.firstKey();
+        }
+    }
+
+    // Keeps the newest version at or before the oldest visible commit and drops everything older.
+    private void prune(String key, long oldest) {
+        Version head = heads.get(key);
+        for (Version v = head; v != null; v = v.older) {
+            if (v.commit <= oldest) {
+                v.older = null;
+                if (v == head && v.value == null) {
+                    heads.remove(key, head);
+                }
+                return;
+            }
+        }
+    }
+
+    private static String key(String regNo) {
+        return regNo.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * A consistent, read-only view of all students as of one commit.
+     */
+    public final class Snapshot implements AutoCloseable {
+        private final long commit;
+        private boolean closed;
+
+        private Snapshot(long commit) {
+            this.commit = commit;
+        }
+
+        public long getCommit() {
+            return commit;
+        }
+
+        /**
+         * Returns every student as it was at this snapshot's commit, in insertion order.
+         */
+        public List<StudentVersion> students() {
+            List<Version> visible = new ArrayList<>();
+            for (Version head : heads.values()) {
+                Version v = head;
+                while (v != null && v.commit > commit) {
+                    v = v.older;
+                }
+                if (v != null && v.value != null) {
+                    visible.add(v);
+                }
+            }
+            visible.sort(Comparator.comparingLong(v -> v.order));
+            List<StudentVersion> result = new ArrayList<>(visible.size());
+            for (Version v : visible) {
+                result.add(v.value);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            synchronized (pins) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pins.computeIfPresent(commit, (c, n) -> n == 1 ? null : n - 1);
+            }
+            reclaim();
+        }
+    }
+}
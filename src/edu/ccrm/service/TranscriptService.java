@@ -1,15 +1,44 @@
 package edu.ccrm.service;
 
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseCode;
 import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Semester;
 import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Timetable;
+import edu.ccrm.metrics.Metrics;
+import edu.ccrm.metrics.ProfilingEvents;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.service.StudentVersions.EnrollmentVersion;
+import edu.ccrm.service.StudentVersions.StudentVersion;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Builds transcripts and GPA reports. Each transcript and report emits a
+ * {@link ProfilingEvents.Report} flight-recorder event with the number of students it examined.
+ */
 public class TranscriptService {
 
+    private static final Timer TRANSCRIPT_TIMER = Metrics.timer("transcript.generate");
+    private static final Timer GPA_TIMER = Metrics.timer("transcript.gpa");
+    private static final Timer GPA_REPORT_TIMER = Metrics.timer("report.gpaDistribution");
+    private static final Timer TOP_N_TIMER = Metrics.timer("report.topStudents");
+    private static final Timer COURSE_STATS_TIMER = Metrics.timer("report.courseEnrollments");
+    private static final Timer CONFLICTS_TIMER = Metrics.timer("report.scheduleConflicts");
+
+    /**
+     * Two courses a student takes in the same semester whose meeting times overlap.
+     *
+     * @param sharedSlots The overlapping slots, as a {@link Timetable} bitmap.
+     */
+    public record ScheduleConflict(String regNo, Semester semester, CourseCode first, CourseCode second,
+                                   long sharedSlots) {
+    }
+
     private final StudentService studentService;
     private final CourseService courseService;
 
@@ -19,6 +48,24 @@ public class TranscriptService {
     }
 
     public String generateTranscript(String regNo) {
+        ProfilingEvents.Report event = new ProfilingEvents.Report();
+        event.begin();
+        long start = TRANSCRIPT_TIMER.start();
+        boolean ok = false;
+        try {
+            String transcript = buildTranscript(regNo);
+            ok = true;
+            event.end();
+            if (event.shouldCommit()) {
+                commitReport(event, "transcript", 1, (int) transcript.lines().count());
+            }
+            return transcript;
+        } finally {
+            TRANSCRIPT_TIMER.record(start, ok);
+        }
+    }
+
+    private String buildTranscript(String regNo) {
         Student student = studentService.findStudentByRegNo(regNo)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found: " + regNo));
 
@@ -36,7 +83,7 @@ public class TranscriptService {
             transcript.append("------------------------------------------------------------\n");
 
             for (Enrollment enrollment : enrollments) {
-                Course course = courseService.findCourseByCode(enrollment.getCourseCode().getCode()).orElse(null);
+                Course course = courseService.findCourse(enrollment.getCourseCode()).orElse(null);
                 if (course != null) {
                     transcript.append(String.format("%-10s | %-30s | %-7d | %-5s\n",
                             course.getCourseCode(),
@@ -54,8 +101,15 @@ public class TranscriptService {
     }
 
     public double calculateGpa(Student student) {
-        List<Enrollment> gradedEnrollments = student.getEnrolledCourses().stream()
-                .filter(e -> e.getGrade() != null)
+        long start = GPA_TIMER.start();
+        double gpa = calculateGpa(StudentVersion.of(student));
+        GPA_TIMER.record(start, true);
+        return gpa;
+    }
+
+    private double calculateGpa(StudentVersion student) {
+        List<EnrollmentVersion> gradedEnrollments = student.enrollments().stream()
+                .filter(e -> e.grade() != null)
                 .collect(Collectors.toList());
 
         if (gradedEnrollments.isEmpty()) {
@@ -65,23 +119,42 @@ public class TranscriptService {
         double totalPoints = 0;
         int totalCredits = 0;
 
-        for (Enrollment enrollment : gradedEnrollments) {
-            Course course = courseService.findCourseByCode(enrollment.getCourseCode().getCode()).orElse(null);
+        for (EnrollmentVersion enrollment : gradedEnrollments) {
+            Course course = courseService.findCourse(enrollment.courseCode()).orElse(null);
             if (course != null) {
-                totalPoints += enrollment.getGrade().getGradePoint() * course.getCredits();
+                totalPoints += enrollment.grade().getGradePoint() * course.getCredits();
                 totalCredits += course.getCredits();
             }
         }
 
         return totalCredits == 0 ? 0.0 : totalPoints / totalCredits;
     }
-    
+
+    /**
+     * Calculates every student's GPA from one consistent snapshot, so the report never mixes
+     * states from before and after changes made while it runs.
+     */
     public Map<String, Double> getGpaDistribution() {
-        return studentService.getAllStudents().stream()
-            .collect(Collectors.toMap(
-                Student::getFullName,
-                this::calculateGpa
-            ));
+        ProfilingEvents.Report event = new ProfilingEvents.Report();
+        event.begin();
+        long start = GPA_REPORT_TIMER.start();
+        boolean ok = false;
+        try (StudentVersions.Snapshot snapshot = studentService.openSnapshot()) {
+            List<StudentVersion> students = snapshot.students();
+            Map<String, Double> distribution = students.stream()
+                .collect(Collectors.toMap(
+                    StudentVersion::fullName,
+                    this::calculateGpa
+                ));
+            ok = true;
+            event.end();
+            if (event.shouldCommit()) {
+                commitReport(event, "gpaDistribution", students.size(), distribution.size());
+            }
+            return distribution;
+        } finally {
+            GPA_REPORT_TIMER.record(start, ok);
+        }
     }
 
     /**
@@ -90,38 +163,137 @@ public class TranscriptService {
      * @return A map of student names to their GPAs, sorted in descending order of GPA.
      */
     public Map<String, Double> getTopNStudents(int n) {
-        return studentService.getAllStudents().stream()
-            .sorted((s1, s2) -> Double.compare(calculateGpa(s2), calculateGpa(s1)))
-            .limit(n)
-            .collect(Collectors.toMap(
-                Student::getFullName,
-                this::calculateGpa,
-                (e1, e2) -> e1,
-                java.util.LinkedHashMap::new // Preserve insertion order
-            ));
+        ProfilingEvents.Report event = new ProfilingEvents.Report();
+        event.begin();
+        long start = TOP_N_TIMER.start();
+        boolean ok = false;
+        try (StudentVersions.Snapshot snapshot = studentService.openSnapshot()) {
+            List<StudentVersion> students = snapshot.students();
+            Map<String, Double> top = students.stream()
+                .sorted((s1, s2) -> Double.compare(calculateGpa(s2), calculateGpa(s1)))
+                .limit(n)
+                .collect(Collectors.toMap(
+                    StudentVersion::fullName,
+                    this::calculateGpa,
+                    (e1, e2) -> e1,
+                    java.util.LinkedHashMap::new // Preserve insertion order
+                ));
+            ok = true;
+            event.end();
+            if (event.shouldCommit()) {
+                commitReport(event, "topStudents", students.size(), top.size());
+            }
+            return top;
+        } finally {
+            TOP_N_TIMER.record(start, ok);
+        }
     }
 
     /**
-     * Calculates and returns the enrollment count for each course.
+     * Calculates and returns the enrollment count for each course, from one consistent snapshot.
      * @return A map where the key is the course title and the value is the number of students enrolled.
      */
     public Map<String, Long> getCourseEnrollmentStats() {
-        return studentService.getAllStudents().stream()
-            .flatMap(student -> student.getEnrolledCourses().stream())
-            .map(Enrollment::getCourseCode)
-            .collect(Collectors.groupingBy(
-                courseCode -> courseService.findCourseByCode(courseCode.getCode())
-                                           .map(Course::getTitle)
-                                           .orElse("Unknown Course"),
-                Collectors.counting()
-            ))
-            .entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                Map.Entry::getValue,
-                (e1, e2) -> e1,
-                java.util.LinkedHashMap::new
-            ));
+        ProfilingEvents.Report event = new ProfilingEvents.Report();
+        event.begin();
+        long start = COURSE_STATS_TIMER.start();
+        boolean ok = false;
+        try (StudentVersions.Snapshot snapshot = studentService.openSnapshot()) {
+            List<StudentVersion> students = snapshot.students();
+            Map<String, Long> stats = students.stream()
+                .flatMap(student -> student.enrollments().stream())
+                .map(EnrollmentVersion::courseCode)
+                .collect(Collectors.groupingBy(
+                    courseCode -> courseService.findCourse(courseCode)
+                                               .map(Course::getTitle)
+                                               .orElse("Unknown Course"),
+                    Collectors.counting()
+                ))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .collect(Collectors.toMap(
+                    Map.Entry::getKey,
+                    Map.Entry::getValue,
+                    (e1, e2) -> e1,
+                    java.util.LinkedHashMap::new
+                ));
+            ok = true;
+            event.end();
+            if (event.shouldCommit()) {
+                commitReport(event, "courseEnrollments", students.size(), stats.size());
+            }
+            return stats;
+        } finally {
+            COURSE_STATS_TIMER.record(start, ok);
+        }
+    }
+
+    /**
+     * Finds every pair of same-semester courses with overlapping meeting times, for every student,
+     * from one consistent snapshot. Students are checked in parallel; each student ORs course
+     * bitmaps into a per-semester occupancy bitmap and only compares pairs when a new course hits it.
+     *
+     * @return The conflicts in snapshot order, by student.
+     */
+    public List<ScheduleConflict> findScheduleConflicts() {
+        ProfilingEvents.Report event = new ProfilingEvents.Report();
+        event.begin();
+        long start = CONFLICTS_TIMER.start();
+        boolean ok = false;
+        try (StudentVersions.Snapshot snapshot = studentService.openSnapshot()) {
+            List<StudentVersion> students = snapshot.students();
+            List<ScheduleConflict> conflicts = students.parallelStream()
+                    .flatMap(student -> conflictsOf(student).stream())
+                    .collect(Collectors.toList());
+            ok = true;
+            event.end();
+            if (event.shouldCommit()) {
+                commitReport(event, "scheduleConflicts", students.size(), conflicts.size());
+            }
+            return conflicts;
+        } finally {
+            CONFLICTS_TIMER.record(start, ok);
+        }
+    }
+
+    private List<ScheduleConflict> conflictsOf(StudentVersion student) {
+        List<EnrollmentVersion> enrollments = student.enrollments();
+        List<ScheduleConflict> conflicts = List.of();
+        long[] occupied = new long[Semester.values().length];
+        Course[] courses = new Course[enrollments.size()];
+        for (int i = 0; i < courses.length; i++) {
+            Course course = courseService.findCourse(enrollments.get(i).courseCode()).orElse(null);
+            courses[i] = course;
+            if (course == null) {
+                continue;
+            }
+            int semester = course.getSemester().ordinal();
+            if (Timetable.overlaps(occupied[semester], course.getSchedule())) {
+                for (int j = 0; j < i; j++) {
+                    Course earlier = courses[j];
+                    if (earlier != null && earlier.getSemester() == course.getSemester()
+                            && Timetable.overlaps(earlier.getSchedule(), course.getSchedule())) {
+                        if (conflicts.isEmpty()) {
+                            conflicts = new ArrayList<>();
+                        }
+                        conflicts.add(new ScheduleConflict(student.regNo(), course.getSemester(), earlier.getCourseCode(),
+                                course.getCourseCode(), earlier.getSchedule() & course.getSchedule()));
+                    }
+                }
+            }
+            occupied[semester] |= course.getSchedule();
+        }
+        return conflicts;
+    }
+
+    /**
+     * Fills in and commits a report event. Call only after {@code event.end()} and once
+     * {@code event.shouldCommit()} is true, so the arguments are not computed for nothing.
+     */
+    private static void commitReport(ProfilingEvents.Report event, String report, int students, int rows) {
+        event.report = report;
+        event.students = students;
+        event.rows = rows;
+        event.commit();
     }
 }
@@ -0,0 +1,108 @@
+package edu.ccrm.tools;
+
+import edu.ccrm.util.PerTaskExecutors;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A simple load-test client for the HTTP API started from the System menu.
+ * Sends a read-heavy mix of requests (60% student lookups, 25% course searches, 15% transcripts)
+ * from a fixed number of concurrent clients and reports throughput and latency percentiles.
+ *
+ * Usage: {@code java edu.ccrm.tools.ApiLoadTest [baseUrl] [requests] [concurrency] [students]}
+ * (defaults: http://localhost:8080, 20,000 requests, 64 clients, 10 students).
+ * Students are addressed as STU001, STU002, ... up to {@code students}.
+ */
+public class ApiLoadTest {
+
+    private static final String[] SEMESTERS = {"SPRING", "SUMMER", "FALL"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int students = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        ExecutorService executor = PerTaskExecutors.newPerTaskExecutor("load-test");
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            long seed = w;
+            workers.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + randomPath(random, students)))
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    } catch (Exception e) {
+                        failures.increment();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%,d requests, %d concurrent clients, %s%n", requests, concurrency,
+                PerTaskExecutors.virtualThreadsAvailable() ? "virtual threads" : "platform threads");
+        System.out.printf("Throughput: %,.0f requests/s (%.2f s total)%n", requests / (elapsed / 1e9), elapsed / 1e9);
+        System.out.printf("Latency ms: p50 %.2f | p90 %.2f | p99 %.2f | max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+        statuses.forEach((status, count) -> System.out.printf("  HTTP %d: %,d%n", status, count.sum()));
+        if (failures.sum() > 0) {
+            System.out.printf("  Failed (no response): %,d%n", failures.sum());
+        }
+    }
+
+    private static String randomPath(SplittableRandom random, int students) {
+        String regNo = String.format("STU%03d", 1 + random.nextInt(students));
+        int kind = random.nextInt(100);
+        if (kind < 60) {
+            return "/api/students/" + regNo;
+        }
+        if (kind < 85) {
+            return "/api/courses?semester=" + SEMESTERS[random.nextInt(SEMESTERS.length)];
+        }
+        return "/api/students/" + regNo + "/transcript";
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e6;
+    }
+}
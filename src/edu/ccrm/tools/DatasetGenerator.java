@@ -0,0 +1,467 @@
+package edu.ccrm.tools;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student.StudentStatus;
+import edu.ccrm.domain.Timetable;
+import edu.ccrm.io.CsvParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Writes large, realistic students, courses and enrollments CSV files for performance work.
+ *
+ * The output depends only on the sizes and the seed, never on the number of threads: every chunk
+ * of rows draws from its own random generator derived from the seed. Chunks are generated in
+ * parallel and appended to the file in order, so writing runs at close to disk speed.
+ *
+ * The data follows real-world shapes:
+ * - Course popularity is Zipfian; a few courses receive most enrollments.
+ * - Departments are skewed (a few large departments, many small ones).
+ * - Credits follow a typical mix (mostly 3 and 4).
+ * - Names include commas ({@code "Smith, Jr."}), quotes ({@code Robert "Bob" Lee}) and apostrophes,
+ *   to exercise CSV quoting.
+ * - Most enrollments are graded, the rest (the current term) are not.
+ * - Every student's courses obey the enrollment rules: in each semester their credits stay within
+ *   {@code --max-credits} and their meeting times never clash. A student whose share of the
+ *   enrollments does not fit gets as many as fit, so the file may hold fewer rows than requested;
+ *   the actual count is printed.
+ *
+ * Usage: {@code java edu.ccrm.tools.DatasetGenerator [--students=N] [--courses=N] [--enrollments=N]
+ * [--max-credits=N] [--seed=N] [--out=folder] [--threads=N]}
+ * (defaults: 100,000 students, 2,000 courses, 1,000,000 enrollments, 18 credits per semester as in
+ * the application's default configuration, seed 42, folder {@code generated-data}).
+ * The files use the same format as the application's exports and backups.
+ */
+public class DatasetGenerator {
+
+    private static final int STUDENT_ROWS_PER_CHUNK = 20_000;
+    private static final int COURSE_ROWS_PER_CHUNK = 20_000;
+    private static final int ENROLLMENT_STUDENTS_PER_CHUNK = 5_000;
+
+    private static final double COURSE_POPULARITY_EXPONENT = 1.0;
+    private static final double DEPARTMENT_SIZE_EXPONENT = 0.8;
+    private static final int[] CREDITS = {1, 2, 3, 4, 5};
+    private static final double[] CREDIT_WEIGHTS = {5, 10, 50, 30, 5};
+    private static final StudentStatus[] STATUSES = {StudentStatus.ACTIVE, StudentStatus.GRADUATED, StudentStatus.INACTIVE};
+    private static final double[] STATUS_WEIGHTS = {85, 10, 5};
+    private static final Grade[] GRADES = {Grade.S, Grade.A, Grade.B, Grade.C, Grade.D, Grade.E, Grade.F};
+    private static final double[] GRADE_WEIGHTS = {5, 20, 30, 22, 12, 6, 5};
+    private static final int UNGRADED_PERCENT = 15;
+    private static final LocalDateTime FIRST_ENROLLMENT = LocalDateTime.of(2019, 1, 1, 0, 0);
+    private static final int ENROLLMENT_SPAN_SECONDS = 7 * 365 * 24 * 3600;
+
+    private static final String[][] DEPARTMENTS = {
+            {"CS", "Computer Science"}, {"MA", "Mathematics"}, {"EE", "Electrical Engineering"},
+            {"ME", "Mechanical Engineering"}, {"BI", "Biology"}, {"PH", "Physics"}, {"CH", "Chemistry"},
+            {"EC", "Economics"}, {"PS", "Psychology"}, {"HI", "History"}, {"EN", "English"},
+            {"CE", "Civil Engineering"}, {"BA", "Business Administration"}, {"PO", "Political Science"},
+            {"SO", "Sociology"}, {"AR", "Art, Design and Media"}, {"MU", "Music"}, {"PL", "Philosophy"},
+            {"LI", "Linguistics"}, {"GE", "Geology"}, {"AN", "Anthropology"}, {"ST", "Statistics"},
+            {"NU", "Nursing"}, {"ED", "Education"}};
+    private static final String[] TOPICS = {
+            "Introduction to", "Foundations of", "Advanced", "Topics in", "Principles of", "Applied",
+            "Seminar in", "Research Methods in", "History of", "Theory of"};
+    private static final String[] SUBJECTS = {
+            "Algorithms", "Data Structures", "Calculus", "Linear Algebra", "Thermodynamics", "Genetics",
+            "Microeconomics", "Cognition", "Modern Europe", "Poetry", "Structures", "Marketing",
+            "Public Policy", "Social Theory", "Composition", "Ethics", "Syntax", "Earth Systems",
+            "Probability", "Statistics", "Circuits", "Optics", "Organic Chemistry", "Learning Sciences",
+            "Ethics, Law and Society", "Data, Models and Decisions", "Networks", "Databases"};
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Wei", "Priya", "Aarav", "Fatima", "Mohammed", "Sofia", "Mateo", "Yuki", "Olga", "Kwame",
+            "Ana", "Luis", "Chen", "Aisha", "Ivan", "Noah", "Emma", "Liam", "Olivia", "Zoe",
+            "Jos\u00e9", "Zo\u00eb", "Ren\u00e9e", "Bj\u00f6rn", "Siobhan", "Nguyen", "Hana", "Omar", "Ingrid", "Tariq"};
+    private static final String[] NICKNAMES = {"Bob", "Liz", "Bill", "Kate", "Mo", "Ace", "Red", "Sam"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "O'Brien", "D'Angelo", "O'Neill", "Van der Berg", "De la Cruz", "Kim", "Patel", "Singh", "Wang", "Li",
+            "Zhang", "Nakamura", "M\u00fcller", "Schmidt", "Kowalski", "Novak", "Ivanova", "Okafor", "Mensah", "Haddad"};
+    private static final String[] SUFFIXES = {", Jr.", ", Sr.", ", III", ", PhD"};
+
+    private record Options(int students, int courses, long enrollments, int maxCredits, long seed, Path out, int threads) {
+    }
+
+    /**
+     * Precomputed course data shared by all enrollment chunks.
+     */
+    private record Catalog(String[] codes, int[] semesters, int[] credits, long[] schedules,
+                           double[] popularity, int[] byPopularity) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = parse(args);
+        Files.createDirectories(options.out());
+        System.out.printf("Generating %,d students, %,d courses and up to %,d enrollments (at most %d credits per semester,"
+                        + " seed %d, %d threads) into %s%n",
+                options.students(), options.courses(), options.enrollments(), options.maxCredits(), options.seed(),
+                options.threads(), options.out().toAbsolutePath());
+
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads());
+        try {
+            String[] courseLines = new String[options.courses()];
+            Catalog catalog = buildCatalog(options, courseLines);
+            write(pool, options, options.out().resolve("students.csv"), CsvParser.STUDENT_HEADER,
+                    chunks(options.students(), STUDENT_ROWS_PER_CHUNK), chunk -> studentChunk(options, chunk));
+            write(pool, options, options.out().resolve("courses.csv"), CsvParser.COURSE_HEADER,
+                    chunks(options.courses(), COURSE_ROWS_PER_CHUNK), chunk -> courseChunk(courseLines, chunk));
+            long enrollments = write(pool, options, options.out().resolve("enrollments.csv"), CsvParser.ENROLLMENT_HEADER,
+                    chunks(options.students(), ENROLLMENT_STUDENTS_PER_CHUNK), chunk -> enrollmentChunk(options, catalog, chunk));
+            if (enrollments < options.enrollments()) {
+                System.out.printf("  %,d enrollments did not fit the credit limit and timetables and were left out.%n",
+                        options.enrollments() - enrollments);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Options parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1).replace("_", ""));
+        }
+        Options options = new Options(
+                Integer.parseInt(values.getOrDefault("students", "100000")),
+                Integer.parseInt(values.getOrDefault("courses", "2000")),
+                Long.parseLong(values.getOrDefault("enrollments", "1000000")),
+                Integer.parseInt(values.getOrDefault("max-credits", "18")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Paths.get(values.getOrDefault("out", "generated-data")),
+                Integer.parseInt(values.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))));
+        if (options.students() < 1 || options.courses() < 1 || options.enrollments() < 0 || options.maxCredits() < 1
+                || options.threads() < 1) {
+            throw new IllegalArgumentException("Sizes and threads must be positive.");
+        }
+        return options;
+    }
+
+    // --- Parallel, ordered writing ---
+
+    private static long chunks(long rows, int rowsPerChunk) {
+        return (rows + rowsPerChunk - 1) / rowsPerChunk;
+    }
+
+    /**
+     * Generates chunks on the pool, a bounded number ahead, and appends them to the file in order.
+     *
+     * @return The number of rows written, not counting the header.
+     */
+    private static long write(ExecutorService pool, Options options, Path file, String header, long chunks,
+                              LongFunction<byte[]> generator)
+            throws IOException, InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        long bytes = 0;
+        long rows = 0;
+        int window = options.threads() * 2;
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            bytes += writeFully(channel, (header + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            long next = 0;
+            while (next < chunks || !inFlight.isEmpty()) {
+                while (next < chunks && inFlight.size() < window) {
+                    long chunk = next++;
+                    inFlight.add(pool.submit(() -> generator.apply(chunk)));
+                }
+                byte[] data = inFlight.poll().get();
+                bytes += writeFully(channel, data);
+                rows += lineCount(data);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-16s %,13d rows  %,9.1f MB  %6.2f s  %,7.1f MB/s%n", file.getFileName(), rows,
+                bytes / 1e6, seconds, bytes / 1e6 / seconds);
+        return rows;
+    }
+
+    // Generated values never contain line breaks (quoted fields included), so every '\n' ends a row.
+    private static int lineCount(byte[] data) {
+        int lines = 0;
+        for (byte b : data) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static int writeFully(FileChannel channel, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return data.length;
+    }
+
+    private static SplittableRandom randomFor(Options options, int file, long chunk) {
+        return new SplittableRandom(options.seed() ^ ((long) file << 56) ^ (chunk * 0x9E3779B97F4A7C15L));
+    }
+
+    // --- Students ---
+
+    private static byte[] studentChunk(Options options, long chunk) {
+        SplittableRandom random = randomFor(options, 1, chunk);
+        double[] statusWeights = cumulative(STATUS_WEIGHTS);
+        StringBuilder out = new StringBuilder(STUDENT_ROWS_PER_CHUNK * 64);
+        long first = chunk * STUDENT_ROWS_PER_CHUNK;
+        long end = Math.min(options.students(), first + STUDENT_ROWS_PER_CHUNK);
+        for (long i = first; i < end; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String fullName;
+            int style = random.nextInt(100);
+            if (style < 3) {
+                fullName = firstName + " " + lastName + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            } else if (style < 5) {
+                fullName = firstName + " \"" + NICKNAMES[random.nextInt(NICKNAMES.length)] + "\" " + lastName;
+            } else {
+                fullName = firstName + " " + lastName;
+            }
+            String email = emailPart(firstName) + "." + emailPart(lastName) + (i + 1) + "@example.edu";
+            StudentStatus status = STATUSES[pick(statusWeights, random)];
+            out.append(CsvParser.studentToCsv(regNo(i + 1), fullName, email, status)).append(System.lineSeparator());
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats a registration number the way the application generates them (STU001, STU1234).
+     */
+    private static String regNo(long number) {
+        String digits = Long.toString(number);
+        return digits.length() >= 3 ? "STU" + digits : "STU" + "000".substring(digits.length()) + digits;
+    }
+
+    private static String emailPart(String name) {
+        StringBuilder part = new StringBuilder(name.length());
+        // Decompose accented letters (e-acute -> e + combining accent) so only the accent is dropped.
+        for (char c : Normalizer.normalize(name, Normalizer.Form.NFD).toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c >= 'a' && c <= 'z') {
+                part.append(c);
+            }
+        }
+        return part.length() == 0 ? "x" : part.toString();
+    }
+
+    // --- Courses ---
+
+    /**
+     * Builds every course line and the popularity ranking. This is small next to the other files,
+     * so it runs once, sequentially.
+     */
+    private static Catalog buildCatalog(Options options, String[] lines) {
+        SplittableRandom random = randomFor(options, 2, 0);
+        // Meeting times come from their own stream, so the other course fields match earlier versions.
+        SplittableRandom times = randomFor(options, 4, 0);
+        double[] departmentWeights = new double[DEPARTMENTS.length];
+        for (int d = 0; d < DEPARTMENTS.length; d++) {
+            departmentWeights[d] = 1 / Math.pow(d + 1, DEPARTMENT_SIZE_EXPONENT);
+        }
+        double[] departments = cumulative(departmentWeights);
+        double[] credits = cumulative(CREDIT_WEIGHTS);
+        Semester[] semesters = Semester.values();
+        int instructorsPerDepartment = Math.max(1, options.courses() / DEPARTMENTS.length / 3);
+
+        String[] codes = new String[options.courses()];
+        int[] courseSemesters = new int[codes.length];
+        int[] courseCredits = new int[codes.length];
+        long[] schedules = new long[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            int d = pick(departments, random);
+            codes[i] = String.format("%s%05d", DEPARTMENTS[d][0], i + 1);
+            String title = TOPICS[random.nextInt(TOPICS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)];
+            String instructor = "Dr. " + LAST_NAMES[(d * 7 + random.nextInt(instructorsPerDepartment)) % LAST_NAMES.length]
+                    + " " + (char) ('A' + (d + i) % 26) + ".";
+            courseCredits[i] = CREDITS[pick(credits, random)];
+            courseSemesters[i] = random.nextInt(semesters.length);
+            schedules[i] = meetingTimes(times);
+            lines[i] = String.join(",",
+                    CsvParser.quote(codes[i]),
+                    CsvParser.quote(title),
+                    String.valueOf(courseCredits[i]),
+                    CsvParser.quote(instructor),
+                    semesters[courseSemesters[i]].toString(),
+                    CsvParser.quote(DEPARTMENTS[d][1]),
+                    Timetable.format(schedules[i]));
+        }
+
+        // Popularity rank r is held by a random course, so popular courses are spread across departments.
+        int[] byPopularity = new int[codes.length];
+        for (int i = 0; i < byPopularity.length; i++) {
+            byPopularity[i] = i;
+        }
+        for (int i = byPopularity.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byPopularity[i];
+            byPopularity[i] = byPopularity[j];
+            byPopularity[j] = swap;
+        }
+        double[] popularity = new double[codes.length];
+        for (int rank = 0; rank < popularity.length; rank++) {
+            popularity[rank] = 1 / Math.pow(rank + 1, COURSE_POPULARITY_EXPONENT);
+        }
+        return new Catalog(codes, courseSemesters, courseCredits, schedules, cumulative(popularity), byPopularity);
+    }
+
+    private static byte[] courseChunk(String[] lines, long chunk) {
+        StringBuilder out = new StringBuilder(COURSE_ROWS_PER_CHUNK * 80);
+        int first = (int) (chunk * COURSE_ROWS_PER_CHUNK);
+        int end = Math.min(lines.length, first + COURSE_ROWS_PER_CHUNK);
+        for (int i = first; i < end; i++) {
+            out.append(lines[i]).append(System.lineSeparator());
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Either three one-hour meetings (Monday, Wednesday, Friday) or two two-hour meetings
+     * (Tuesday, Thursday), at the same start time on each day.
+     */
+    private static long meetingTimes(SplittableRandom random) {
+        boolean longMeetings = random.nextBoolean();
+        int length = longMeetings ? 2 : 1;
+        int from = Timetable.FIRST_HOUR + random.nextInt(Timetable.LAST_HOUR - Timetable.FIRST_HOUR - length + 1);
+        int[] days = longMeetings ? new int[] {1, 3} : new int[] {0, 2, 4};
+        long schedule = Timetable.NONE;
+        for (int day : days) {
+            schedule |= Timetable.slots(day, from, from + length);
+        }
+        return schedule;
+    }
+
+    // --- Enrollments ---
+
+    /**
+     * Writes the enrollments of one range of students. Enrollments are spread evenly, so student
+     * {@code s} is meant to get {@code floor((s+1)E/S) - floor(sE/S)} of them. A student never gets
+     * the same course twice, and stops early once no course fits any more (see {@link #fits}).
+     */
+    private static byte[] enrollmentChunk(Options options, Catalog catalog, long chunk) {
+        SplittableRandom random = randomFor(options, 3, chunk);
+        double[] grades = cumulative(GRADE_WEIGHTS);
+        long students = options.students();
+        int courses = catalog.codes().length;
+        long first = chunk * ENROLLMENT_STUDENTS_PER_CHUNK;
+        long end = Math.min(students, first + ENROLLMENT_STUDENTS_PER_CHUNK);
+        StringBuilder out = new StringBuilder((int) Math.min(Integer.MAX_VALUE / 2,
+                (end - first) * Math.max(1, options.enrollments() / students) * 48));
+        int[] taken = new int[16];
+        int[] semesterCredits = new int[Semester.values().length];
+        long[] semesterTimes = new long[semesterCredits.length];
+        for (long s = first; s < end; s++) {
+            int count = (int) Math.min(courses,
+                    (s + 1) * options.enrollments() / students - s * options.enrollments() / students);
+            if (taken.length < count) {
+                taken = new int[count];
+            }
+            Arrays.fill(semesterCredits, 0);
+            Arrays.fill(semesterTimes, Timetable.NONE);
+            String regNo = CsvParser.quote(regNo(s + 1));
+            for (int e = 0; e < count; e++) {
+                int course = pickCourse(options, catalog, random, taken, e, semesterCredits, semesterTimes);
+                if (course < 0) {
+                    break;
+                }
+                taken[e] = course;
+                semesterCredits[catalog.semesters()[course]] += catalog.credits()[course];
+                semesterTimes[catalog.semesters()[course]] |= catalog.schedules()[course];
+                String grade = random.nextInt(100) < UNGRADED_PERCENT ? "" : GRADES[pick(grades, random)].toString();
+                LocalDateTime enrolledAt = FIRST_ENROLLMENT.plusSeconds(random.nextInt(ENROLLMENT_SPAN_SECONDS));
+                out.append(regNo).append(',')
+                        .append(CsvParser.quote(catalog.codes()[course])).append(',')
+                        .append(grade).append(',')
+                        .append(enrolledAt).append(System.lineSeparator());
+            }
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Picks a course by popularity that the student has not taken and that {@link #fits}.
+     *
+     * @return The course index, or -1 if no course fits any more.
+     */
+    private static int pickCourse(Options options, Catalog catalog, SplittableRandom random, int[] taken, int takenCount,
+                                  int[] semesterCredits, long[] semesterTimes) {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            int course = catalog.byPopularity()[pick(catalog.popularity(), random)];
+            if (!contains(taken, takenCount, course) && fits(options, catalog, course, semesterCredits, semesterTimes)) {
+                return course;
+            }
+        }
+        // Busy students: fall back to the next course that still fits, if any.
+        int courses = catalog.codes().length;
+        int start = random.nextInt(courses);
+        for (int i = 0; i < courses; i++) {
+            int course = (start + i) % courses;
+            if (!contains(taken, takenCount, course) && fits(options, catalog, course, semesterCredits, semesterTimes)) {
+                return course;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether a course can be added to the student's semester, by the same rules the enrollment
+     * service applies: the semester's credits stay within the limit and no meeting times clash.
+     */
+    private static boolean fits(Options options, Catalog catalog, int course, int[] semesterCredits, long[] semesterTimes) {
+        int semester = catalog.semesters()[course];
+        return semesterCredits[semester] + catalog.credits()[course] <= options.maxCredits()
+                && !Timetable.overlaps(semesterTimes[semester], catalog.schedules()[course]);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Weighted choice ---
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = Arrays.copyOf(weights, weights.length);
+        for (int i = 1; i < cumulative.length; i++) {
+            cumulative[i] += cumulative[i - 1];
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(cumulative.length - 1, index < 0 ? -index - 1 : index);
+    }
+}
@@ -0,0 +1,161 @@
+package edu.ccrm.tools;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reproduces a registration-day rush against {@link EnrollmentService#enrollStudent(String, String)}
+ * and reports throughput, latency percentiles and rejections per exception type.
+ *
+ * The workload is generated up front from a seed, so every run replays the same requests:
+ * - Course popularity follows a Zipf distribution, so a few courses get most of the requests.
+ * - Each student asks for more courses than fit under the credit limit, so credit-limit
+ *   rejections happen for real.
+ * - A share of requests are immediate retries of the previous one (a double-clicked button),
+ *   which must be rejected as duplicates.
+ *
+ * Usage: {@code java edu.ccrm.tools.RegistrationRush [students] [courses] [requests] [workers] [seed]}
+ * (defaults: 5,000 students, 200 courses, 100,000 requests, workers {@code 1,2,4,8,16}, seed 42).
+ * {@code workers} may be a comma-separated list; each entry runs on fresh data, to compare scaling.
+ * One unreported warm-up run comes first so the JIT compiler does not distort the first result.
+ */
+public class RegistrationRush {
+
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final int RETRY_PERCENT = 10;
+    private static final int[] CREDIT_CHOICES = {2, 3, 3, 4, 4, 5};
+
+    private record Workload(int students, int courses, int[] studentOf, int[] courseOf) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int courses = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        String workerList = args.length > 3 ? args[3] : "1,2,4,8,16";
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        Workload workload = generate(students, courses, requests, seed);
+        System.out.printf("%,d students, %,d courses, %,d enrollment requests (seed %d), %d CPU(s)%n",
+                students, courses, requests, seed, Runtime.getRuntime().availableProcessors());
+        run(workload, 1, seed, false);
+        for (String entry : workerList.split(",")) {
+            run(workload, Integer.parseInt(entry.trim()), seed, true);
+        }
+    }
+
+    private static Workload generate(int students, int courses, int requests, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] cumulative = new double[courses];
+        double total = 0;
+        for (int rank = 0; rank < courses; rank++) {
+            total += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = total;
+        }
+        int[] studentOf = new int[requests];
+        int[] courseOf = new int[requests];
+        for (int i = 0; i < requests; i++) {
+            if (i > 0 && random.nextInt(100) < RETRY_PERCENT) {
+                studentOf[i] = studentOf[i - 1];
+                courseOf[i] = courseOf[i - 1];
+                continue;
+            }
+            studentOf[i] = random.nextInt(students);
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            courseOf[i] = Math.min(courses - 1, rank < 0 ? -rank - 1 : rank);
+        }
+        return new Workload(students, courses, studentOf, courseOf);
+    }
+
+    private static void run(Workload workload, int workers, long seed, boolean report) throws Exception {
+        StudentService studentService = new StudentService();
+        CourseService courseService = new CourseService();
+        EnrollmentService enrollmentService = new EnrollmentService(studentService, courseService);
+
+        String[] regNos = new String[workload.students()];
+        for (int i = 0; i < regNos.length; i++) {
+            Student student = new Student("Student " + i, "student" + i + "@example.edu");
+            studentService.addStudent(student);
+            regNos[i] = student.getRegNo();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        Semester[] semesters = Semester.values();
+        String[] codes = new String[workload.courses()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = "RUSH" + i;
+            courseService.addCourse(new Course.Builder(codes[i], "Course " + i)
+                    .credits(CREDIT_CHOICES[random.nextInt(CREDIT_CHOICES.length)])
+                    .instructor("Instructor " + (i % 40))
+                    .semester(semesters[random.nextInt(semesters.length)])
+                    .department("Department " + (i % 12))
+                    .build());
+        }
+
+        int requests = workload.studentOf().length;
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        List<Future<?>> running = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            running.add(executor.submit(() -> {
+                startSignal.await();
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    String outcome = "OK";
+                    long sent = System.nanoTime();
+                    try {
+                        enrollmentService.enrollStudent(regNos[workload.studentOf()[i]], codes[workload.courseOf()[i]]);
+                    } catch (Exception e) {
+                        outcome = e.getClass().getSimpleName();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                    outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+                }
+                return null;
+            }));
+        }
+        long start = System.nanoTime();
+        startSignal.countDown();
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        if (!report) {
+            return;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%n%d worker(s): %,.0f enrollments/s (%.2f s total)%n",
+                workers, requests / (elapsed / 1e9), elapsed / 1e9);
+        System.out.printf("  Latency us: p50 %.1f | p99 %.1f | p99.9 %.1f | max %.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e3);
+        new TreeMap<>(outcomes).forEach((outcome, count) ->
+                System.out.printf("  %-34s %,9d (%.1f%%)%n", outcome, count.sum(), 100.0 * count.sum() / requests));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e3;
+    }
+}
@@ -34,4 +34,17 @@ public class Comparators {
     public static final Comparator<Course> COURSE_DEPT_AND_TITLE_COMPARATOR =
             Comparator.comparing(Course::getDepartment)
                       .thenComparing(Course::getTitle);
+
+    /**
+     * A comparator for sorting students by registration number, ignoring case as lookups do.
+     * Registration numbers are unique, so this also breaks ties for paging.
+     */
+    public static final Comparator<Student> STUDENT_REGNO_COMPARATOR =
+            Comparator.comparing(Student::getRegNo, String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * A comparator for sorting courses by their code. Codes are unique, so this also breaks ties for paging.
+     */
+    public static final Comparator<Course> COURSE_CODE_COMPARATOR =
+            Comparator.comparing(course -> course.getCourseCode().getCode());
 }
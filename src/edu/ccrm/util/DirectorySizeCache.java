@@ -0,0 +1,118 @@
+package edu.ccrm.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent cache of per-directory sizes, validated by directory modification time.
+ * For every directory it remembers the total size of the files directly inside it and the
+ * names of its sub-directories. Adding, removing or renaming an entry updates a directory's
+ * mtime, so an unchanged mtime means the cached listing is still correct and the directory
+ * does not have to be read again.
+ *
+ * A directory changed within the filesystem's timestamp resolution of being listed could end
+ * up with the same mtime as the cached listing while holding different entries. So, as git does
+ * for its index, a listing is only cached once its directory's mtime is at least
+ * {@value #MTIME_RESOLUTION_MILLIS} ms older than the time the listing started (2 s covers FAT,
+ * the coarsest common filesystem); younger directories are simply listed again next time.
+ *
+ * Files rewritten in place (without touching the directory) are not detected. That is fine for
+ * backups, whose folders and chunks are written once and never modified.
+ */
+public class DirectorySizeCache {
+
+    /**
+     * What is known about one directory.
+     */
+    public record Entry(long lastModified, long directFileBytes, List<String> subdirectories) {
+    }
+
+    static final long MTIME_RESOLUTION_MILLIS = 2_000;
+
+    private final Path cacheFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+    private DirectorySizeCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Loads the cache from disk. A missing or unreadable cache file simply yields an empty cache.
+     */
+    public static DirectorySizeCache load(Path cacheFile) {
+        DirectorySizeCache cache = new DirectorySizeCache(cacheFile);
+        if (Files.exists(cacheFile)) {
+            try {
+                for (String line : Files.readAllLines(cacheFile)) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length != 4) {
+                        continue;
+                    }
+                    List<String> subdirs = fields[3].isEmpty() ? List.of() : Arrays.asList(fields[3].split("/"));
+                    cache.entries.put(fields[2], new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), subdirs));
+                }
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Ignoring unreadable size cache " + cacheFile + ": " + e.getMessage());
+                cache.entries.clear();
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the cached entry for a directory if its modification time still matches.
+     */
+    Entry lookup(Path dir, long lastModified) {
+        String key = key(dir);
+        seen.add(key);
+        Entry entry = entries.get(key);
+        return entry != null && entry.lastModified() == lastModified ? entry : null;
+    }
+
+    /**
+     * Remembers a fresh listing, unless the directory changed too recently to trust its mtime.
+     *
+     * @param listedAt When the listing started, in epoch milliseconds.
+     */
+    void update(Path dir, Entry entry, long listedAt) {
+        String key = key(dir);
+        seen.add(key);
+        if (listedAt - entry.lastModified() >= MTIME_RESOLUTION_MILLIS) {
+            entries.put(key, entry);
+        } else {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Writes the cache back to disk, dropping entries under {@code root} that no longer exist.
+     *
+     * @param root The directory that was just measured.
+     */
+    public void save(Path root) throws IOException {
+        String prefix = key(root);
+        entries.keySet().removeIf(k -> (k.equals(prefix) || k.startsWith(prefix + File.separator)) && !seen.contains(k));
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.forEach((dir, e) -> lines.add(e.lastModified() + "\t" + e.directFileBytes() + "\t" + dir
+                + "\t" + String.join("/", e.subdirectories())));
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(cacheFile, lines);
+        seen.clear();
+    }
+
+    private static String key(Path dir) {
+        return dir.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,77 @@
+package edu.ccrm.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free generator of unique, increasing numeric IDs.
+ * Each thread takes a block of {@code blockSize} IDs from a shared atomic counter and hands
+ * them out locally, so threads creating objects in parallel (e.g. during a bulk import) touch
+ * the shared counter only once per block. With a block size of 1 the IDs are strictly
+ * sequential across threads.
+ *
+ * After data is loaded, {@link #advancePast(long)} guarantees that no ID at or below the
+ * highest persisted ID is ever handed out again, including IDs left in blocks threads already hold.
+ *
+ * DEMONSTRATES:
+ * - Atomic variables (AtomicLong) for lock-free coordination.
+ * - ThreadLocal for per-thread state.
+ */
+public final class IdAllocator {
+
+    private final AtomicLong next;
+    private final int blockSize;
+    // Lowest ID that may still be handed out; raised by advancePast.
+    private final AtomicLong floor;
+    // Per-thread block: [0] = next ID to hand out, [1] = end of the block (exclusive).
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[]{0, 0});
+
+    public IdAllocator(long firstId, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1.");
+        }
+        this.next = new AtomicLong(firstId);
+        this.blockSize = blockSize;
+        this.floor = new AtomicLong(firstId);
+    }
+
+    /**
+     * Returns an ID no other caller has received or will receive.
+     */
+    public long nextId() {
+        if (blockSize == 1) {
+            return next.getAndIncrement();
+        }
+        long[] block = blocks.get();
+        long floor = this.floor.get();
+        if (block[0] < floor) {
+            block[0] = floor;
+        }
+        if (block[0] >= block[1]) {
+            block[0] = next.getAndAdd(blockSize);
+            block[1] = block[0] + blockSize;
+        }
+        return block[0]++;
+    }
+
+    /**
+     * Reserves {@code count} consecutive IDs that no other caller will receive,
+     * e.g. so records that are only materialized later still get stable IDs.
+     *
+     * @return The first ID of the range.
+     */
+    public long reserveRange(int count) {
+        return next.getAndAdd(count);
+    }
+
+    /**
+     * Makes sure every ID handed out from now on is greater than {@code usedId}.
+     * Safe to call concurrently with {@link #nextId()}.
+     *
+     * @param usedId An ID that is already in use, e.g. the maximum loaded from disk.
+     */
+    public void advancePast(long usedId) {
+        long candidate = usedId + 1;
+        next.accumulateAndGet(candidate, Math::max);
+        floor.accumulateAndGet(candidate, Math::max);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.ccrm.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map that holds at most {@code capacity} entries and drops the least recently used one
+ * when a new entry would exceed that limit.
+ *
+ * Like {@code LinkedHashMap}, this class is not thread-safe.
+ *
+ * DEMONSTRATES:
+ * - Extending a collection class (LinkedHashMap in access order) and overriding a hook method.
+ */
+public final class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int capacity;
+
+    public LruCache(int capacity) {
+        super(16, 0.75f, true);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > capacity;
+    }
+}
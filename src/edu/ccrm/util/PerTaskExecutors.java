@@ -0,0 +1,58 @@
+package edu.ccrm.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors that run every task on its own thread.
+ * On a JVM with virtual threads (Java 21+) those are virtual threads, which are cheap enough to
+ * create one per request. The project still compiles for Java 17, so the factory method is looked
+ * up reflectively; on older JVMs a cached pool of daemon platform threads is used instead.
+ */
+public final class PerTaskExecutors {
+
+    private static final Method VIRTUAL_FACTORY = findVirtualFactory();
+
+    private PerTaskExecutors() {
+    }
+
+    private static Method findVirtualFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if this JVM supports virtual threads.
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_FACTORY != null;
+    }
+
+    /**
+     * Creates an executor that starts a new (virtual, if available) thread for every task.
+     *
+     * @param name Prefix for thread names when platform threads are used.
+     */
+    public static ExecutorService newPerTaskExecutor(String name) {
+        if (VIRTUAL_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads.
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(factory);
+    }
+}
@@ -1,11 +1,20 @@
 package edu.ccrm.util;
 
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -13,10 +22,27 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * DEMONSTRATES:
  * - Recursion (implicitly via Files.walkFileTree).
+ * - Explicit recursion with the Fork/Join framework (RecursiveTask).
  * - NIO.2 API for file system traversal.
  */
 public class RecursionUtils {
 
+    // Directory listing is I/O bound (especially on network file systems), so use more threads than cores.
+    private static final ForkJoinPool WALKER_POOL =
+            new ForkJoinPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    /**
+     * The result of a parallel directory size calculation.
+     *
+     * @param totalBytes Total size of all files under the root.
+     * @param childSizes Size of each immediate sub-directory of the root, by name.
+     * @param directoriesListed Directories that had to be read from disk.
+     * @param directoriesCached Directories whose listing came from the cache.
+     */
+    public record DirectorySizeReport(long totalBytes, Map<String, Long> childSizes,
+                                      int directoriesListed, int directoriesCached) {
+    }
+
     /**
      * Recursively calculates the total size of a directory.
      *
@@ -44,4 +70,122 @@ public class RecursionUtils {
 
         return size.get();
     }
+
+    /**
+     * Calculates the size of a directory by splitting its sub-trees across a Fork/Join pool.
+     * Each directory is a task that sums its own files and forks one sub-task per sub-directory.
+     * When a cache is given, directories whose modification time has not changed are not listed again.
+     *
+     * @param path The path to the directory.
+     * @param cache The size cache to consult and update, or null to always list every directory.
+     * @return The total size plus a per-child breakdown.
+     */
+    public static DirectorySizeReport calculateDirectorySizeParallel(Path path, DirectorySizeCache cache) {
+        DirectorySizeTask root = new DirectorySizeTask(path, cache, new AtomicInteger(), new AtomicInteger(), true);
+        long total = WALKER_POOL.invoke(root);
+        return new DirectorySizeReport(total, root.childSizes, root.listed.get(), root.cached.get());
+    }
+
+    private static class DirectorySizeTask extends RecursiveTask<Long> {
+        private final Path dir;
+        private final DirectorySizeCache cache;
+        private final AtomicInteger listed;
+        private final AtomicInteger cached;
+        private final boolean isRoot;
+        private final Map<String, Long> childSizes = new TreeMap<>();
+
+        DirectorySizeTask(Path dir, DirectorySizeCache cache, AtomicInteger listed, AtomicInteger cached, boolean isRoot) {
+            this.dir = dir;
+            this.cache = cache;
+            this.listed = listed;
+            this.cached = cached;
+            this.isRoot = isRoot;
+        }
+
+        @Override
+        protected Long compute() {
+            DirectorySizeCache.Entry entry;
+            try {
+                long listedAt = System.currentTimeMillis();
+                long lastModified = Files.getLastModifiedTime(dir, LinkOption.NOFOLLOW_LINKS).toMillis();
+                entry = cache == null ? null : cache.lookup(dir, lastModified);
+                if (entry != null) {
+                    cached.incrementAndGet();
+                } else {
+                    entry = list(lastModified);
+                    listed.incrementAndGet();
+                    if (cache != null) {
+                        cache.update(dir, entry, listedAt);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to access directory: " + dir + " - " + e.getMessage());
+                return 0L;
+            }
+
+            List<DirectorySizeTask> subtasks = new ArrayList<>();
+            for (String name : entry.subdirectories()) {
+                subtasks.add(new DirectorySizeTask(dir.resolve(name), cache, listed, cached, false));
+            }
+            invokeAll(subtasks);
+
+            long total = entry.directFileBytes();
+            for (DirectorySizeTask task : subtasks) {
+                long size = task.join();
+                total += size;
+                if (isRoot) {
+                    childSizes.put(task.dir.getFileName().toString(), size);
+                }
+            }
+            return total;
+        }
+
+        private DirectorySizeCache.Entry list(long lastModified) throws IOException {
+            long direct = 0;
+            List<String> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path child : entries) {
+                    try {
+                        BasicFileAttributes attrs = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        if (attrs.isDirectory()) {
+                            subdirectories.add(child.getFileName().toString());
+                        } else {
+                            direct += attrs.size();
+                        }
+                    } catch (IOException e) {
+                        // Log the error and continue
+                        System.err.println("Failed to access file: " + child + " - " + e.getMessage());
+                    }
+                }
+            }
+            return new DirectorySizeCache.Entry(lastModified, direct, List.copyOf(subdirectories));
+        }
+    }
+
+    /**
+     * Recursively deletes a directory and everything inside it.
+     * Children are deleted before their parent, which is the recursive structure
+     * {@code Files.walkFileTree} gives us with {@code postVisitDirectory}.
+     *
+     * @param path The directory (or file) to delete.
+     * @throws IOException If any entry cannot be deleted.
+     */
+    public static void deleteRecursively(Path path) throws IOException {
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
 }
@@ -0,0 +1,93 @@
+package edu.ccrm.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary-encodes repeated strings (such as department or instructor names) as small ints.
+ * Each distinct value is stored once; objects keep only its int code, so equality checks
+ * become int comparisons.
+ *
+ * Values are stored exactly as given, so decoding always returns the original spelling.
+ * Matching is case-insensitive: values that differ only in case or surrounding spaces share
+ * a match code (see {@link #matchCode(int)}), which is what {@link #lookup(String)} returns.
+ *
+ * Reads are lock-free; adding a new value takes a short lock.
+ */
+public final class StringDictionary {
+
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> matches = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private volatile int[] matchCodes = new int[16];
+    private int size;
+
+    /**
+     * Returns the code for a value, adding it to the dictionary if it is new.
+     *
+     * @param value The value to encode, matched exactly; null encodes to {@link #NONE}.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            String[] currentValues = values;
+            int[] currentMatchCodes = matchCodes;
+            if (size == currentValues.length) {
+                currentValues = Arrays.copyOf(currentValues, size * 2);
+                currentMatchCodes = Arrays.copyOf(currentMatchCodes, size * 2);
+            }
+            currentValues[size] = value;
+            currentMatchCodes[size] = matches.computeIfAbsent(key(value), k -> size);
+            values = currentValues; // publish the value before its code becomes visible
+            matchCodes = currentMatchCodes;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Returns the match code for a value without adding it, ignoring case and surrounding spaces.
+     *
+     * @return The match code, or {@link #NONE} if no matching value has been encoded.
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = matches.get(key(value));
+        return code != null ? code : NONE;
+    }
+
+    /**
+     * Returns the match code of a code: the code of the first encoded value that matches it
+     * case-insensitively. Returns {@link #NONE} for {@link #NONE}.
+     */
+    public int matchCode(int code) {
+        return code == NONE ? NONE : matchCodes[code];
+    }
+
+    /**
+     * Returns the value for a code, exactly as it was encoded, or null for {@link #NONE}.
+     */
+    public String decode(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ccrm.util;
+
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by keys: each key maps to one stripe by its hash.
+ * Writers to different keys usually take different locks and proceed in parallel, without
+ * the memory cost of one lock per key. Keys are matched case-insensitively.
+ *
+ * DEMONSTRATES:
+ * - Lock striping (as used inside the JDK's concurrent collections).
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripes The number of locks; rounded up to a power of two.
+     */
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns the lock guarding a key.
+     */
+    public ReentrantLock lockFor(String key) {
+        int hash = key == null ? 0 : key.toUpperCase(Locale.ROOT).hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * Takes every stripe, in a fixed order so two callers cannot deadlock, and blocks all writers
+     * until {@link #unlockAll()}.
+     */
+    public void lockAll() {
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+    }
+
+    public void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+}
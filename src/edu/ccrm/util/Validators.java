@@ -7,7 +7,7 @@ import java.util.regex.Pattern;
  *
  * DEMONSTRATES:
  * - Static methods for common validation logic.
- * - Use of regular expressions for email validation.
+ * - A hand-written scanner as a fast path for a simple regular expression.
  */
 public class Validators {
 
@@ -17,18 +17,67 @@ public class Validators {
     );
 
     /**
-     * Validates an email address against a standard regex.
+     * Validates an email address. Accepts exactly what {@link #matchesEmailPattern(String)} accepts,
+     * but checks it in one pass over the characters without the regex engine, which matters when
+     * imports validate millions of rows.
      *
      * @param email The email string to validate.
      * @return true if the email is valid, false otherwise.
      */
     public static boolean isValidEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.') {
+                if (at >= 0) {
+                    lastDot = i;
+                }
+            } else if (!isAsciiLetterOrDigit(c) && c != '-' && (at >= 0 || (c != '_' && c != '%' && c != '+'))) {
+                return false;
+            }
+        }
+        // A non-empty local part, a domain name before the last dot, and a top-level domain of 2 to 6 letters.
+        int topLevel = length - lastDot - 1;
+        if (at < 1 || lastDot < at + 2 || topLevel < 2 || topLevel > 6) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates an email address against the regular expression that defines valid addresses.
+     * Kept as the reference {@link #isValidEmail(String)} is compared and benchmarked against.
+     */
+    public static boolean matchesEmailPattern(String email) {
         if (email == null) {
             return false;
         }
         return EMAIL_PATTERN.matcher(email).matches();
     }
 
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
     /**
      * Checks if a string is not null and not empty.
      *
@@ -0,0 +1,30 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.StudentStore;
+import edu.ccrm.service.StudentStoreContract;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+class LazyStudentStoreTest extends StudentStoreContract {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Writes the students to a CSV file and maps it, so they are decoded from the file.
+     * A cache of one record makes most lookups decode again.
+     */
+    @Override
+    protected StudentStore newStore(List<Student> students) throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(CsvParser.STUDENT_HEADER);
+        students.forEach(student -> lines.add(CsvParser.studentToCsv(student)));
+        Path file = Files.write(dir.resolve("students.csv"), lines);
+        return LazyStudentStore.open(file, 1);
+    }
+}
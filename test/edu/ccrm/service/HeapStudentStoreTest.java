@@ -0,0 +1,15 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+
+import java.util.List;
+
+class HeapStudentStoreTest extends StudentStoreContract {
+
+    @Override
+    protected StudentStore newStore(List<Student> students) {
+        StudentStore store = new HeapStudentStore();
+        store.replaceAll(students);
+        return store;
+    }
+}
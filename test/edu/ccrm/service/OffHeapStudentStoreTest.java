@@ -0,0 +1,44 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Student.StudentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OffHeapStudentStoreTest extends StudentStoreContract {
+
+    @Override
+    protected StudentStore newStore(List<Student> students) {
+        StudentStore store = new OffHeapStudentStore();
+        store.replaceAll(students);
+        return store;
+    }
+
+    @Test
+    void repeatedRenamesDoNotGrowTheStringHeap() {
+        OffHeapStudentStore store = new OffHeapStudentStore();
+        for (int i = 0; i < 100; i++) {
+            store.add(new Student("OH-" + i, "Student " + i, "oh" + i + "@campus.edu", StudentStatus.ACTIVE));
+        }
+        renameAll(store, 0, 1_000);
+        long reservedBefore = store.reservedBytes();
+
+        // Without compaction this would append about 500 KB of old names.
+        renameAll(store, 1_000, 21_000);
+
+        assertEquals(reservedBefore, store.reservedBytes());
+        assertEquals("Renamed student number 20999", store.findByRegNo("OH-99").orElseThrow().getFullName());
+        assertEquals("oh42@campus.edu", store.findByRegNo("OH-42").orElseThrow().getEmail());
+    }
+
+    private static void renameAll(OffHeapStudentStore store, int fromRound, int toRound) {
+        for (int round = fromRound; round < toRound; round++) {
+            Student student = store.findByRegNo("OH-" + (round % 100)).orElseThrow();
+            student.setFullName("Renamed student number " + round);
+            store.update(student);
+        }
+    }
+}
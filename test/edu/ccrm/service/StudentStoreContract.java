@@ -0,0 +1,170 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.CourseCode;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.Student.StudentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The behaviour every {@link StudentStore} must have. Each backend extends this class and
+ * only says how to create a store that already holds some students.
+ */
+public abstract class StudentStoreContract {
+
+    // Sub-second parts on purpose: stores must not round timestamps.
+    private static final LocalDateTime ENROLLED_AT = LocalDateTime.of(2024, 9, 2, 10, 15, 30, 123_456_789);
+
+    /**
+     * Creates a store whose initial content is {@code students}, in that order.
+     */
+    protected abstract StudentStore newStore(List<Student> students) throws Exception;
+
+    private StudentStore seededStore() throws Exception {
+        return newStore(List.of(
+                new Student("SC-001", "Asha Rao", "asha@campus.edu", StudentStatus.ACTIVE),
+                new Student("SC-002", "Ben Okafor", "ben@campus.edu", StudentStatus.INACTIVE)));
+    }
+
+    private static Student find(StudentStore store, String regNo) {
+        return store.findByRegNo(regNo).orElseThrow(() -> new AssertionError("Student " + regNo + " not found"));
+    }
+
+    @Test
+    void findsStudentsIgnoringCase() throws Exception {
+        StudentStore store = seededStore();
+        store.add(new Student("SC-003", "Chen Li", "chen@campus.edu", StudentStatus.ACTIVE));
+
+        assertEquals("Ben Okafor", find(store, "sc-002").getFullName());
+        assertEquals(StudentStatus.INACTIVE, find(store, "SC-002").getStatus());
+        assertEquals("chen@campus.edu", find(store, "Sc-003").getEmail());
+        assertFalse(store.findByRegNo("SC-999").isPresent());
+        assertFalse(store.findByRegNo(null).isPresent());
+    }
+
+    @Test
+    void findAllKeepsInsertionOrder() throws Exception {
+        StudentStore store = seededStore();
+        store.add(new Student("SC-003", "Chen Li", "chen@campus.edu", StudentStatus.ACTIVE));
+
+        List<String> regNos = store.findAll().stream().map(Student::getRegNo).collect(Collectors.toList());
+        assertEquals(List.of("SC-001", "SC-002", "SC-003"), regNos);
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void forEachVisitsEveryStudentInOrderWithUpdates() throws Exception {
+        StudentStore store = seededStore();
+        Student student = find(store, "SC-002");
+        student.setFullName("Ben O. Okafor");
+        store.update(student);
+        store.add(new Student("SC-003", "Chen Li", "chen@campus.edu", StudentStatus.ACTIVE));
+
+        List<String> names = new ArrayList<>();
+        store.forEach(s -> names.add(s.getFullName()));
+        assertEquals(List.of("Asha Rao", "Ben O. Okafor", "Chen Li"), names);
+    }
+
+    @Test
+    void forEachActionMayUseTheStore() throws Exception {
+        StudentStore store = seededStore();
+        List<String> visited = new ArrayList<>();
+        store.forEach(s -> {
+            visited.add(s.getRegNo());
+            assertTrue(store.findByRegNo(s.getRegNo()).isPresent());
+            store.add(new Student(s.getRegNo() + "-X", "Copy", "copy@campus.edu", StudentStatus.ACTIVE));
+        });
+
+        assertTrue(visited.containsAll(List.of("SC-001", "SC-002")));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void addedStudentReadsBackExactly() throws Exception {
+        StudentStore store = seededStore();
+        LocalDateTime created = LocalDateTime.of(2023, 1, 5, 8, 0, 1, 987_654_321);
+        Student added = new Student(4242, "SC-010", "Dana Ng", "dana@campus.edu", StudentStatus.GRADUATED,
+                created, created.plusNanos(1));
+        added.loadEnrollment(new Enrollment("SC-010", CourseCode.of("SC101"), Grade.B, ENROLLED_AT));
+        store.add(added);
+
+        Student read = find(store, "SC-010");
+        assertEquals(4242, read.getId());
+        assertEquals(created, read.getDateCreated());
+        assertEquals(created.plusNanos(1), read.getDateModified());
+        assertEquals(StudentStatus.GRADUATED, read.getStatus());
+        Enrollment enrollment = read.getEnrolledCourses().get(0);
+        assertEquals(CourseCode.of("SC101"), enrollment.getCourseCode());
+        assertEquals(Grade.B, enrollment.getGrade());
+        assertEquals(ENROLLED_AT, enrollment.getEnrollmentDate());
+    }
+
+    @Test
+    void updateKeepsProfileChanges() throws Exception {
+        StudentStore store = seededStore();
+        Student student = find(store, "SC-001");
+        student.setFullName("Asha R. Rao");
+        student.setEmail("asha.rao@campus.edu");
+        student.setStatus(StudentStatus.GRADUATED);
+        store.update(student);
+
+        Student read = find(store, "SC-001");
+        assertEquals("Asha R. Rao", read.getFullName());
+        assertEquals("asha.rao@campus.edu", read.getEmail());
+        assertEquals(StudentStatus.GRADUATED, read.getStatus());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void updateKeepsNewEnrollmentsAndGrades() throws Exception {
+        StudentStore store = seededStore();
+        Student student = find(store, "SC-002");
+        student.loadEnrollment(new Enrollment("SC-002", CourseCode.of("SC101"), null, ENROLLED_AT));
+        student.loadEnrollment(new Enrollment("SC-002", CourseCode.of("SC102"), null, ENROLLED_AT.plusDays(1)));
+        store.update(student);
+
+        student = find(store, "SC-002");
+        student.getEnrolledCourses().get(1).setGrade(Grade.A);
+        store.update(student);
+
+        List<Enrollment> enrollments = find(store, "SC-002").getEnrolledCourses();
+        assertEquals(2, enrollments.size());
+        assertEquals(CourseCode.of("SC101"), enrollments.get(0).getCourseCode());
+        assertNull(enrollments.get(0).getGrade());
+        assertEquals(ENROLLED_AT, enrollments.get(0).getEnrollmentDate());
+        assertEquals(Grade.A, enrollments.get(1).getGrade());
+        assertEquals(ENROLLED_AT.plusDays(1), enrollments.get(1).getEnrollmentDate());
+    }
+
+    @Test
+    void replaceAllReplacesContent() throws Exception {
+        StudentStore store = seededStore();
+        store.replaceAll(List.of(new Student("SC-030", "Farid Aziz", "farid@campus.edu", StudentStatus.ACTIVE)));
+
+        assertFalse(store.findByRegNo("SC-001").isPresent());
+        assertTrue(store.findByRegNo("SC-030").isPresent());
+        assertEquals(1, store.size());
+        assertEquals(1, store.findAll().size());
+    }
+
+    @Test
+    void replaceAllRejectsNullStudents() throws Exception {
+        StudentStore store = seededStore();
+        List<Student> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> store.replaceAll(withNull));
+    }
+}